@@ -0,0 +1,162 @@
+package com.healthcare.queuesystem.benchmarks;
+
+import com.healthcare.queuesystem.controller.AdminController;
+import com.healthcare.queuesystem.engine.AppointmentCalendar;
+import com.healthcare.queuesystem.engine.DailyRollups;
+import com.healthcare.queuesystem.engine.DoctorUtilization;
+import com.healthcare.queuesystem.model.Appointment;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.repository.AppointmentRepository;
+import com.healthcare.queuesystem.repository.QueueRepository;
+import com.healthcare.queuesystem.service.Implementation.AppointmentServiceImpl;
+import com.healthcare.queuesystem.service.Implementation.ArchiveServiceImpl;
+import com.healthcare.queuesystem.service.Implementation.QueueServiceImpl;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.ServerVersion;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.net.InetSocketAddress;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AdminController report endpoints with the real services, calendar, utilization engine and
+ * daily rollups against an in-process MongoDB stand-in holding the benchmark data.
+ * Measures the code paths and round trips over loopback, not Atlas query times.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AdminReportBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private MongoServer server;
+    private MongoClient client;
+    private AdminController controller;
+    private String doctorId;
+    private String today;
+    private String weekAgo;
+    private String yearAgo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData data = BenchmarkData.generate(size);
+        server = new MongoServer(new MemoryBackend().version(ServerVersion.MONGO_5_0));
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        MongoTemplate mongoTemplate = new MongoTemplate(client, "benchmarks");
+        mongoTemplate.insert(data.appointments, Appointment.class);
+        mongoTemplate.insert(data.queues, Queue.class);
+
+        MongoRepositoryFactory repositories = new MongoRepositoryFactory(mongoTemplate);
+        AppointmentRepository appointmentRepository = repositories.getRepository(AppointmentRepository.class);
+        QueueRepository queueRepository = repositories.getRepository(QueueRepository.class);
+
+        // Empty archive with its watermarks loaded, as after the first archive check
+        ArchiveServiceImpl archiveService = new ArchiveServiceImpl();
+        Stubs.inject(archiveService, "mongoTemplate", mongoTemplate);
+        Stubs.inject(archiveService, "watermarksLoaded", true);
+
+        AppointmentCalendar calendar = new AppointmentCalendar();
+        Stubs.inject(calendar, "appointmentRepository", appointmentRepository);
+        Stubs.inject(calendar, "maxDays", 120);
+
+        AppointmentServiceImpl appointmentService = new AppointmentServiceImpl();
+        Stubs.inject(appointmentService, "appointmentRepository", appointmentRepository);
+        Stubs.inject(appointmentService, "appointmentCalendar", calendar);
+        Stubs.inject(appointmentService, "archiveService", archiveService);
+
+        QueueServiceImpl queueService = new QueueServiceImpl();
+        Stubs.inject(queueService, "queueRepository", queueRepository);
+        Stubs.inject(queueService, "queueEngine", Fixtures.queueEngine(data));
+        Stubs.inject(queueService, "archiveService", archiveService);
+
+        DoctorUtilization doctorUtilization = new DoctorUtilization();
+        Stubs.inject(doctorUtilization, "mongoTemplate", mongoTemplate);
+        Stubs.inject(doctorUtilization, "appointmentCalendar", calendar);
+        Stubs.inject(doctorUtilization, "archiveService", archiveService);
+
+        // Rollups built once, as by the startup backfill
+        DailyRollups dailyRollups = new DailyRollups();
+        Stubs.inject(dailyRollups, "mongoTemplate", mongoTemplate);
+        dailyRollups.rebuild();
+
+        controller = new AdminController();
+        Stubs.inject(controller, "patientService", Fixtures.patientService(data));
+        Stubs.inject(controller, "doctorService", Fixtures.doctorService(data));
+        Stubs.inject(controller, "appointmentService", appointmentService);
+        Stubs.inject(controller, "queueService", queueService);
+        Stubs.inject(controller, "doctorUtilization", doctorUtilization);
+        Stubs.inject(controller, "dailyRollups", dailyRollups);
+        doctorId = data.doctors.get(0).getDoctorId();
+        today = LocalDate.now().toString();
+        weekAgo = LocalDate.now().minusDays(7).toString();
+        yearAgo = LocalDate.now().minusYears(1).toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        server.shutdown();
+    }
+
+    // GET /api/admin/reports/appointments?startDate=&endDate=&doctorId=
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> appointmentReport() {
+        return controller.getAppointmentReport(weekAgo, today, doctorId, false);
+    }
+
+    // GET /api/admin/reports/appointments?startDate=&endDate=&summary=true (a year of daily rollups)
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> appointmentSummaryYear() {
+        return controller.getAppointmentReport(yearAgo, today, null, true);
+    }
+
+    // GET /api/admin/reports/queue?date=
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> queueReport() {
+        return controller.getQueueReport(null, today, null, null, false);
+    }
+
+    // GET /api/admin/reports/queue?date=&summary=true
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> queueSummary() {
+        return controller.getQueueReport(null, today, null, null, true);
+    }
+
+    // GET /api/admin/reports/doctor-utilization
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> doctorUtilization() {
+        return controller.getDoctorUtilizationReport(null, null);
+    }
+
+    // GET /api/admin/reports/doctor-utilization?startDate=&endDate=
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> doctorUtilizationLastWeek() {
+        return controller.getDoctorUtilizationReport(weekAgo, today);
+    }
+}
@@ -0,0 +1,128 @@
+package com.healthcare.queuesystem.benchmarks;
+
+import com.healthcare.queuesystem.model.Appointment;
+import com.healthcare.queuesystem.model.Doctor;
+import com.healthcare.queuesystem.model.Patient;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.enums.AppointmentStatus;
+import com.healthcare.queuesystem.model.enums.BloodGroup;
+import com.healthcare.queuesystem.model.enums.ConsultationOption;
+import com.healthcare.queuesystem.model.enums.Gender;
+import com.healthcare.queuesystem.model.enums.QueueStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic clinic data shaped like the sample data created at startup
+ * (SampleDataInitializer.createSample*), scaled to the requested size.
+ * Generation is seeded, so every run benchmarks the same dataset.
+ */
+final class BenchmarkData {
+
+    private static final String[] SPECIALIZATIONS = {
+            "Cardiology", "Pediatrics", "Orthopedics", "Dermatology", "Neurology", "General Medicine"};
+    private static final String[] FIRST_NAMES = {
+            "Rajesh", "Priya", "Amit", "Sunita", "Rohit", "Aarav", "Meera", "Ananya", "Vikram", "Kavya"};
+    private static final String[] LAST_NAMES = {
+            "Sharma", "Patel", "Kumar", "Reddy", "Verma", "Gupta", "Singh", "Iyer", "Nair", "Das"};
+    private static final String[] PURPOSES = {
+            "Regular checkup", "Follow-up consultation", "Chest pain evaluation", "Vaccination", "Skin rash"};
+
+    final List<Doctor> doctors = new ArrayList<>();
+    final List<Patient> patients = new ArrayList<>();
+    final List<Appointment> appointments = new ArrayList<>();
+    final List<Queue> queues = new ArrayList<>();
+
+    final Map<String, String> doctorNames = new HashMap<>();
+    final Map<String, String> patientNames = new HashMap<>();
+    final Map<String, List<Queue>> queuesByDoctor = new HashMap<>();
+
+    private BenchmarkData() {
+    }
+
+    // size = number of patients, appointments and queue entries; doctors scale with it (10..200)
+    static BenchmarkData generate(int size) {
+        BenchmarkData data = new BenchmarkData();
+        Random random = new Random(42);
+        int doctorCount = Math.max(10, Math.min(200, size / 500));
+        LocalDateTime now = LocalDate.now().atTime(12, 0);
+
+        for (int i = 0; i < doctorCount; i++) {
+            Doctor doctor = new Doctor();
+            doctor.setDoctorId(String.format("DOC-%08X", i));
+            doctor.setName("Dr. " + FIRST_NAMES[i % FIRST_NAMES.length] + " " + LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length]);
+            doctor.setSpecialization(SPECIALIZATIONS[i % SPECIALIZATIONS.length]);
+            doctor.setDepartment(doctor.getSpecialization());
+            doctor.setPhone("+91-98" + String.format("%08d", i));
+            doctor.setEmail("doctor" + i + "@healthcare.com");
+            doctor.setExperienceYears(3 + random.nextInt(30));
+            doctor.setAvailability("Mon-Fri 9AM-5PM");
+            doctor.setGender(random.nextBoolean() ? Gender.MALE : Gender.FEMALE);
+            doctor.setConsultationOption(ConsultationOption.values()[random.nextInt(ConsultationOption.values().length)]);
+            doctor.setAppointmentIds(new ArrayList<>());
+            doctor.setQueueEntryIds(new ArrayList<>());
+            data.doctors.add(doctor);
+            data.doctorNames.put(doctor.getDoctorId(), doctor.getName());
+        }
+
+        for (int i = 0; i < size; i++) {
+            Patient patient = new Patient();
+            patient.setPatientId(String.format("PAT-%08X", i));
+            patient.setName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            patient.setAge(1 + random.nextInt(90));
+            patient.setGender(random.nextBoolean() ? Gender.MALE : Gender.FEMALE);
+            patient.setDateOfBirth(LocalDate.now().minusYears(patient.getAge()).minusDays(random.nextInt(365)));
+            patient.setAddress(random.nextInt(999) + " MG Road, Mumbai");
+            patient.setPhone("+91-97" + String.format("%08d", i));
+            patient.setEmail("patient" + i + "@email.com");
+            patient.setBloodGroup(BloodGroup.values()[random.nextInt(BloodGroup.values().length)]);
+            patient.setMedicalHistory(random.nextInt(4) == 0 ? "Hypertension" : "None");
+            patient.setAppointmentIds(new ArrayList<>());
+            patient.setQueueEntryIds(new ArrayList<>());
+            data.patients.add(patient);
+            data.patientNames.put(patient.getPatientId(), patient.getName());
+        }
+
+        for (int i = 0; i < size; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setAppointmentId(String.format("APT-%08X", i));
+            appointment.setDoctorId(data.doctors.get(random.nextInt(doctorCount)).getDoctorId());
+            appointment.setPatientId(data.patients.get(random.nextInt(size)).getPatientId());
+            appointment.setAppointmentDate(now.plusDays(random.nextInt(61) - 30).withHour(9 + random.nextInt(8)));
+            appointment.setPurpose(PURPOSES[random.nextInt(PURPOSES.length)]);
+            appointment.setStatus(AppointmentStatus.values()[random.nextInt(AppointmentStatus.values().length)]);
+            data.appointments.add(appointment);
+        }
+
+        // Each doctor's queue: finished history first, then one patient in progress, then the waiting room
+        int[] positions = new int[doctorCount];
+        int perDoctor = Math.max(1, size / doctorCount);
+        for (int i = 0; i < size; i++) {
+            int doctorIndex = i % doctorCount;
+            int position = ++positions[doctorIndex];
+            Queue queue = new Queue();
+            queue.setQueueId(String.format("QUE-%08X", i));
+            queue.setDoctorId(data.doctors.get(doctorIndex).getDoctorId());
+            queue.setPatientId(data.patients.get(random.nextInt(size)).getPatientId());
+            queue.setPosition(position);
+            double progress = (double) position / perDoctor;
+            if (progress < 0.7) {
+                queue.setStatus(random.nextInt(10) == 0 ? QueueStatus.SKIPPED : QueueStatus.COMPLETED);
+            } else if (position == (int) Math.ceil(perDoctor * 0.7)) {
+                queue.setStatus(QueueStatus.IN_PROGRESS);
+            } else {
+                queue.setStatus(QueueStatus.WAITING);
+            }
+            queue.setCreatedAt(now.minusHours(8).plusSeconds((long) (progress * 8 * 3600)));
+            data.queues.add(queue);
+            data.queuesByDoctor.computeIfAbsent(queue.getDoctorId(), id -> new ArrayList<>()).add(queue);
+        }
+        return data;
+    }
+}
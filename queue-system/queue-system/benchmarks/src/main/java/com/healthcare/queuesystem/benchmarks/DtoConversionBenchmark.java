@@ -0,0 +1,172 @@
+package com.healthcare.queuesystem.benchmarks;
+
+import com.healthcare.queuesystem.controller.AppointmentController;
+import com.healthcare.queuesystem.controller.DoctorController;
+import com.healthcare.queuesystem.controller.PatientController;
+import com.healthcare.queuesystem.controller.QueueController;
+import com.healthcare.queuesystem.dto.AppointmentDto;
+import com.healthcare.queuesystem.dto.DoctorDto;
+import com.healthcare.queuesystem.dto.PatientDto;
+import com.healthcare.queuesystem.dto.QueueDto;
+import com.healthcare.queuesystem.engine.QueueEngine;
+import com.healthcare.queuesystem.model.Appointment;
+import com.healthcare.queuesystem.model.Doctor;
+import com.healthcare.queuesystem.model.Patient;
+import com.healthcare.queuesystem.model.Queue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * convertToDto / convertToEntity of all four controllers over the whole dataset (time per full pass).
+ * Queue and appointment DTOs include the bulk doctor/patient name lookups; queue DTOs also the wait-time estimate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class DtoConversionBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private BenchmarkData data;
+    private ExecutorService lookupExecutor;
+
+    private PatientController patientController;
+    private DoctorController doctorController;
+    private AppointmentController appointmentController;
+    private QueueController queueController;
+
+    private MethodHandle patientToDto;
+    private MethodHandle patientToEntity;
+    private MethodHandle doctorToDto;
+    private MethodHandle doctorToEntity;
+    private MethodHandle appointmentsToDtos;
+    private MethodHandle appointmentToEntity;
+    private MethodHandle queuesToDtos;
+    private MethodHandle queueToEntity;
+
+    private List<PatientDto> patientDtos;
+    private List<DoctorDto> doctorDtos;
+    private List<AppointmentDto> appointmentDtos;
+    private List<QueueDto> queueDtos;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        data = BenchmarkData.generate(size);
+        lookupExecutor = Executors.newFixedThreadPool(2);
+        QueueEngine engine = Fixtures.queueEngine(data);
+
+        patientController = new PatientController();
+        doctorController = new DoctorController();
+        appointmentController = new AppointmentController();
+        Stubs.inject(appointmentController, "doctorService", Fixtures.doctorService(data));
+        Stubs.inject(appointmentController, "patientService", Fixtures.patientService(data));
+        Stubs.inject(appointmentController, "lookupExecutor", lookupExecutor);
+        queueController = new QueueController();
+        Stubs.inject(queueController, "queueService", Fixtures.queueService(data, engine));
+        Stubs.inject(queueController, "doctorService", Fixtures.doctorService(data));
+        Stubs.inject(queueController, "patientService", Fixtures.patientService(data));
+        Stubs.inject(queueController, "lookupExecutor", lookupExecutor);
+
+        patientToDto = Stubs.privateMethod(PatientController.class, "convertToDto", Patient.class);
+        patientToEntity = Stubs.privateMethod(PatientController.class, "convertToEntity", PatientDto.class);
+        doctorToDto = Stubs.privateMethod(DoctorController.class, "convertToDto", Doctor.class);
+        doctorToEntity = Stubs.privateMethod(DoctorController.class, "convertToEntity", DoctorDto.class);
+        appointmentsToDtos = Stubs.privateMethod(AppointmentController.class, "convertToDtos", List.class);
+        appointmentToEntity = Stubs.privateMethod(AppointmentController.class, "convertToEntity", AppointmentDto.class);
+        queuesToDtos = Stubs.privateMethod(QueueController.class, "convertToDtos", List.class);
+        queueToEntity = Stubs.privateMethod(QueueController.class, "convertToEntity", QueueDto.class);
+
+        patientDtos = new ArrayList<>();
+        for (Patient patient : data.patients) {
+            patientDtos.add((PatientDto) patientToDto.invoke(patientController, patient));
+        }
+        doctorDtos = new ArrayList<>();
+        for (Doctor doctor : data.doctors) {
+            doctorDtos.add((DoctorDto) doctorToDto.invoke(doctorController, doctor));
+        }
+        appointmentDtos = appointmentsToDtos();
+        queueDtos = queuesToDtos();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        lookupExecutor.shutdown();
+    }
+
+    @Benchmark
+    public void patientsToDtos(Blackhole blackhole) throws Throwable {
+        for (Patient patient : data.patients) {
+            blackhole.consume((PatientDto) patientToDto.invoke(patientController, patient));
+        }
+    }
+
+    @Benchmark
+    public void patientsToEntities(Blackhole blackhole) throws Throwable {
+        for (PatientDto dto : patientDtos) {
+            blackhole.consume((Patient) patientToEntity.invoke(patientController, dto));
+        }
+    }
+
+    @Benchmark
+    public void doctorsToDtos(Blackhole blackhole) throws Throwable {
+        for (Doctor doctor : data.doctors) {
+            blackhole.consume((DoctorDto) doctorToDto.invoke(doctorController, doctor));
+        }
+    }
+
+    @Benchmark
+    public void doctorsToEntities(Blackhole blackhole) throws Throwable {
+        for (DoctorDto dto : doctorDtos) {
+            blackhole.consume((Doctor) doctorToEntity.invoke(doctorController, dto));
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<AppointmentDto> appointmentsToDtos() throws Throwable {
+        return (List<AppointmentDto>) appointmentsToDtos.invoke(appointmentController, data.appointments);
+    }
+
+    @Benchmark
+    public void appointmentsToEntities(Blackhole blackhole) throws Throwable {
+        for (AppointmentDto dto : appointmentDtos) {
+            blackhole.consume((Appointment) appointmentToEntity.invoke(appointmentController, dto));
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<QueueDto> queuesToDtos() throws Throwable {
+        return (List<QueueDto>) queuesToDtos.invoke(queueController, data.queues);
+    }
+
+    @Benchmark
+    public void queuesToEntities(Blackhole blackhole) throws Throwable {
+        for (QueueDto dto : queueDtos) {
+            blackhole.consume((Queue) queueToEntity.invoke(queueController, dto));
+        }
+    }
+}
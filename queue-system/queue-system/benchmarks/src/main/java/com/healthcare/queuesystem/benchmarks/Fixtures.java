@@ -0,0 +1,110 @@
+package com.healthcare.queuesystem.benchmarks;
+
+import com.healthcare.queuesystem.engine.ConsultationTimeEstimator;
+import com.healthcare.queuesystem.engine.QueueEngine;
+import com.healthcare.queuesystem.engine.SearchIndex;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.repository.QueueRepository;
+import com.healthcare.queuesystem.service.AppointmentService;
+import com.healthcare.queuesystem.service.DoctorService;
+import com.healthcare.queuesystem.service.PatientService;
+import com.healthcare.queuesystem.service.QueueService;
+import com.healthcare.queuesystem.service.Implementation.QueueServiceImpl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Real engine and service implementations over an in-memory dataset; the database-facing
+ * repositories and the doctor/patient/appointment services are answered from the dataset.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static QueueRepository queueRepository(BenchmarkData data) {
+        return Stubs.of(QueueRepository.class, Map.of(
+                "findAll", args -> data.queues,
+                "findByDoctorIdOrderByPositionAsc", args -> copies(data.queuesByDoctor.getOrDefault((String) args[0], List.of())),
+                "findPositionsByDoctorIdAndStatusIn", args -> copies(data.queuesByDoctor.getOrDefault((String) args[0], List.of())).stream()
+                        .filter(queue -> ((Collection<?>) args[1]).contains(queue.getStatus()))
+                        .collect(Collectors.toList()),
+                "findTopByDoctorIdOrderByPositionDesc", args -> null));
+    }
+
+    // Engine with every doctor's queue already loaded, as after the first request for each doctor
+    static QueueEngine queueEngine(BenchmarkData data) {
+        QueueEngine engine = new QueueEngine();
+        Stubs.inject(engine, "queueRepository", queueRepository(data));
+        data.doctors.forEach(doctor -> engine.getQueue(doctor.getDoctorId()));
+        return engine;
+    }
+
+    static QueueService queueService(BenchmarkData data, QueueEngine engine) {
+        QueueServiceImpl service = new QueueServiceImpl();
+        Stubs.inject(service, "queueRepository", queueRepository(data));
+        Stubs.inject(service, "queueEngine", engine);
+        Stubs.inject(service, "consultationTimeEstimator", consultationTimeEstimator());
+        return service;
+    }
+
+    // No consultations recorded yet, so every estimate uses the default length
+    static ConsultationTimeEstimator consultationTimeEstimator() {
+        ConsultationTimeEstimator estimator = new ConsultationTimeEstimator();
+        Stubs.inject(estimator, "defaultMinutes", 15.0);
+        Stubs.inject(estimator, "minSamples", 5);
+        return estimator;
+    }
+
+    // Filled through the service hooks, as after the startup load
+    static SearchIndex searchIndex(BenchmarkData data) {
+        SearchIndex index = new SearchIndex();
+        Stubs.inject(index, "maxCandidates", 1000);
+        data.doctors.forEach(index::onDoctorSaved);
+        data.patients.forEach(index::onPatientSaved);
+        Stubs.inject(index, "loaded", true);
+        return index;
+    }
+
+    @SuppressWarnings("unchecked")
+    static DoctorService doctorService(BenchmarkData data) {
+        return Stubs.of(DoctorService.class, Map.of(
+                "getAllDoctors", args -> data.doctors,
+                "getDoctorNames", args -> names((Collection<String>) args[0], data.doctorNames)));
+    }
+
+    @SuppressWarnings("unchecked")
+    static PatientService patientService(BenchmarkData data) {
+        return Stubs.of(PatientService.class, Map.of(
+                "getAllPatients", args -> data.patients,
+                "getPatientNames", args -> names((Collection<String>) args[0], data.patientNames)));
+    }
+
+    static AppointmentService appointmentService(BenchmarkData data) {
+        return Stubs.of(AppointmentService.class, Map.of(
+                "getAllAppointments", args -> data.appointments));
+    }
+
+    private static Map<String, String> names(Collection<String> ids, Map<String, String> all) {
+        Map<String, String> names = new HashMap<>();
+        for (String id : ids) {
+            String name = all.get(id);
+            if (name != null) {
+                names.put(id, name);
+            }
+        }
+        return names;
+    }
+
+    // Repositories hand out fresh objects, so do the stubs
+    private static List<Queue> copies(List<Queue> queues) {
+        List<Queue> copies = new ArrayList<>(queues.size());
+        queues.forEach(queue -> copies.add(QueueEngine.copyOf(queue)));
+        return copies;
+    }
+}
@@ -0,0 +1,85 @@
+package com.healthcare.queuesystem.benchmarks;
+
+import com.healthcare.queuesystem.engine.QueuePositionSequencer;
+import com.healthcare.queuesystem.repository.QueueRepository;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.ServerVersion;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Next queue position for check-ins: QueuePositionSequencer against an in-process MongoDB
+ * stand-in, reserving one position per round trip (blockSize=1) or in blocks.
+ * Measures the per-call cost over loopback, not Atlas latency.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NextPositionBenchmark {
+
+    @Param({"1", "100"})
+    public int blockSize;
+
+    @Param({"20"})
+    public int doctors;
+
+    private MongoServer server;
+    private MongoClient client;
+    private QueuePositionSequencer sequencer;
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = new MongoServer(new MemoryBackend().version(ServerVersion.MONGO_5_0));
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+
+        sequencer = new QueuePositionSequencer();
+        Stubs.inject(sequencer, "mongoTemplate", new MongoTemplate(client, "benchmarks"));
+        Stubs.inject(sequencer, "queueRepository", Stubs.of(QueueRepository.class, Map.of(
+                "findTopByDoctorIdOrderByPositionDesc", args -> null)));
+        Stubs.inject(sequencer, "blockSize", blockSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        server.shutdown();
+    }
+
+    @Benchmark
+    public int nextPosition() {
+        return sequencer.nextPosition("DOC-" + Math.floorMod(next.incrementAndGet(), doctors));
+    }
+
+    // Eight desks checking patients in at once
+    @Benchmark
+    @Threads(8)
+    public int nextPositionContended() {
+        return sequencer.nextPosition("DOC-" + Math.floorMod(next.incrementAndGet(), doctors));
+    }
+}
@@ -0,0 +1,88 @@
+package com.healthcare.queuesystem.benchmarks;
+
+import com.healthcare.queuesystem.controller.QueueController;
+import com.healthcare.queuesystem.dto.QueueDto;
+import com.healthcare.queuesystem.engine.QueueEngine;
+import com.healthcare.queuesystem.model.Doctor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QueueController read endpoints end to end: service call, DTO conversion with name lookups,
+ * wait-time estimate and sorting. Only the database is replaced by the in-memory dataset.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class QueueControllerBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private QueueController controller;
+    private ExecutorService lookupExecutor;
+    private List<Doctor> doctors;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData data = BenchmarkData.generate(size);
+        QueueEngine engine = Fixtures.queueEngine(data);
+        lookupExecutor = Executors.newFixedThreadPool(2);
+        doctors = data.doctors;
+
+        controller = new QueueController();
+        Stubs.inject(controller, "queueService", Fixtures.queueService(data, engine));
+        Stubs.inject(controller, "doctorService", Fixtures.doctorService(data));
+        Stubs.inject(controller, "patientService", Fixtures.patientService(data));
+        Stubs.inject(controller, "lookupExecutor", lookupExecutor);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        lookupExecutor.shutdown();
+    }
+
+    private String nextDoctorId() {
+        next = (next + 1) % doctors.size();
+        return doctors.get(next).getDoctorId();
+    }
+
+    // GET /api/queue without paging: whole collection converted and sorted by position
+    @Benchmark
+    public ResponseEntity<List<QueueDto>> allEntries() {
+        return controller.getAllQueueEntries(null, null, null);
+    }
+
+    // GET /api/queue/doctor/{doctorId}
+    @Benchmark
+    public ResponseEntity<List<QueueDto>> doctorQueue() {
+        return controller.getQueueByDoctor(nextDoctorId());
+    }
+
+    // GET /api/queue/doctor/{doctorId}/active
+    @Benchmark
+    public ResponseEntity<List<QueueDto>> activeQueue() {
+        return controller.getActiveQueueByDoctor(nextDoctorId());
+    }
+}
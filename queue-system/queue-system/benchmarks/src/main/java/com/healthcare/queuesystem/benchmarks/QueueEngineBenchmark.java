@@ -0,0 +1,92 @@
+package com.healthcare.queuesystem.benchmarks;
+
+import com.healthcare.queuesystem.engine.QueueEngine;
+import com.healthcare.queuesystem.model.Doctor;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.enums.QueueStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory queue engine behind the doctor queue, active queue, next-patient and wait-time lookups.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class QueueEngineBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private BenchmarkData data;
+    private QueueEngine engine;
+    private List<Doctor> doctors;
+    private Queue toggled;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.generate(size);
+        engine = Fixtures.queueEngine(data);
+        doctors = data.doctors;
+        toggled = QueueEngine.copyOf(data.queuesByDoctor.get(doctors.get(0).getDoctorId()).get(0));
+    }
+
+    private String nextDoctorId() {
+        next = (next + 1) % doctors.size();
+        return doctors.get(next).getDoctorId();
+    }
+
+    @Benchmark
+    public List<Queue> doctorQueue() {
+        return engine.getQueue(nextDoctorId());
+    }
+
+    @Benchmark
+    public List<Queue> activeQueue() {
+        return engine.getActiveQueue(nextDoctorId());
+    }
+
+    @Benchmark
+    public Queue nextWaiting() {
+        return engine.peekNextWaiting(nextDoctorId());
+    }
+
+    @Benchmark
+    public int countActiveAhead() {
+        String doctorId = nextDoctorId();
+        List<Queue> queue = data.queuesByDoctor.get(doctorId);
+        return engine.countActiveAhead(doctorId, queue.get(queue.size() - 1).getPosition());
+    }
+
+    // Status change of one entry, as written back after every save
+    @Benchmark
+    public void statusChange() {
+        toggled.setStatus(toggled.getStatus() == QueueStatus.WAITING ? QueueStatus.COMPLETED : QueueStatus.WAITING);
+        engine.put(toggled);
+    }
+
+    // Cold load of one doctor's queue from the repository
+    @Benchmark
+    public List<Queue> reloadDoctorQueue() {
+        String doctorId = nextDoctorId();
+        engine.evict(doctorId);
+        return engine.getQueue(doctorId);
+    }
+}
@@ -0,0 +1,90 @@
+package com.healthcare.queuesystem.benchmarks;
+
+import com.healthcare.queuesystem.dto.SearchResultDto;
+import com.healthcare.queuesystem.engine.SearchIndex;
+import com.healthcare.queuesystem.model.Patient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Front-desk type-ahead (/api/search) over the in-memory name and phone index. The synthetic
+ * names come from ten first and ten last names, so every word is shared by a tenth of the
+ * patients: a harsher case for prefix scans than a real roster.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SearchIndexBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private BenchmarkData data;
+    private SearchIndex index;
+    private Patient edited;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.generate(size);
+        index = Fixtures.searchIndex(data);
+        edited = data.patients.get(0);
+    }
+
+    // One keystroke in: matches every name with a word starting "r"
+    @Benchmark
+    public List<SearchResultDto> singleLetter() {
+        return index.search("r", null, 10);
+    }
+
+    @Benchmark
+    public List<SearchResultDto> firstNamePrefix() {
+        return index.search("pri", null, 10);
+    }
+
+    // First name plus the start of the surname
+    @Benchmark
+    public List<SearchResultDto> twoWordPrefix() {
+        return index.search("amit ve", null, 10);
+    }
+
+    @Benchmark
+    public List<SearchResultDto> fullName() {
+        return index.search("Kavya Nair", SearchIndex.PATIENT, 10);
+    }
+
+    @Benchmark
+    public List<SearchResultDto> fullPhone() {
+        next = (next + 1) % data.patients.size();
+        return index.search(data.patients.get(next).getPhone(), null, 10);
+    }
+
+    @Benchmark
+    public List<SearchResultDto> phoneLastFour() {
+        next = (next + 1) % data.patients.size();
+        String phone = data.patients.get(next).getPhone();
+        return index.search(phone.substring(phone.length() - 4), null, 10);
+    }
+
+    // Index update after a patient is saved
+    @Benchmark
+    public void patientSaved() {
+        index.onPatientSaved(edited);
+    }
+}
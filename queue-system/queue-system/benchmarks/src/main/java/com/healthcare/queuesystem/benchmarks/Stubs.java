@@ -0,0 +1,66 @@
+package com.healthcare.queuesystem.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Wiring helpers so benchmarks can run the real components without a Spring context or database.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    // Interface implementation answering only the named methods; anything else fails loudly
+    static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            switch (method.getName()) {
+                case "toString":
+                    return type.getSimpleName() + " stub";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+            }
+        });
+        return type.cast(stub);
+    }
+
+    // Set an @Autowired / @Value field the way Spring would
+    static void inject(Object target, String fieldName, Object value) {
+        Class<?> type = target.getClass();
+        while (type != null) {
+            try {
+                Field field = type.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                type = type.getSuperclass();
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new IllegalArgumentException("No field " + fieldName + " on " + target.getClass().getName());
+    }
+
+    // Handle to a private helper such as a controller's convertToDto
+    static MethodHandle privateMethod(Class<?> owner, String name, Class<?>... parameterTypes) {
+        try {
+            var method = owner.getDeclaredMethod(name, parameterTypes);
+            return MethodHandles.privateLookupIn(owner, MethodHandles.lookup()).unreflect(method);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.healthcare.queuesystem.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Read-through caches for doctor and patient lookups.
+ * Size and TTL come from spring.cache.caffeine.spec; hit/miss/eviction counts
+ * are published as cache.* metrics on the actuator.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String DOCTORS = "doctors";
+    public static final String PATIENTS = "patients";
+}
@@ -0,0 +1,66 @@
+package com.healthcare.queuesystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Execution mode for blocking work. With spring.threads.virtual.enabled=true Spring Boot runs
+ * Tomcat requests, @Async and the MVC async executor on virtual threads, and the lookup executor
+ * below (used to fan out DTO name lookups) follows the same switch.
+ * Virtual threads need a Java 21+ runtime. Spring Boot silently ignores the flag on older JVMs,
+ * so startup fails instead of letting a virtual-threads run measure platform threads.
+ */
+@Configuration
+public class ExecutionConfig {
+
+    public static final String LOOKUP_EXECUTOR = "lookupExecutor";
+
+    // Below this many rows the two name lookups run one after the other; a thread hop costs more than it saves
+    public static final int PARALLEL_LOOKUP_MIN_ROWS = 64;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.execution.lookup-threads:32}")
+    private int lookupThreads;
+
+    @Bean(name = LOOKUP_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService lookupExecutor() {
+        if (virtualThreads) {
+            if (Runtime.version().feature() < 21) {
+                throw new IllegalStateException("spring.threads.virtual.enabled=true needs a Java 21+ runtime, but this is Java "
+                        + Runtime.version().feature() + "; run on Java 21 or use the platform-threads profile");
+            }
+            try {
+                // Looked up reflectively because the project still compiles for Java 17
+                ExecutorService executor = (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+                System.out.println("🧵 Execution mode: virtual threads");
+                return executor;
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not create a virtual-thread executor", e);
+            }
+        } else {
+            System.out.println("🧵 Execution mode: platform threads");
+        }
+
+        // Bounded pool; when every worker is busy the caller does the lookup itself instead of queueing
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(0, lookupThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "lookup-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
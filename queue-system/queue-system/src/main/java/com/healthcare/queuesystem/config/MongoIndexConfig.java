@@ -0,0 +1,107 @@
+package com.healthcare.queuesystem.config;
+
+import com.mongodb.MongoException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationStartupAware;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Creates the indexes declared with @Indexed / @CompoundIndex on our documents once the context is up.
+ * Done here instead of through spring.data.mongodb.auto-index-creation so an unreachable database
+ * is logged rather than failing application startup. Runs in the background so a slow or unreachable
+ * database does not hold up readiness; existing indexes make this a quick no-op.
+ */
+@Configuration
+public class MongoIndexConfig implements ApplicationStartupAware {
+
+    private static final int INDEX_OPTIONS_CONFLICT = 85;
+    private static final int INDEX_KEY_SPECS_CONFLICT = 86;
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+    @Override
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void initIndexesOnStartup() {
+        CompletableFuture.runAsync(this::initIndexes);
+    }
+
+    public void initIndexes() {
+        StartupStep step = applicationStartup.start("healthcare.startup.mongo-indexes");
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        int created = 0;
+        try {
+            for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+                if (!entity.isAnnotationPresent(Document.class)) {
+                    continue;
+                }
+                IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+                for (IndexDefinition index : resolver.resolveIndexFor(entity.getType())) {
+                    createIndex(indexOps, index);
+                    created++;
+                }
+            }
+            System.out.println("🗂️ MongoDB indexes verified: " + created);
+        } catch (Exception e) {
+            System.err.println("❌ Error creating MongoDB indexes: " + e.getMessage());
+        } finally {
+            step.tag("created", String.valueOf(created));
+            step.end();
+        }
+    }
+
+    // An index whose declaration changed (e.g. sparse → partial filter) is dropped and created again
+    private void createIndex(IndexOperations indexOps, IndexDefinition index) {
+        try {
+            indexOps.createIndex(index);
+        } catch (RuntimeException e) {
+            String name = index.getIndexOptions().getString("name");
+            int code = mongoErrorCode(e);
+            if (code == DUPLICATE_KEY) {
+                // Existing documents already break a unique index: keep going with the others
+                System.err.println("⚠️ MongoDB index " + name + " not created, existing documents are not unique: " + e.getMessage());
+                return;
+            }
+            if (name == null || (code != INDEX_OPTIONS_CONFLICT && code != INDEX_KEY_SPECS_CONFLICT)) {
+                throw e;
+            }
+            System.out.println("🗂️ Recreating changed MongoDB index " + name);
+            indexOps.dropIndex(name);
+            indexOps.createIndex(index);
+        }
+    }
+
+    private static int mongoErrorCode(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException) {
+                return ((MongoException) cause).getCode();
+            }
+        }
+        return 0;
+    }
+}
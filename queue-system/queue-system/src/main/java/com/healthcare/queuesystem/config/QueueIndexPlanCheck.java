@@ -0,0 +1,105 @@
+package com.healthcare.queuesystem.config;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logs the winning query plan for each hot queue_entries query at startup,
+ * so a missing or unused index shows up as COLLSCAN in the boot log.
+ * Off unless queue.index.explain-on-startup=true.
+ */
+@Component
+@ConditionalOnProperty(name = "queue.index.explain-on-startup", havingValue = "true", matchIfMissing = false)
+public class QueueIndexPlanCheck implements ApplicationRunner {
+
+    private static final String COLLECTION = "queue_entries";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoIndexConfig mongoIndexConfig;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Index creation normally runs in the background; make sure it is done before explaining
+        mongoIndexConfig.initIndexes();
+
+        Map<String, Document> hotQueries = new LinkedHashMap<>();
+        hotQueries.put("queue by doctor", find(
+                new Document("doctorId", "DOC-PLAN"),
+                new Document("position", 1), 0));
+        hotQueries.put("active queue by doctor", find(
+                new Document("doctorId", "DOC-PLAN")
+                        .append("status", new Document("$in", Arrays.asList("WAITING", "IN_PROGRESS"))),
+                new Document("position", 1), 0));
+        hotQueries.put("next waiting patient", find(
+                new Document("doctorId", "DOC-PLAN").append("status", "WAITING"),
+                new Document("position", 1), 1));
+        hotQueries.put("next-patient retry by idempotency key", find(
+                new Document("doctorId", "DOC-PLAN").append("nextRequestId", "KEY-PLAN"),
+                new Document(), 1));
+        hotQueries.put("last position for doctor", find(
+                new Document("doctorId", "DOC-PLAN"),
+                new Document("position", -1), 1));
+        hotQueries.put("queue by patient", find(
+                new Document("patientId", "PAT-PLAN"),
+                new Document("createdAt", 1), 0));
+
+        System.out.println("\n🔎 QUEUE QUERY PLANS");
+        for (Map.Entry<String, Document> entry : hotQueries.entrySet()) {
+            try {
+                Document explain = mongoTemplate.executeCommand(
+                        new Document("explain", entry.getValue()).append("verbosity", "queryPlanner"));
+                Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+                String plan = describe(winningPlan);
+                String marker = plan.contains("COLLSCAN") ? "⚠️" : "✅";
+                System.out.println(marker + " " + entry.getKey() + ": " + plan);
+            } catch (Exception e) {
+                System.err.println("❌ Could not explain '" + entry.getKey() + "': " + e.getMessage());
+            }
+        }
+    }
+
+    private static Document find(Document filter, Document sort, int limit) {
+        Document find = new Document("find", COLLECTION).append("filter", filter).append("sort", sort);
+        if (limit > 0) {
+            find.append("limit", limit);
+        }
+        return find;
+    }
+
+    // Flattens a plan tree into "LIMIT <- FETCH <- IXSCAN(index)"
+    private static String describe(Document stage) {
+        List<String> stages = new ArrayList<>();
+        while (stage != null) {
+            String name = stage.getString("stage");
+            if (stage.containsKey("indexName")) {
+                name += "(" + stage.getString("indexName") + ")";
+            }
+            if (stage.containsKey("inputStages")) {
+                List<String> inputs = new ArrayList<>();
+                for (Document input : stage.getList("inputStages", Document.class)) {
+                    inputs.add(describe(input));
+                }
+                name += "[" + String.join(", ", inputs) + "]";
+                stage = null;
+            } else {
+                stage = stage.get("inputStage", Document.class);
+            }
+            stages.add(name);
+        }
+        return String.join(" <- ", stages);
+    }
+}
@@ -0,0 +1,40 @@
+package com.healthcare.queuesystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Under the reactive profile the servlet-style controllers (patients, doctors, appointments,
+ * search, admin) are still mapped by WebFlux, but their service calls block on MongoTemplate.
+ * WebFlux hands every handler method without a reactive return type to the bounded pool below,
+ * so a slow report never runs on, and stalls, the few Netty event-loop threads that serve the
+ * reactive queue endpoints.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveExecutionConfig implements WebFluxConfigurer {
+
+    @Value("${app.reactive.blocking-threads:32}")
+    private int blockingThreads;
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor blockingHandlerExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(blockingThreads);
+        executor.setMaxPoolSize(blockingThreads);
+        executor.setThreadNamePrefix("blocking-handler-");
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(blockingHandlerExecutor());
+    }
+}
@@ -0,0 +1,62 @@
+package com.healthcare.queuesystem.config;
+
+import com.healthcare.queuesystem.util.KeysetPaging;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+import java.util.Arrays;
+
+/**
+ * Same rules as SecurityConfig for the WebFlux stack used by the reactive profile.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@Profile("reactive")
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        http
+                .cors(cors -> cors.configurationSource(reactiveCorsConfigurationSource()))
+                .csrf(csrf -> csrf.disable())
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchanges -> exchanges
+                        // Public endpoints
+                        .pathMatchers("/api/patients/**").permitAll()
+                        .pathMatchers("/api/doctors/**").permitAll()
+                        .pathMatchers("/api/appointments/**").permitAll()
+                        .pathMatchers("/api/queue/**").permitAll()
+                        .pathMatchers("/api/search/**").permitAll()
+                        .pathMatchers("/api/admin/**").permitAll() // For development - restrict in production
+                        .pathMatchers("/actuator/**").permitAll()
+                        .pathMatchers("/swagger-ui/**").permitAll()
+                        .pathMatchers("/v3/api-docs/**").permitAll()
+                        // All other requests need authentication
+                        .anyExchange().authenticated()
+                );
+
+        return http.build();
+    }
+
+    @Bean
+    public CorsConfigurationSource reactiveCorsConfigurationSource() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOriginPatterns(Arrays.asList("*"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
+        configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList(KeysetPaging.NEXT_CURSOR_HEADER));
+        configuration.setAllowCredentials(true);
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
+    }
+}
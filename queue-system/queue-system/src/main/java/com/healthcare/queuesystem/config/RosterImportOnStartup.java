@@ -0,0 +1,68 @@
+package com.healthcare.queuesystem.config;
+
+import com.healthcare.queuesystem.dto.ImportResultDto;
+import com.healthcare.queuesystem.service.ImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loads doctor and patient rosters named by app.import.doctors-file / app.import.patients-file
+ * once the application is ready. Runs in the background so a large roster never delays startup;
+ * the format follows the file extension (.csv, otherwise NDJSON).
+ */
+@Component
+public class RosterImportOnStartup {
+
+    @Autowired
+    private ImportService importService;
+
+    @Value("${app.import.doctors-file:}")
+    private String doctorsFile;
+
+    @Value("${app.import.patients-file:}")
+    private String patientsFile;
+
+    @Value("${app.import.ordered:false}")
+    private boolean ordered;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void importRosters() {
+        if (doctorsFile.isBlank() && patientsFile.isBlank()) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            // Doctors first, so patient rosters that reference them land after
+            if (!doctorsFile.isBlank()) {
+                importFile(doctorsFile, true);
+            }
+            if (!patientsFile.isBlank()) {
+                importFile(patientsFile, false);
+            }
+        });
+    }
+
+    private void importFile(String file, boolean doctors) {
+        Path path = Path.of(file);
+        String format = file.toLowerCase().endsWith(".csv") ? ImportService.CSV : ImportService.NDJSON;
+        System.out.println("📥 Importing " + (doctors ? "doctors" : "patients") + " from " + path.toAbsolutePath());
+        try (InputStream in = Files.newInputStream(path)) {
+            ImportResultDto result = doctors
+                    ? importService.importDoctors(in, format, ordered)
+                    : importService.importPatients(in, format, ordered);
+            System.out.println("✅ Imported " + result.getInserted() + " of " + result.getRead() + " " + result.getType()
+                    + " in " + result.getElapsedMs() + " ms (" + result.getDuplicates() + " duplicates, "
+                    + result.getRejected() + " rejected)");
+            result.getErrors().forEach(error -> System.err.println("⚠️ " + error));
+        } catch (Exception e) {
+            System.err.println("❌ Error importing " + path + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.healthcare.queuesystem.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Prints where boot time went once the application is ready: time before Spring started,
+ * each top-level startup phase, and the slowest bean creations. Phases come from the
+ * BufferingApplicationStartup installed in main() (also served at /actuator/startup);
+ * without it, only the totals are printed.
+ */
+@Component
+@ConditionalOnProperty(name = "app.startup.report", havingValue = "true", matchIfMissing = true)
+public class StartupReport {
+
+    private static final int SLOWEST_BEANS = 10;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void printReport(ApplicationReadyEvent event) {
+        try {
+            long jvmUptime = ManagementFactory.getRuntimeMXBean().getUptime();
+            Duration springTime = event.getTimeTaken();
+
+            System.out.println("\n⏱️ STARTUP REPORT");
+            System.out.println("====================");
+            System.out.println("JVM start → ready: " + jvmUptime + " ms");
+            if (springTime != null) {
+                System.out.println("Spring application start → ready: " + springTime.toMillis() + " ms");
+            }
+
+            if (!(context.getApplicationStartup() instanceof BufferingApplicationStartup buffering)) {
+                System.out.println("(start with BufferingApplicationStartup for a per-phase breakdown)");
+                System.out.println("====================");
+                return;
+            }
+            List<StartupTimeline.TimelineEvent> events = buffering.getBufferedTimeline().getEvents();
+
+            // Top-level phases in the order they ran
+            System.out.println("\nPhases:");
+            events.stream()
+                    .filter(e -> e.getStartupStep().getParentId() == null)
+                    .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getStartTime))
+                    .forEach(e -> System.out.println(String.format("  %6d ms  %s",
+                            e.getDuration().toMillis(), e.getStartupStep().getName())));
+
+            // Bean creation time includes the dependencies created along the way
+            System.out.println("\nSlowest beans (incl. dependencies):");
+            events.stream()
+                    .filter(e -> "spring.beans.instantiate".equals(e.getStartupStep().getName()))
+                    .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                    .limit(SLOWEST_BEANS)
+                    .forEach(e -> System.out.println(String.format("  %6d ms  %s",
+                            e.getDuration().toMillis(), tag(e.getStartupStep(), "beanName"))));
+            System.out.println("====================");
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not build startup report: " + e.getMessage());
+        }
+    }
+
+    private static String tag(StartupStep step, String key) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (key.equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "(unnamed)";
+    }
+}
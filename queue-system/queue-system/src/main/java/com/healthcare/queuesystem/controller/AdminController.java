@@ -1,8 +1,15 @@
 package com.healthcare.queuesystem.controller;
 
+import com.healthcare.queuesystem.engine.DailyRollups;
+import com.healthcare.queuesystem.engine.SearchIndex;
+import com.healthcare.queuesystem.engine.DoctorUtilization;
+import com.healthcare.queuesystem.model.Appointment;
+import com.healthcare.queuesystem.model.Queue;
 import com.healthcare.queuesystem.model.enums.AppointmentStatus;
 import com.healthcare.queuesystem.model.enums.QueueStatus;
 import com.healthcare.queuesystem.service.AppointmentService;
+import com.healthcare.queuesystem.service.ArchiveService;
+import com.healthcare.queuesystem.service.DashboardService;
 import com.healthcare.queuesystem.service.DoctorService;
 import com.healthcare.queuesystem.service.PatientService;
 import com.healthcare.queuesystem.service.QueueService;
@@ -14,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -34,60 +42,54 @@ public class AdminController {
     @Autowired
     private QueueService queueService;
 
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private DoctorUtilization doctorUtilization;
+
+    @Autowired
+    private DailyRollups dailyRollups;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
     // Get dashboard statistics
     @GetMapping("/dashboard/stats")
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
         try {
-            Map<String, Object> stats = new HashMap<>();
-
-            // Count totals
-            stats.put("totalPatients", patientService.getAllPatients().size());
-            stats.put("totalDoctors", doctorService.getAllDoctors().size());
-            stats.put("totalAppointments", appointmentService.getAllAppointments().size());
-            stats.put("totalQueueEntries", queueService.getAllQueues().size());
-
-            // Count by status
-            long scheduledAppointments = appointmentService.getAllAppointments().stream()
-                    .filter(app -> app.getStatus() == AppointmentStatus.SCHEDULED)
-                    .count();
-            stats.put("scheduledAppointments", scheduledAppointments);
-
-            long completedAppointments = appointmentService.getAllAppointments().stream()
-                    .filter(app -> app.getStatus() == AppointmentStatus.COMPLETED)
-                    .count();
-            stats.put("completedAppointments", completedAppointments);
-
-            long pendingAppointments = appointmentService.getAllAppointments().stream()
-                    .filter(app -> app.getStatus() == AppointmentStatus.PENDING)
-                    .count();
-            stats.put("pendingAppointments", pendingAppointments);
-
-            long waitingInQueue = queueService.getAllQueues().stream()
-                    .filter(queue -> queue.getStatus() == QueueStatus.WAITING)
-                    .count();
-            stats.put("waitingInQueue", waitingInQueue);
-
-            long inProgressQueue = queueService.getAllQueues().stream()
-                    .filter(queue -> queue.getStatus() == QueueStatus.IN_PROGRESS)
-                    .count();
-            stats.put("inProgressQueue", inProgressQueue);
-
-            // Today's appointments
-            LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-            LocalDateTime endOfDay = LocalDate.now().atTime(23, 59, 59);
-
-            long todaysAppointments = appointmentService.getAllAppointments().stream()
-                    .filter(app -> app.getAppointmentDate().isAfter(startOfDay) &&
-                            app.getAppointmentDate().isBefore(endOfDay))
-                    .count();
-            stats.put("todaysAppointments", todaysAppointments);
+            Map<String, Object> stats = dashboardService.getDashboardStats();
+            return new ResponseEntity<>(stats, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 
+    // Rebuild dashboard counters from the database
+    @PostMapping("/dashboard/stats/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildDashboardStats() {
+        try {
+            Map<String, Object> stats = dashboardService.rebuildDashboardStats();
             return new ResponseEntity<>(stats, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    // Move old finished queue entries and past appointments to the archive collections now
+    @PostMapping("/archive/run")
+    public ResponseEntity<Map<String, Object>> runArchive() {
+        try {
+            Map<String, Object> result = archiveService.archiveNow();
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     // Get recent activities
     @GetMapping("/dashboard/recent-activities")
     public ResponseEntity<Map<String, Object>> getRecentActivities() {
@@ -95,10 +97,7 @@ public class AdminController {
             Map<String, Object> activities = new HashMap<>();
 
             // Recent appointments (last 10)
-            var recentAppointments = appointmentService.getAllAppointments().stream()
-                    .sorted((a1, a2) -> a2.getAppointmentDate().compareTo(a1.getAppointmentDate()))
-                    .limit(10)
-                    .collect(Collectors.toList());
+            var recentAppointments = appointmentService.getRecentAppointments(10);
             activities.put("recentAppointments", recentAppointments);
 
             // Recent queue entries (last 10)
@@ -120,31 +119,35 @@ public class AdminController {
         }
     }
 
-    // Get appointments by date range
+    // Get appointments by date range. Archived appointments are included only when a range is given;
+    // without one the report lists current appointments (the summary and dashboard counts cover the archive)
     @GetMapping("/reports/appointments")
     public ResponseEntity<Map<String, Object>> getAppointmentReport(
             @RequestParam(required = false) String startDate,
             @RequestParam(required = false) String endDate,
-            @RequestParam(required = false) String doctorId) {
+            @RequestParam(required = false) String doctorId,
+            @RequestParam(defaultValue = "false") boolean summary) {
         try {
-            var appointments = appointmentService.getAllAppointments().stream();
+            // Counts only: summed from the daily rollups for whole days, without reading any appointment
+            if (summary) {
+                LocalDate from = startDate != null && endDate != null ? LocalDate.parse(startDate) : null;
+                LocalDate to = startDate != null && endDate != null ? LocalDate.parse(endDate) : null;
+                return new ResponseEntity<>(summaryReport(DailyRollups.APPOINTMENTS, from, to, doctorId), HttpStatus.OK);
+            }
+
+            List<Appointment> filteredAppointments;
 
-            // Filter by date range if provided
+            // Date range from the appointment calendar (or an indexed query), doctor from the doctor index
             if (startDate != null && endDate != null) {
                 LocalDateTime start = LocalDate.parse(startDate).atStartOfDay();
                 LocalDateTime end = LocalDate.parse(endDate).atTime(23, 59, 59);
-                appointments = appointments.filter(app ->
-                        app.getAppointmentDate().isAfter(start) &&
-                                app.getAppointmentDate().isBefore(end));
+                filteredAppointments = appointmentService.getAppointmentsBetween(start, end, doctorId);
+            } else if (doctorId != null && !doctorId.isEmpty()) {
+                filteredAppointments = appointmentService.getAppointmentsByDoctor(doctorId);
+            } else {
+                filteredAppointments = appointmentService.getAllAppointments();
             }
 
-            // Filter by doctor if provided
-            if (doctorId != null && !doctorId.isEmpty()) {
-                appointments = appointments.filter(app -> app.getDoctorId().equals(doctorId));
-            }
-
-            var filteredAppointments = appointments.collect(Collectors.toList());
-
             Map<String, Object> report = new HashMap<>();
             report.put("appointments", filteredAppointments);
             report.put("totalCount", filteredAppointments.size());
@@ -162,30 +165,41 @@ public class AdminController {
         }
     }
 
-    // Get queue report
+    // Get queue report. Archived entries are included only for a date or range; without one the report
+    // lists current entries (the summary and dashboard counts cover the archive)
     @GetMapping("/reports/queue")
     public ResponseEntity<Map<String, Object>> getQueueReport(
             @RequestParam(required = false) String doctorId,
-            @RequestParam(required = false) String date) {
+            @RequestParam(required = false) String date,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(defaultValue = "false") boolean summary) {
         try {
-            var queues = queueService.getAllQueues().stream();
-
-            // Filter by doctor if provided
-            if (doctorId != null && !doctorId.isEmpty()) {
-                queues = queues.filter(queue -> queue.getDoctorId().equals(doctorId));
+            // Counts only: summed from the daily rollups for one day or a range of days
+            if (summary) {
+                LocalDate from = date != null && !date.isEmpty() ? LocalDate.parse(date)
+                        : startDate != null && endDate != null ? LocalDate.parse(startDate) : null;
+                LocalDate to = date != null && !date.isEmpty() ? LocalDate.parse(date)
+                        : startDate != null && endDate != null ? LocalDate.parse(endDate) : null;
+                return new ResponseEntity<>(summaryReport(DailyRollups.QUEUE, from, to, doctorId), HttpStatus.OK);
             }
 
-            // Filter by date if provided
+            List<Queue> filteredQueues;
             if (date != null && !date.isEmpty()) {
+                // Range query by day; reads the archive only for days that were archived
                 LocalDateTime startOfDay = LocalDate.parse(date).atStartOfDay();
                 LocalDateTime endOfDay = LocalDate.parse(date).atTime(23, 59, 59);
-                queues = queues.filter(queue ->
-                        queue.getCreatedAt().isAfter(startOfDay) &&
-                                queue.getCreatedAt().isBefore(endOfDay));
+                filteredQueues = queueService.getQueuesCreatedBetween(startOfDay, endOfDay, doctorId);
+            } else if (startDate != null && endDate != null) {
+                LocalDateTime start = LocalDate.parse(startDate).atStartOfDay();
+                LocalDateTime end = LocalDate.parse(endDate).atTime(23, 59, 59);
+                filteredQueues = queueService.getQueuesCreatedBetween(start, end, doctorId);
+            } else if (doctorId != null && !doctorId.isEmpty()) {
+                filteredQueues = queueService.getQueuesByDoctor(doctorId);
+            } else {
+                filteredQueues = queueService.getAllQueues();
             }
 
-            var filteredQueues = queues.collect(Collectors.toList());
-
             Map<String, Object> report = new HashMap<>();
             report.put("queueEntries", filteredQueues);
             report.put("totalCount", filteredQueues.size());
@@ -203,37 +217,51 @@ public class AdminController {
         }
     }
 
-    // Get doctor utilization report
+    // Rebuild the daily report rollups from the appointment and queue collections
+    @PostMapping("/reports/rollups/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildReportRollups() {
+        try {
+            Map<String, Object> result = dailyRollups.rebuild();
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Reload the front-desk search index (after writes that bypass the patient and doctor services)
+    @PostMapping("/search/reindex")
+    public ResponseEntity<Map<String, Object>> reindexSearch() {
+        try {
+            Map<String, Object> result = searchIndex.reload();
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Get doctor utilization report, optionally for a period; archived history is counted either way
     @GetMapping("/reports/doctor-utilization")
-    public ResponseEntity<Map<String, Object>> getDoctorUtilizationReport() {
+    public ResponseEntity<Map<String, Object>> getDoctorUtilizationReport(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate) {
         try {
             var doctors = doctorService.getAllDoctors();
             Map<String, Object> report = new HashMap<>();
 
+            // Counts for every doctor from one grouped pass, optionally limited to a period
+            LocalDateTime start = startDate != null && endDate != null ? LocalDate.parse(startDate).atStartOfDay() : null;
+            LocalDateTime end = startDate != null && endDate != null ? LocalDate.parse(endDate).atTime(23, 59, 59) : null;
+            Map<String, DoctorUtilization.Counts> counts = doctorUtilization.compute(start, end);
+
             for (var doctor : doctors) {
                 Map<String, Object> doctorStats = new HashMap<>();
-
-                // Count appointments for this doctor
-                long appointmentCount = appointmentService.getAllAppointments().stream()
-                        .filter(app -> app.getDoctorId().equals(doctor.getDoctorId()))
-                        .count();
-
-                // Count queue entries for this doctor
-                long queueCount = queueService.getAllQueues().stream()
-                        .filter(queue -> queue.getDoctorId().equals(doctor.getDoctorId()))
-                        .count();
-
-                // Count completed consultations
-                long completedCount = queueService.getAllQueues().stream()
-                        .filter(queue -> queue.getDoctorId().equals(doctor.getDoctorId()))
-                        .filter(queue -> queue.getStatus() == QueueStatus.COMPLETED)
-                        .count();
+                DoctorUtilization.Counts doctorCounts = counts.get(doctor.getDoctorId());
 
                 doctorStats.put("doctorName", doctor.getName());
                 doctorStats.put("specialization", doctor.getSpecialization());
-                doctorStats.put("totalAppointments", appointmentCount);
-                doctorStats.put("totalQueueEntries", queueCount);
-                doctorStats.put("completedConsultations", completedCount);
+                doctorStats.put("totalAppointments", doctorCounts != null ? doctorCounts.getAppointments() : 0L);
+                doctorStats.put("totalQueueEntries", doctorCounts != null ? doctorCounts.getQueueEntries() : 0L);
+                doctorStats.put("completedConsultations", doctorCounts != null ? doctorCounts.getCompletedConsultations() : 0L);
 
                 report.put(doctor.getDoctorId(), doctorStats);
             }
@@ -276,15 +304,8 @@ public class AdminController {
     @DeleteMapping("/cleanup/completed-queues")
     public ResponseEntity<Map<String, Object>> clearCompletedQueues() {
         try {
-            var completedQueues = queueService.getAllQueues().stream()
-                    .filter(queue -> queue.getStatus() == QueueStatus.COMPLETED)
-                    .collect(Collectors.toList());
-
-            int deletedCount = 0;
-            for (var queue : completedQueues) {
-                queueService.deleteQueue(queue.getQueueId());
-                deletedCount++;
-            }
+            // Single deleteMany on the server
+            long deletedCount = queueService.deleteQueuesByStatus(QueueStatus.COMPLETED);
 
             Map<String, Object> result = new HashMap<>();
             result.put("deletedCount", deletedCount);
@@ -304,17 +325,8 @@ public class AdminController {
     @PostMapping("/emergency/reset-queue/{doctorId}")
     public ResponseEntity<Map<String, Object>> emergencyQueueReset(@PathVariable String doctorId) {
         try {
-            var doctorQueues = queueService.getAllQueues().stream()
-                    .filter(queue -> queue.getDoctorId().equals(doctorId))
-                    .filter(queue -> queue.getStatus() != QueueStatus.COMPLETED)
-                    .collect(Collectors.toList());
-
-            int resetCount = 0;
-            for (var queue : doctorQueues) {
-                queue.setStatus(QueueStatus.WAITING);
-                queueService.saveQueue(queue);
-                resetCount++;
-            }
+            // Server-side updateMany of everything not COMPLETED back to WAITING
+            long resetCount = queueService.resetQueuesToWaiting(doctorId);
 
             Map<String, Object> result = new HashMap<>();
             result.put("resetCount", resetCount);
@@ -330,4 +342,13 @@ public class AdminController {
             return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
-}
\ No newline at end of file
+
+    // totalCount and statusBreakdown of a report, from the rollups of the days in [from, to]
+    private Map<String, Object> summaryReport(String kind, LocalDate from, LocalDate to, String doctorId) {
+        Map<String, Long> statusCount = dailyRollups.statusCounts(kind, from, to, doctorId);
+        Map<String, Object> report = new HashMap<>();
+        report.put("totalCount", statusCount.values().stream().mapToLong(Long::longValue).sum());
+        report.put("statusBreakdown", statusCount);
+        return report;
+    }
+}
@@ -0,0 +1,101 @@
+package com.healthcare.queuesystem.controller;
+
+import com.healthcare.queuesystem.dto.ImportResultDto;
+import com.healthcare.queuesystem.service.ExportService;
+import com.healthcare.queuesystem.service.ImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Bulk NDJSON exports and roster imports under /api/admin. Both stream through the servlet
+ * request and response (StreamingResponseBody, InputStream request body), so they are only
+ * mapped on the Spring MVC stack; the reactive profile does not serve these paths.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*")
+@Profile("!reactive")
+public class AdminTransferController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ImportService importService;
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    // Export appointments as newline-delimited JSON, streamed from the database
+    @GetMapping("/export/appointments")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String doctorId) {
+        LocalDateTime start = startDate != null && endDate != null ? LocalDate.parse(startDate).atStartOfDay() : null;
+        LocalDateTime end = startDate != null && endDate != null ? LocalDate.parse(endDate).atTime(23, 59, 59) : null;
+
+        StreamingResponseBody body = out -> exportService.exportAppointments(start, end, doctorId, out);
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"appointments.ndjson\"")
+                .body(body);
+    }
+
+    // Export queue history as newline-delimited JSON, streamed from the database
+    @GetMapping("/export/queue")
+    public ResponseEntity<StreamingResponseBody> exportQueueEntries(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String doctorId) {
+        LocalDateTime start = startDate != null && endDate != null ? LocalDate.parse(startDate).atStartOfDay() : null;
+        LocalDateTime end = startDate != null && endDate != null ? LocalDate.parse(endDate).atTime(23, 59, 59) : null;
+
+        StreamingResponseBody body = out -> exportService.exportQueueEntries(start, end, doctorId, out);
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"queue-entries.ndjson\"")
+                .body(body);
+    }
+
+    // Import a patient roster (CSV with a header row, or NDJSON) streamed from the request body
+    @PostMapping("/import/patients")
+    public ResponseEntity<ImportResultDto> importPatients(
+            InputStream body,
+            @RequestParam(defaultValue = ImportService.CSV) String format,
+            @RequestParam(defaultValue = "false") boolean ordered) {
+        try {
+            ImportResultDto result = importService.importPatients(body, format, ordered);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Import a doctor roster (CSV with a header row, or NDJSON) streamed from the request body
+    @PostMapping("/import/doctors")
+    public ResponseEntity<ImportResultDto> importDoctors(
+            InputStream body,
+            @RequestParam(defaultValue = ImportService.CSV) String format,
+            @RequestParam(defaultValue = "false") boolean ordered) {
+        try {
+            ImportResultDto result = importService.importDoctors(body, format, ordered);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
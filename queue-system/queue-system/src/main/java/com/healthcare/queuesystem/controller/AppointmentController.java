@@ -1,19 +1,32 @@
 package com.healthcare.queuesystem.controller;
 
+import com.healthcare.queuesystem.config.ExecutionConfig;
 import com.healthcare.queuesystem.dto.AppointmentDto;
+import com.healthcare.queuesystem.engine.SlotEngine;
+import com.healthcare.queuesystem.exception.GlobalExceptionHandler;
 import com.healthcare.queuesystem.model.Appointment;
-import com.healthcare.queuesystem.model.Doctor;
-import com.healthcare.queuesystem.model.Patient;
 import com.healthcare.queuesystem.model.enums.AppointmentStatus;
 import com.healthcare.queuesystem.service.AppointmentService;
 import com.healthcare.queuesystem.service.DoctorService;
 import com.healthcare.queuesystem.service.PatientService;
+import com.healthcare.queuesystem.util.KeysetPaging;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 @RestController
@@ -30,6 +43,13 @@ public class AppointmentController {
     @Autowired
     private PatientService patientService;
 
+    @Autowired
+    private SlotEngine slotEngine;
+
+    @Autowired
+    @Qualifier(ExecutionConfig.LOOKUP_EXECUTOR)
+    private ExecutorService lookupExecutor;
+
     // Create a new appointment
     @PostMapping
     public ResponseEntity<AppointmentDto> createAppointment(@RequestBody AppointmentDto appointmentDto) {
@@ -38,19 +58,36 @@ public class AppointmentController {
             Appointment savedAppointment = appointmentService.saveAppointment(appointment);
             AppointmentDto responseDto = convertToDto(savedAppointment);
             return new ResponseEntity<>(responseDto, HttpStatus.CREATED);
+        } catch (GlobalExceptionHandler.SlotConflictException e) {
+            // Answered with 409 and suggested slots by GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
-    // Get all appointments
+    // Get all appointments (paged with ?page=&size=, or keyset with ?after=<last id>&size=)
     @GetMapping
-    public ResponseEntity<List<AppointmentDto>> getAllAppointments() {
+    public ResponseEntity<List<AppointmentDto>> getAllAppointments(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String after) {
         try {
+            if (page != null || size != null || after != null) {
+                int pageSize = KeysetPaging.pageSize(size);
+                List<Appointment> appointments = page != null && after == null
+                        ? appointmentService.getAppointmentsPage(page, pageSize)
+                        : appointmentService.getAppointmentsAfter(after, pageSize);
+                List<AppointmentDto> appointmentDtos = convertToDtos(appointments);
+                HttpHeaders headers = KeysetPaging.headers(appointments.stream()
+                        .map(Appointment::getAppointmentId)
+                        .collect(Collectors.toList()), pageSize);
+                return new ResponseEntity<>(appointmentDtos, headers, HttpStatus.OK);
+            }
+
+            // No paging parameters: whole collection as before
             List<Appointment> appointments = appointmentService.getAllAppointments();
-            List<AppointmentDto> appointmentDtos = appointments.stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            List<AppointmentDto> appointmentDtos = convertToDtos(appointments);
             return new ResponseEntity<>(appointmentDtos, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -61,7 +98,7 @@ public class AppointmentController {
     @GetMapping("/{id}")
     public ResponseEntity<AppointmentDto> getAppointmentById(@PathVariable String id) {
         try {
-            Appointment appointment = appointmentService.getAppointmentById(id);
+            Appointment appointment = appointmentService.getAppointmentOrArchived(id);
             if (appointment != null) {
                 AppointmentDto appointmentDto = convertToDto(appointment);
                 return new ResponseEntity<>(appointmentDto, HttpStatus.OK);
@@ -87,6 +124,9 @@ public class AppointmentController {
             } else {
                 return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
             }
+        } catch (GlobalExceptionHandler.SlotConflictException e) {
+            // Answered with 409 and suggested slots by GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -112,12 +152,70 @@ public class AppointmentController {
     @GetMapping("/doctor/{doctorId}")
     public ResponseEntity<List<AppointmentDto>> getAppointmentsByDoctor(@PathVariable String doctorId) {
         try {
-            List<Appointment> appointments = appointmentService.getAllAppointments().stream()
-                    .filter(appointment -> appointment.getDoctorId().equals(doctorId))
-                    .collect(Collectors.toList());
-            List<AppointmentDto> appointmentDtos = appointments.stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            List<Appointment> appointments = appointmentService.getAppointmentsByDoctor(doctorId);
+            List<AppointmentDto> appointmentDtos = convertToDtos(appointments);
+            return new ResponseEntity<>(appointmentDtos, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Get a doctor's agenda for one day (?date=yyyy-MM-dd, default today), in time order
+    @GetMapping("/doctor/{doctorId}/agenda")
+    public ResponseEntity<List<AppointmentDto>> getDoctorAgenda(
+            @PathVariable String doctorId,
+            @RequestParam(required = false) String date) {
+        try {
+            LocalDate day = date != null && !date.isEmpty() ? LocalDate.parse(date) : LocalDate.now();
+            List<Appointment> appointments = appointmentService.getAppointmentsForDay(day, doctorId);
+            List<AppointmentDto> appointmentDtos = convertToDtos(appointments);
+            return new ResponseEntity<>(appointmentDtos, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Get a doctor's first free slot at or after ?from= (ISO date-time, default now)
+    @GetMapping("/doctor/{doctorId}/next-slot")
+    public ResponseEntity<Map<String, Object>> getNextFreeSlot(
+            @PathVariable String doctorId,
+            @RequestParam(required = false) String from) {
+        try {
+            LocalDateTime start = from != null && !from.isEmpty() ? LocalDateTime.parse(from) : LocalDateTime.now();
+            Map<String, Object> response = new HashMap<>();
+            response.put("doctorId", doctorId);
+            response.put("slotMinutes", slotEngine.getSlotMinutes());
+            response.put("nextFreeSlot", slotEngine.nextFreeSlot(doctorId, start));
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Get a doctor's free slots on one day (?date=yyyy-MM-dd, default today)
+    @GetMapping("/doctor/{doctorId}/free-slots")
+    public ResponseEntity<Map<String, Object>> getFreeSlots(
+            @PathVariable String doctorId,
+            @RequestParam(required = false) String date) {
+        try {
+            LocalDate day = date != null && !date.isEmpty() ? LocalDate.parse(date) : LocalDate.now();
+            Map<String, Object> response = new HashMap<>();
+            response.put("doctorId", doctorId);
+            response.put("date", day);
+            response.put("slotMinutes", slotEngine.getSlotMinutes());
+            response.put("freeSlots", slotEngine.freeSlotsOn(doctorId, day));
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Get today's appointments, optionally for one doctor, in time order
+    @GetMapping("/today")
+    public ResponseEntity<List<AppointmentDto>> getTodaysAppointments(@RequestParam(required = false) String doctorId) {
+        try {
+            List<Appointment> appointments = appointmentService.getAppointmentsForDay(LocalDate.now(), doctorId);
+            List<AppointmentDto> appointmentDtos = convertToDtos(appointments);
             return new ResponseEntity<>(appointmentDtos, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -128,12 +226,8 @@ public class AppointmentController {
     @GetMapping("/patient/{patientId}")
     public ResponseEntity<List<AppointmentDto>> getAppointmentsByPatient(@PathVariable String patientId) {
         try {
-            List<Appointment> appointments = appointmentService.getAllAppointments().stream()
-                    .filter(appointment -> appointment.getPatientId().equals(patientId))
-                    .collect(Collectors.toList());
-            List<AppointmentDto> appointmentDtos = appointments.stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            List<Appointment> appointments = appointmentService.getAppointmentsByPatient(patientId);
+            List<AppointmentDto> appointmentDtos = convertToDtos(appointments);
             return new ResponseEntity<>(appointmentDtos, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -153,6 +247,9 @@ public class AppointmentController {
             } else {
                 return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
             }
+        } catch (GlobalExceptionHandler.SlotConflictException e) {
+            // Answered with 409 and suggested slots by GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -165,9 +262,7 @@ public class AppointmentController {
             List<Appointment> appointments = appointmentService.getAllAppointments().stream()
                     .filter(appointment -> appointment.getStatus() == status)
                     .collect(Collectors.toList());
-            List<AppointmentDto> appointmentDtos = appointments.stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            List<AppointmentDto> appointmentDtos = convertToDtos(appointments);
             return new ResponseEntity<>(appointmentDtos, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -176,34 +271,49 @@ public class AppointmentController {
 
     // Helper method to convert Entity to DTO
     private AppointmentDto convertToDto(Appointment appointment) {
-        AppointmentDto dto = new AppointmentDto();
-        dto.setAppointmentId(appointment.getAppointmentId());
-        dto.setDoctorId(appointment.getDoctorId());
-        dto.setPatientId(appointment.getPatientId());
-        dto.setAppointmentDate(appointment.getAppointmentDate());
-        dto.setPurpose(appointment.getPurpose());
-        dto.setStatus(appointment.getStatus());
+        return convertToDtos(List.of(appointment)).get(0);
+    }
+
+    // Helper method to convert a list of entities, resolving names with one lookup per type
+    private List<AppointmentDto> convertToDtos(List<Appointment> appointments) {
+        Map<String, String> doctorNames = Map.of();
+        Map<String, String> patientNames = Map.of();
 
         // Set doctor and patient names for better display
         try {
-            if (appointment.getDoctorId() != null) {
-                Doctor doctor = doctorService.getDoctorById(appointment.getDoctorId());
-                if (doctor != null) {
-                    dto.setDoctorName(doctor.getName());
-                }
-            }
-            if (appointment.getPatientId() != null) {
-                Patient patient = patientService.getPatientById(appointment.getPatientId());
-                if (patient != null) {
-                    dto.setPatientName(patient.getName());
-                }
-            }
+            Set<String> doctorIds = appointments.stream()
+                    .map(Appointment::getDoctorId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Set<String> patientIds = appointments.stream()
+                    .map(Appointment::getPatientId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            // For larger lists doctor names are fetched alongside the patient names instead of after them
+            CompletableFuture<Map<String, String>> doctorLookup = appointments.size() >= ExecutionConfig.PARALLEL_LOOKUP_MIN_ROWS
+                    ? CompletableFuture.supplyAsync(() -> doctorService.getDoctorNames(doctorIds), lookupExecutor)
+                    : CompletableFuture.completedFuture(doctorService.getDoctorNames(doctorIds));
+            patientNames = patientService.getPatientNames(patientIds);
+            doctorNames = doctorLookup.join();
         } catch (Exception e) {
             // Log error but don't fail the conversion
             System.err.println("Error setting names in appointment DTO: " + e.getMessage());
         }
 
-        return dto;
+        List<AppointmentDto> dtos = new ArrayList<>(appointments.size());
+        for (Appointment appointment : appointments) {
+            AppointmentDto dto = new AppointmentDto();
+            dto.setAppointmentId(appointment.getAppointmentId());
+            dto.setDoctorId(appointment.getDoctorId());
+            dto.setPatientId(appointment.getPatientId());
+            dto.setAppointmentDate(appointment.getAppointmentDate());
+            dto.setPurpose(appointment.getPurpose());
+            dto.setStatus(appointment.getStatus());
+            dto.setDoctorName(doctorNames.get(appointment.getDoctorId()));
+            dto.setPatientName(patientNames.get(appointment.getPatientId()));
+            dtos.add(dto);
+        }
+        return dtos;
     }
 
     // Helper method to convert DTO to Entity
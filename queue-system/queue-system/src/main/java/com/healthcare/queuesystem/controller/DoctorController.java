@@ -3,7 +3,9 @@ package com.healthcare.queuesystem.controller;
 import com.healthcare.queuesystem.dto.DoctorDto;
 import com.healthcare.queuesystem.model.Doctor;
 import com.healthcare.queuesystem.service.DoctorService;
+import com.healthcare.queuesystem.util.KeysetPaging;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -32,10 +34,28 @@ public class DoctorController {
         }
     }
 
-    // Get all doctors
+    // Get all doctors (paged with ?page=&size=, or keyset with ?after=<last id>&size=)
     @GetMapping
-    public ResponseEntity<List<DoctorDto>> getAllDoctors() {
+    public ResponseEntity<List<DoctorDto>> getAllDoctors(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String after) {
         try {
+            if (page != null || size != null || after != null) {
+                int pageSize = KeysetPaging.pageSize(size);
+                List<Doctor> doctors = page != null && after == null
+                        ? doctorService.getDoctorsPage(page, pageSize)
+                        : doctorService.getDoctorsAfter(after, pageSize);
+                List<DoctorDto> doctorDtos = doctors.stream()
+                        .map(this::convertToDto)
+                        .collect(Collectors.toList());
+                HttpHeaders headers = KeysetPaging.headers(doctors.stream()
+                        .map(Doctor::getDoctorId)
+                        .collect(Collectors.toList()), pageSize);
+                return new ResponseEntity<>(doctorDtos, headers, HttpStatus.OK);
+            }
+
+            // No paging parameters: whole collection as before
             List<Doctor> doctors = doctorService.getAllDoctors();
             List<DoctorDto> doctorDtos = doctors.stream()
                     .map(this::convertToDto)
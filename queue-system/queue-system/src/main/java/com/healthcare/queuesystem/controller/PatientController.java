@@ -3,7 +3,9 @@ package com.healthcare.queuesystem.controller;
 import com.healthcare.queuesystem.dto.PatientDto;
 import com.healthcare.queuesystem.model.Patient;
 import com.healthcare.queuesystem.service.PatientService;
+import com.healthcare.queuesystem.util.KeysetPaging;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -32,10 +34,28 @@ public class PatientController {
         }
     }
 
-    // Get all patients
+    // Get all patients (paged with ?page=&size=, or keyset with ?after=<last id>&size=)
     @GetMapping
-    public ResponseEntity<List<PatientDto>> getAllPatients() {
+    public ResponseEntity<List<PatientDto>> getAllPatients(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String after) {
         try {
+            if (page != null || size != null || after != null) {
+                int pageSize = KeysetPaging.pageSize(size);
+                List<Patient> patients = page != null && after == null
+                        ? patientService.getPatientsPage(page, pageSize)
+                        : patientService.getPatientsAfter(after, pageSize);
+                List<PatientDto> patientDtos = patients.stream()
+                        .map(this::convertToDto)
+                        .collect(Collectors.toList());
+                HttpHeaders headers = KeysetPaging.headers(patients.stream()
+                        .map(Patient::getPatientId)
+                        .collect(Collectors.toList()), pageSize);
+                return new ResponseEntity<>(patientDtos, headers, HttpStatus.OK);
+            }
+
+            // No paging parameters: whole collection as before
             List<Patient> patients = patientService.getAllPatients();
             List<PatientDto> patientDtos = patients.stream()
                     .map(this::convertToDto)
@@ -1,26 +1,39 @@
 package com.healthcare.queuesystem.controller;
 
+import com.healthcare.queuesystem.config.ExecutionConfig;
 import com.healthcare.queuesystem.dto.QueueDto;
-import com.healthcare.queuesystem.model.Doctor;
-import com.healthcare.queuesystem.model.Patient;
+import com.healthcare.queuesystem.engine.QueueEventBroadcaster;
 import com.healthcare.queuesystem.model.Queue;
 import com.healthcare.queuesystem.model.enums.QueueStatus;
 import com.healthcare.queuesystem.service.DoctorService;
 import com.healthcare.queuesystem.service.PatientService;
 import com.healthcare.queuesystem.service.QueueService;
+import com.healthcare.queuesystem.util.KeysetPaging;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/queue")
 @CrossOrigin(origins = "*")
+@Profile("!reactive")   // ReactiveQueueController serves these paths under the reactive profile
 public class QueueController {
 
     @Autowired
@@ -32,6 +45,13 @@ public class QueueController {
     @Autowired
     private PatientService patientService;
 
+    @Autowired
+    @Qualifier(ExecutionConfig.LOOKUP_EXECUTOR)
+    private ExecutorService lookupExecutor;
+
+    @Autowired
+    private QueueEventBroadcaster queueEventBroadcaster;
+
     // Add patient to queue
     @PostMapping
     public ResponseEntity<QueueDto> addToQueue(@RequestBody QueueDto queueDto) {
@@ -52,13 +72,28 @@ public class QueueController {
         }
     }
 
-    // Get all queue entries
+    // Get all queue entries (paged with ?page=&size=, or keyset with ?after=<last id>&size=)
     @GetMapping
-    public ResponseEntity<List<QueueDto>> getAllQueueEntries() {
+    public ResponseEntity<List<QueueDto>> getAllQueueEntries(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String after) {
         try {
+            if (page != null || size != null || after != null) {
+                int pageSize = KeysetPaging.pageSize(size);
+                List<Queue> queues = page != null && after == null
+                        ? queueService.getQueuesPage(page, pageSize)
+                        : queueService.getQueuesAfter(after, pageSize);
+                List<QueueDto> queueDtos = convertToDtos(queues);
+                HttpHeaders headers = KeysetPaging.headers(queues.stream()
+                        .map(Queue::getQueueId)
+                        .collect(Collectors.toList()), pageSize);
+                return new ResponseEntity<>(queueDtos, headers, HttpStatus.OK);
+            }
+
+            // No paging parameters: whole collection as before
             List<Queue> queues = queueService.getAllQueues();
-            List<QueueDto> queueDtos = queues.stream()
-                    .map(this::convertToDto)
+            List<QueueDto> queueDtos = convertToDtos(queues).stream()
                     .sorted(Comparator.comparing(QueueDto::getPosition))
                     .collect(Collectors.toList());
             return new ResponseEntity<>(queueDtos, HttpStatus.OK);
@@ -71,7 +106,7 @@ public class QueueController {
     @GetMapping("/{id}")
     public ResponseEntity<QueueDto> getQueueById(@PathVariable String id) {
         try {
-            Queue queue = queueService.getQueueById(id);
+            Queue queue = queueService.getQueueOrArchived(id);
             if (queue != null) {
                 QueueDto queueDto = convertToDto(queue);
                 return new ResponseEntity<>(queueDto, HttpStatus.OK);
@@ -87,14 +122,9 @@ public class QueueController {
     @GetMapping("/doctor/{doctorId}")
     public ResponseEntity<List<QueueDto>> getQueueByDoctor(@PathVariable String doctorId) {
         try {
-            List<Queue> queues = queueService.getAllQueues().stream()
-                    .filter(queue -> queue.getDoctorId().equals(doctorId))
-                    .sorted(Comparator.comparing(Queue::getPosition))
-                    .collect(Collectors.toList());
+            List<Queue> queues = queueService.getQueuesByDoctor(doctorId);
 
-            List<QueueDto> queueDtos = queues.stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            List<QueueDto> queueDtos = convertToDtos(queues);
             return new ResponseEntity<>(queueDtos, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -105,32 +135,35 @@ public class QueueController {
     @GetMapping("/doctor/{doctorId}/active")
     public ResponseEntity<List<QueueDto>> getActiveQueueByDoctor(@PathVariable String doctorId) {
         try {
-            List<Queue> queues = queueService.getAllQueues().stream()
-                    .filter(queue -> queue.getDoctorId().equals(doctorId))
-                    .filter(queue -> queue.getStatus() == QueueStatus.WAITING || queue.getStatus() == QueueStatus.IN_PROGRESS)
-                    .sorted(Comparator.comparing(Queue::getPosition))
-                    .collect(Collectors.toList());
+            List<Queue> queues = queueService.getActiveQueuesByDoctor(doctorId);
 
-            List<QueueDto> queueDtos = queues.stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            List<QueueDto> queueDtos = convertToDtos(queues);
             return new ResponseEntity<>(queueDtos, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    // Live queue updates for a doctor's waiting-room display (Server-Sent Events)
+    // Browsers resend Last-Event-ID on reconnect; other clients may pass ?lastEventId=<epoch>-<sequence>
+    @GetMapping(value = "/doctor/{doctorId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamQueueByDoctor(@PathVariable String doctorId,
+                                          @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                                          @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        String lastEventId = lastEventIdHeader != null && !lastEventIdHeader.isBlank()
+                ? lastEventIdHeader.trim()
+                : lastEventIdParam;
+        return queueEventBroadcaster.subscribe(doctorId, lastEventId,
+                () -> convertToDtos(queueService.getActiveQueuesByDoctor(doctorId)));
+    }
+
     // Get queue by patient ID
     @GetMapping("/patient/{patientId}")
     public ResponseEntity<List<QueueDto>> getQueueByPatient(@PathVariable String patientId) {
         try {
-            List<Queue> queues = queueService.getAllQueues().stream()
-                    .filter(queue -> queue.getPatientId().equals(patientId))
-                    .collect(Collectors.toList());
+            List<Queue> queues = queueService.getQueuesByPatient(patientId);
 
-            List<QueueDto> queueDtos = queues.stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            List<QueueDto> queueDtos = convertToDtos(queues);
             return new ResponseEntity<>(queueDtos, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -155,21 +188,16 @@ public class QueueController {
         }
     }
 
-    // Move to next patient in queue
+    // Move to next patient in queue: completes the current patient and starts the next one.
+    // Clients may send an Idempotency-Key header so a retried click does not advance twice
     @PostMapping("/doctor/{doctorId}/next")
-    public ResponseEntity<QueueDto> moveToNextPatient(@PathVariable String doctorId) {
+    public ResponseEntity<QueueDto> moveToNextPatient(@PathVariable String doctorId,
+                                                      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
-            List<Queue> waitingQueues = queueService.getAllQueues().stream()
-                    .filter(queue -> queue.getDoctorId().equals(doctorId))
-                    .filter(queue -> queue.getStatus() == QueueStatus.WAITING)
-                    .sorted(Comparator.comparing(Queue::getPosition))
-                    .collect(Collectors.toList());
+            Queue nextQueue = queueService.moveToNextPatient(doctorId, idempotencyKey);
 
-            if (!waitingQueues.isEmpty()) {
-                Queue nextQueue = waitingQueues.get(0);
-                nextQueue.setStatus(QueueStatus.IN_PROGRESS);
-                Queue updatedQueue = queueService.saveQueue(nextQueue);
-                QueueDto responseDto = convertToDto(updatedQueue);
+            if (nextQueue != null) {
+                QueueDto responseDto = convertToDto(nextQueue);
                 return new ResponseEntity<>(responseDto, HttpStatus.OK);
             } else {
                 return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
@@ -233,56 +261,63 @@ public class QueueController {
 
     // Helper method to get next queue position for a doctor
     private int getNextQueuePosition(String doctorId) {
-        List<Queue> doctorQueues = queueService.getAllQueues().stream()
-                .filter(queue -> queue.getDoctorId().equals(doctorId))
-                .filter(queue -> queue.getStatus() == QueueStatus.WAITING || queue.getStatus() == QueueStatus.IN_PROGRESS)
-                .collect(Collectors.toList());
-
-        return doctorQueues.size() + 1;
-    }
-
-    // Helper method to calculate estimated wait time (in minutes)
-    private int calculateEstimatedWaitTime(String doctorId, int position) {
-        // Average consultation time of 15 minutes per patient
-        int avgConsultationTime = 15;
-        return (position - 1) * avgConsultationTime;
+        return queueService.nextQueuePosition(doctorId);
     }
 
     // Helper method to convert Entity to DTO
     private QueueDto convertToDto(Queue queue) {
-        QueueDto dto = new QueueDto();
-        dto.setQueueId(queue.getQueueId());
-        dto.setDoctorId(queue.getDoctorId());
-        dto.setPatientId(queue.getPatientId());
-        dto.setPosition(queue.getPosition());
-        dto.setStatus(queue.getStatus());
-        dto.setCreatedAt(queue.getCreatedAt());
-
-        // Calculate estimated wait time
-        if (queue.getStatus() == QueueStatus.WAITING) {
-            dto.setEstimatedWaitTime(calculateEstimatedWaitTime(queue.getDoctorId(), queue.getPosition()));
-        }
+        return convertToDtos(List.of(queue)).get(0);
+    }
+
+    // Helper method to convert a list of entities, resolving names with one lookup per type
+    private List<QueueDto> convertToDtos(List<Queue> queues) {
+        Map<String, String> doctorNames = Map.of();
+        Map<String, String> patientNames = Map.of();
 
         // Set doctor and patient names for better display
         try {
-            if (queue.getDoctorId() != null) {
-                Doctor doctor = doctorService.getDoctorById(queue.getDoctorId());
-                if (doctor != null) {
-                    dto.setDoctorName(doctor.getName());
-                }
-            }
-            if (queue.getPatientId() != null) {
-                Patient patient = patientService.getPatientById(queue.getPatientId());
-                if (patient != null) {
-                    dto.setPatientName(patient.getName());
-                }
-            }
+            Set<String> doctorIds = queues.stream()
+                    .map(Queue::getDoctorId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Set<String> patientIds = queues.stream()
+                    .map(Queue::getPatientId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            // For larger lists doctor names are fetched alongside the patient names instead of after them
+            CompletableFuture<Map<String, String>> doctorLookup = queues.size() >= ExecutionConfig.PARALLEL_LOOKUP_MIN_ROWS
+                    ? CompletableFuture.supplyAsync(() -> doctorService.getDoctorNames(doctorIds), lookupExecutor)
+                    : CompletableFuture.completedFuture(doctorService.getDoctorNames(doctorIds));
+            patientNames = patientService.getPatientNames(patientIds);
+            doctorNames = doctorLookup.join();
         } catch (Exception e) {
             // Log error but don't fail the conversion
             System.err.println("Error setting names in queue DTO: " + e.getMessage());
         }
 
-        return dto;
+        // Patients still ahead times the doctor's learned consultation length, ranked once per doctor
+        Map<String, Integer> waitTimes = queueService.estimateWaitTimes(queues);
+
+        List<QueueDto> dtos = new ArrayList<>(queues.size());
+        for (Queue queue : queues) {
+            QueueDto dto = new QueueDto();
+            dto.setQueueId(queue.getQueueId());
+            dto.setDoctorId(queue.getDoctorId());
+            dto.setPatientId(queue.getPatientId());
+            dto.setPosition(queue.getPosition());
+            dto.setStatus(queue.getStatus());
+            dto.setCreatedAt(queue.getCreatedAt());
+
+            // Calculate estimated wait time
+            if (queue.getStatus() == QueueStatus.WAITING) {
+                dto.setEstimatedWaitTime(waitTimes.get(queue.getQueueId()));
+            }
+
+            dto.setDoctorName(doctorNames.get(queue.getDoctorId()));
+            dto.setPatientName(patientNames.get(queue.getPatientId()));
+            dtos.add(dto);
+        }
+        return dtos;
     }
 
     // Helper method to convert DTO to Entity
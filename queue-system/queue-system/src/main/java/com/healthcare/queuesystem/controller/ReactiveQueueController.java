@@ -0,0 +1,268 @@
+package com.healthcare.queuesystem.controller;
+
+import com.healthcare.queuesystem.dto.QueueDto;
+import com.healthcare.queuesystem.engine.ConsultationTimeEstimator;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.enums.QueueStatus;
+import com.healthcare.queuesystem.service.QueueService;
+import com.healthcare.queuesystem.service.ReactiveQueueService;
+import com.healthcare.queuesystem.util.KeysetPaging;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+/**
+ * WebFlux variant of QueueController, active with the "reactive" profile (which also switches the
+ * web stack to WebFlux). Same paths and payloads. Queue reads and status changes are non-blocking
+ * end to end; next-patient and the remaining endpoints call the blocking QueueService on the
+ * bounded elastic scheduler so they never hold an event-loop thread.
+ * The live /doctor/{doctorId}/stream endpoint is only available on the MVC stack.
+ */
+@RestController
+@RequestMapping("/api/queue")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveQueueController {
+
+    @Autowired
+    private ReactiveQueueService reactiveQueueService;
+
+    @Autowired
+    private QueueService queueService;
+
+    @Autowired
+    private ConsultationTimeEstimator consultationTimeEstimator;
+
+    // Add patient to queue
+    @PostMapping
+    public Mono<ResponseEntity<QueueDto>> addToQueue(@RequestBody QueueDto queueDto) {
+        return blocking(() -> {
+                    Queue queue = convertToEntity(queueDto);
+                    queue.setPosition(queueService.nextQueuePosition(queueDto.getDoctorId()));
+                    queue.setStatus(QueueStatus.WAITING);
+                    queue.setCreatedAt(LocalDateTime.now());
+                    return queueService.saveQueue(queue);
+                })
+                .flatMap(this::convertToDto)
+                .map(dto -> new ResponseEntity<>(dto, HttpStatus.CREATED))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    // Get all queue entries (paged with ?page=&size=, or keyset with ?after=<last id>&size=)
+    @GetMapping
+    public Mono<ResponseEntity<List<QueueDto>>> getAllQueueEntries(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String after) {
+        if (page != null || size != null || after != null) {
+            int pageSize = KeysetPaging.pageSize(size);
+            return blocking(() -> page != null && after == null
+                            ? queueService.getQueuesPage(page, pageSize)
+                            : queueService.getQueuesAfter(after, pageSize))
+                    .flatMap(queues -> convertToDtos(queues).map(queueDtos -> {
+                        HttpHeaders headers = KeysetPaging.headers(queues.stream()
+                                .map(Queue::getQueueId)
+                                .collect(Collectors.toList()), pageSize);
+                        return new ResponseEntity<>(queueDtos, headers, HttpStatus.OK);
+                    }))
+                    .onErrorResume(e -> Mono.just(new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR)));
+        }
+
+        // No paging parameters: whole collection
+        return blocking(queueService::getAllQueues)
+                .flatMap(this::convertToDtos)
+                .map(queueDtos -> {
+                    queueDtos.sort(Comparator.comparing(QueueDto::getPosition));
+                    return new ResponseEntity<>(queueDtos, HttpStatus.OK);
+                })
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    // Get queue entry by ID
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<QueueDto>> getQueueById(@PathVariable String id) {
+        return respond(reactiveQueueService.getQueueById(id)
+                .switchIfEmpty(blocking(() -> queueService.getQueueOrArchived(id))));
+    }
+
+    // Get queue by doctor ID
+    @GetMapping("/doctor/{doctorId}")
+    public Mono<ResponseEntity<List<QueueDto>>> getQueueByDoctor(@PathVariable String doctorId) {
+        return respondList(reactiveQueueService.getQueuesByDoctor(doctorId));
+    }
+
+    // Get active queue by doctor ID (waiting and in-progress)
+    @GetMapping("/doctor/{doctorId}/active")
+    public Mono<ResponseEntity<List<QueueDto>>> getActiveQueueByDoctor(@PathVariable String doctorId) {
+        return respondList(reactiveQueueService.getActiveQueuesByDoctor(doctorId));
+    }
+
+    // Get queue by patient ID
+    @GetMapping("/patient/{patientId}")
+    public Mono<ResponseEntity<List<QueueDto>>> getQueueByPatient(@PathVariable String patientId) {
+        return respondList(blocking(() -> queueService.getQueuesByPatient(patientId))
+                .flatMapMany(Flux::fromIterable));
+    }
+
+    // Update queue status
+    @PatchMapping("/{id}/status")
+    public Mono<ResponseEntity<QueueDto>> updateQueueStatus(@PathVariable String id, @RequestParam QueueStatus status) {
+        return respond(reactiveQueueService.updateQueueStatus(id, status, null));
+    }
+
+    // Move to next patient in queue: completes the current patient and starts the next one.
+    // Clients may send an Idempotency-Key header so a retried click does not advance twice
+    @PostMapping("/doctor/{doctorId}/next")
+    public Mono<ResponseEntity<QueueDto>> moveToNextPatient(@PathVariable String doctorId,
+                                                            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        // Serialized per doctor inside QueueService, so it runs off the event loop
+        return respond(blocking(() -> queueService.moveToNextPatient(doctorId, idempotencyKey)));
+    }
+
+    // Complete current patient consultation
+    @PostMapping("/complete/{id}")
+    public Mono<ResponseEntity<QueueDto>> completeConsultation(@PathVariable String id) {
+        return respond(reactiveQueueService.updateQueueStatus(id, QueueStatus.COMPLETED, QueueStatus.IN_PROGRESS));
+    }
+
+    // Skip patient in queue
+    @PostMapping("/skip/{id}")
+    public Mono<ResponseEntity<QueueDto>> skipPatient(@PathVariable String id) {
+        return respond(reactiveQueueService.updateQueueStatus(id, QueueStatus.SKIPPED, null));
+    }
+
+    // Remove from queue
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> removeFromQueue(@PathVariable String id) {
+        return blocking(() -> {
+                    if (queueService.getQueueById(id) == null) {
+                        return new ResponseEntity<>("Queue entry not found", HttpStatus.NOT_FOUND);
+                    }
+                    queueService.deleteQueue(id);
+                    return new ResponseEntity<>("Queue entry removed successfully", HttpStatus.OK);
+                })
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>("Error removing queue entry", HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    // Helper method to run a blocking service call off the event loop
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // Helper method for single-entry responses: 404 when empty, 500 on error
+    private Mono<ResponseEntity<QueueDto>> respond(Mono<Queue> queue) {
+        return queue
+                .flatMap(this::convertToDto)
+                .map(dto -> new ResponseEntity<>(dto, HttpStatus.OK))
+                .defaultIfEmpty(new ResponseEntity<>(null, HttpStatus.NOT_FOUND))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    private Mono<ResponseEntity<List<QueueDto>>> respondList(Flux<Queue> queues) {
+        return queues.collectList()
+                .flatMap(this::convertToDtos)
+                .map(dtos -> new ResponseEntity<>(dtos, HttpStatus.OK))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    // Helper method to calculate estimated wait time (in minutes) from the active positions ahead
+    private int calculateEstimatedWaitTime(String doctorId, List<Integer> activePositions, int position) {
+        int ahead = Collections.binarySearch(activePositions, position);
+        if (ahead < 0) {
+            ahead = -ahead - 1;
+        }
+        // Patients still ahead times the doctor's learned consultation length
+        return consultationTimeEstimator.estimateWaitMinutes(doctorId, ahead);
+    }
+
+    // Helper method to convert Entity to DTO
+    private Mono<QueueDto> convertToDto(Queue queue) {
+        return convertToDtos(List.of(queue)).map(dtos -> dtos.get(0));
+    }
+
+    // Helper method to convert a list of entities; names and active positions are fetched concurrently
+    private Mono<List<QueueDto>> convertToDtos(List<Queue> queues) {
+        Set<String> doctorIds = queues.stream()
+                .map(Queue::getDoctorId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> patientIds = queues.stream()
+                .map(Queue::getPatientId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> waitingDoctorIds = queues.stream()
+                .filter(queue -> queue.getStatus() == QueueStatus.WAITING && queue.getPosition() != null)
+                .map(Queue::getDoctorId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Mono<Map<String, String>> doctorNames = reactiveQueueService.getDoctorNames(doctorIds)
+                .onErrorResume(e -> {
+                    // Log error but don't fail the conversion
+                    System.err.println("Error setting names in queue DTO: " + e.getMessage());
+                    return Mono.just(Map.of());
+                });
+        Mono<Map<String, String>> patientNames = reactiveQueueService.getPatientNames(patientIds)
+                .onErrorResume(e -> {
+                    System.err.println("Error setting names in queue DTO: " + e.getMessage());
+                    return Mono.just(Map.of());
+                });
+        Mono<Map<String, List<Integer>>> activePositions = Flux.fromIterable(waitingDoctorIds)
+                .flatMap(doctorId -> reactiveQueueService.getActivePositions(doctorId)
+                        .map(positions -> Map.entry(doctorId, positions)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+
+        return Mono.zip(doctorNames, patientNames, activePositions).map(lookups -> {
+            List<QueueDto> dtos = new ArrayList<>(queues.size());
+            for (Queue queue : queues) {
+                QueueDto dto = new QueueDto();
+                dto.setQueueId(queue.getQueueId());
+                dto.setDoctorId(queue.getDoctorId());
+                dto.setPatientId(queue.getPatientId());
+                dto.setPosition(queue.getPosition());
+                dto.setStatus(queue.getStatus());
+                dto.setCreatedAt(queue.getCreatedAt());
+
+                // Calculate estimated wait time
+                if (queue.getStatus() == QueueStatus.WAITING && queue.getPosition() != null) {
+                    List<Integer> positions = lookups.getT3().getOrDefault(queue.getDoctorId(), List.of());
+                    dto.setEstimatedWaitTime(calculateEstimatedWaitTime(queue.getDoctorId(), positions, queue.getPosition()));
+                }
+
+                dto.setDoctorName(lookups.getT1().get(queue.getDoctorId()));
+                dto.setPatientName(lookups.getT2().get(queue.getPatientId()));
+                dtos.add(dto);
+            }
+            return dtos;
+        });
+    }
+
+    // Helper method to convert DTO to Entity
+    private Queue convertToEntity(QueueDto dto) {
+        Queue queue = new Queue();
+        queue.setQueueId(dto.getQueueId());
+        queue.setDoctorId(dto.getDoctorId());
+        queue.setPatientId(dto.getPatientId());
+        queue.setPosition(dto.getPosition());
+        queue.setStatus(dto.getStatus());
+        queue.setCreatedAt(dto.getCreatedAt());
+        return queue;
+    }
+}
@@ -0,0 +1,45 @@
+package com.healthcare.queuesystem.controller;
+
+import com.healthcare.queuesystem.dto.SearchResultDto;
+import com.healthcare.queuesystem.engine.SearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    // Type-ahead lookup by partial name ("ra sh") or phone digits (prefix, full number or last four),
+    // best matches first; type=patient|doctor|all
+    @GetMapping
+    public ResponseEntity<List<SearchResultDto>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "all") String type,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            String kind;
+            if ("all".equalsIgnoreCase(type)) {
+                kind = null;
+            } else if (SearchIndex.PATIENT.equalsIgnoreCase(type) || SearchIndex.DOCTOR.equalsIgnoreCase(type)) {
+                kind = type.toLowerCase();
+            } else {
+                return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+            }
+            List<SearchResultDto> results = searchIndex.search(q, kind, Math.max(1, Math.min(limit, MAX_LIMIT)));
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.healthcare.queuesystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportResultDto {
+
+    private String type;            // patients, doctors, appointments, queue
+    private boolean ordered;
+    private boolean completed;      // false when an ordered import stopped at its first failing record
+    private long read;
+    private long inserted;
+    private long duplicates;        // ids that already exist (duplicate key)
+    private long rejected;          // unparseable records and other write errors
+    private long elapsedMs;
+    private List<String> errors = new ArrayList<>();    // first few failures only
+
+    // Default constructor
+    public ImportResultDto() {}
+
+    public ImportResultDto(String type, boolean ordered) {
+        this.type = type;
+        this.ordered = ordered;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    public void setOrdered(boolean ordered) {
+        this.ordered = ordered;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public long getRead() {
+        return read;
+    }
+
+    public void setRead(long read) {
+        this.read = read;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(long inserted) {
+        this.inserted = inserted;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(long duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,120 @@
+package com.healthcare.queuesystem.dto;
+
+import com.healthcare.queuesystem.model.enums.QueueStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class QueueEventDto {
+
+    public static final String ENTRY_ADDED = "ENTRY_ADDED";
+    public static final String STATUS_CHANGED = "STATUS_CHANGED";
+    public static final String ENTRY_UPDATED = "ENTRY_UPDATED";
+    public static final String ENTRY_REMOVED = "ENTRY_REMOVED";
+    public static final String SNAPSHOT = "SNAPSHOT";   // full active queue, sent when a client (re)connects without history
+    public static final String RESYNC = "RESYNC";       // requested events are no longer buffered; fetch the queue again
+
+    private String epoch;               // this instance and boot; the SSE id is epoch-sequence
+    private long sequence;
+    private String type;
+    private String doctorId;
+    private String queueId;
+    private String patientId;
+    private Integer position;
+    private QueueStatus status;
+    private QueueStatus previousStatus;
+    private LocalDateTime timestamp;
+    private List<QueueDto> entries;     // Only for SNAPSHOT
+
+    // Default constructor
+    public QueueEventDto() {}
+
+    // Getters and Setters
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(String epoch) {
+        this.epoch = epoch;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(String doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public String getQueueId() {
+        return queueId;
+    }
+
+    public void setQueueId(String queueId) {
+        this.queueId = queueId;
+    }
+
+    public String getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(String patientId) {
+        this.patientId = patientId;
+    }
+
+    public Integer getPosition() {
+        return position;
+    }
+
+    public void setPosition(Integer position) {
+        this.position = position;
+    }
+
+    public QueueStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(QueueStatus status) {
+        this.status = status;
+    }
+
+    public QueueStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public void setPreviousStatus(QueueStatus previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public List<QueueDto> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<QueueDto> entries) {
+        this.entries = entries;
+    }
+}
@@ -0,0 +1,62 @@
+package com.healthcare.queuesystem.dto;
+
+public class SearchResultDto {
+
+    private String type;            // "patient" or "doctor"
+    private String id;
+    private String name;
+    private String phone;
+    private String specialization;  // Only for doctors
+
+    // Default constructor
+    public SearchResultDto() {}
+
+    public SearchResultDto(String type, String id, String name, String phone, String specialization) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.phone = phone;
+        this.specialization = specialization;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    public void setSpecialization(String specialization) {
+        this.specialization = specialization;
+    }
+}
@@ -0,0 +1,229 @@
+package com.healthcare.queuesystem.engine;
+
+import com.healthcare.queuesystem.model.Appointment;
+import com.healthcare.queuesystem.repository.AppointmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory index of appointments by calendar day, and by doctor within each day.
+ * A day is loaded from MongoDB on first access and kept in sync by
+ * {@link #onAppointmentChanged(Appointment, Appointment)} after each repository write.
+ * At most app.appointments.calendar.max-days days are held; those furthest from today go first.
+ */
+@Component
+public class AppointmentCalendar {
+
+    static final Comparator<Appointment> DAY_ORDER = Comparator
+            .comparing(Appointment::getAppointmentDate)
+            .thenComparing(Appointment::getAppointmentId);
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Value("${app.appointments.calendar.max-days:120}")
+    private int maxDays;
+
+    private final ConcurrentMap<LocalDate, Day> days = new ConcurrentHashMap<>();
+
+    // All appointments on a day, in time order
+    public List<Appointment> getDay(LocalDate date) {
+        return day(date).all();
+    }
+
+    // One doctor's appointments on a day, in time order
+    public List<Appointment> getDoctorDay(String doctorId, LocalDate date) {
+        return day(date).forDoctor(doctorId);
+    }
+
+    // Appointments strictly between start and end, optionally for one doctor;
+    // null when the range covers more days than the calendar holds, so the caller queries MongoDB instead
+    public List<Appointment> getRange(LocalDateTime start, LocalDateTime end, String doctorId) {
+        long dayCount = ChronoUnit.DAYS.between(start.toLocalDate(), end.toLocalDate()) + 1;
+        if (dayCount < 1 || dayCount > maxDays) {
+            return dayCount < 1 ? new ArrayList<>() : null;
+        }
+        Map<LocalDate, Day> range = daysBetween(start.toLocalDate(), end.toLocalDate());
+        List<Appointment> result = new ArrayList<>();
+        for (LocalDate date = start.toLocalDate(); !date.isAfter(end.toLocalDate()); date = date.plusDays(1)) {
+            Day day = range.get(date);
+            List<Appointment> appointments = doctorId != null ? day.forDoctor(doctorId) : day.all();
+            for (Appointment appointment : appointments) {
+                if (appointment.getAppointmentDate().isAfter(start) && appointment.getAppointmentDate().isBefore(end)) {
+                    result.add(appointment);
+                }
+            }
+        }
+        return result;
+    }
+
+    // previous is null for a new appointment, current is null for a deleted one;
+    // call after the repository write succeeded. Days not in memory are left to load fresh.
+    public void onAppointmentChanged(Appointment previous, Appointment current) {
+        if (previous != null && previous.getAppointmentDate() != null) {
+            Day day = days.get(previous.getAppointmentDate().toLocalDate());
+            if (day != null) {
+                day.remove(previous.getAppointmentId());
+            }
+        }
+        if (current != null && current.getAppointmentDate() != null && current.getAppointmentId() != null) {
+            Day day = days.get(current.getAppointmentDate().toLocalDate());
+            if (day != null) {
+                day.put(copyOf(current));
+            }
+        }
+    }
+
+    // Drop every cached day so the next access reloads it (after bulk writes that bypass the service)
+    public void evictAll() {
+        days.clear();
+    }
+
+    private Day day(LocalDate date) {
+        Day day = days.computeIfAbsent(date, this::load);
+        if (days.size() > maxDays) {
+            trim();
+        }
+        return day;
+    }
+
+    private Day load(LocalDate date) {
+        Day day = new Day();
+        for (Appointment appointment : appointmentRepository.findAppointmentsWithinDateRange(
+                date.atStartOfDay(), date.atTime(LocalTime.MAX))) {
+            day.put(copyOf(appointment));
+        }
+        return day;
+    }
+
+    // Every day in [from, to]; the ones not in memory yet are loaded with a single query over the missing span
+    private Map<LocalDate, Day> daysBetween(LocalDate from, LocalDate to) {
+        Map<LocalDate, Day> range = new HashMap<>();
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            Day day = days.get(date);
+            if (day != null) {
+                range.put(date, day);
+            } else {
+                firstMissing = firstMissing == null ? date : firstMissing;
+                lastMissing = date;
+            }
+        }
+        if (firstMissing == null) {
+            return range;
+        }
+
+        Map<LocalDate, Day> loaded = new HashMap<>();
+        for (LocalDate date = firstMissing; !date.isAfter(lastMissing); date = date.plusDays(1)) {
+            if (!range.containsKey(date)) {
+                loaded.put(date, new Day());
+            }
+        }
+        for (Appointment appointment : appointmentRepository.findAppointmentsWithinDateRange(
+                firstMissing.atStartOfDay(), lastMissing.atTime(LocalTime.MAX))) {
+            Day day = loaded.get(appointment.getAppointmentDate().toLocalDate());
+            if (day != null) {
+                day.put(copyOf(appointment));
+            }
+        }
+        // Another request may have loaded the same day meanwhile; keep whichever got in first
+        loaded.forEach((date, day) -> {
+            Day existing = days.putIfAbsent(date, day);
+            range.put(date, existing != null ? existing : day);
+        });
+        if (days.size() > maxDays) {
+            trim();
+        }
+        return range;
+    }
+
+    // Keep the days closest to today
+    private void trim() {
+        LocalDate today = LocalDate.now();
+        List<LocalDate> loaded = new ArrayList<>(days.keySet());
+        loaded.sort(Comparator.comparingLong((LocalDate date) -> Math.abs(ChronoUnit.DAYS.between(today, date))).reversed());
+        for (int i = 0; i < loaded.size() - maxDays; i++) {
+            days.remove(loaded.get(i));
+        }
+    }
+
+    // Appointments are copied in and out so callers can mutate what they get back
+    static Appointment copyOf(Appointment source) {
+        Appointment copy = new Appointment();
+        copy.setAppointmentId(source.getAppointmentId());
+        copy.setDoctorId(source.getDoctorId());
+        copy.setPatientId(source.getPatientId());
+        copy.setAppointmentDate(source.getAppointmentDate());
+        copy.setPurpose(source.getPurpose());
+        copy.setStatus(source.getStatus());
+        return copy;
+    }
+
+    // One calendar day; every method holds the instance lock, so different days never contend
+    private static class Day {
+
+        private final Map<String, Appointment> entries = new HashMap<>();
+        private final NavigableSet<Appointment> ordered = new TreeSet<>(DAY_ORDER);
+        private final Map<String, NavigableSet<Appointment>> byDoctor = new HashMap<>();
+
+        synchronized void put(Appointment appointment) {
+            remove(appointment.getAppointmentId());
+            entries.put(appointment.getAppointmentId(), appointment);
+            ordered.add(appointment);
+            if (appointment.getDoctorId() != null) {
+                byDoctor.computeIfAbsent(appointment.getDoctorId(), doctorId -> new TreeSet<>(DAY_ORDER)).add(appointment);
+            }
+        }
+
+        synchronized void remove(String appointmentId) {
+            Appointment existing = entries.remove(appointmentId);
+            if (existing == null) {
+                return;
+            }
+            ordered.remove(existing);
+            if (existing.getDoctorId() != null) {
+                NavigableSet<Appointment> doctorSet = byDoctor.get(existing.getDoctorId());
+                if (doctorSet != null) {
+                    doctorSet.remove(existing);
+                    if (doctorSet.isEmpty()) {
+                        byDoctor.remove(existing.getDoctorId());
+                    }
+                }
+            }
+        }
+
+        synchronized List<Appointment> all() {
+            return copies(ordered);
+        }
+
+        synchronized List<Appointment> forDoctor(String doctorId) {
+            NavigableSet<Appointment> doctorSet = byDoctor.get(doctorId);
+            return doctorSet != null ? copies(doctorSet) : new ArrayList<>();
+        }
+
+        private static List<Appointment> copies(Collection<Appointment> appointments) {
+            List<Appointment> result = new ArrayList<>(appointments.size());
+            for (Appointment appointment : appointments) {
+                result.add(copyOf(appointment));
+            }
+            return result;
+        }
+    }
+}
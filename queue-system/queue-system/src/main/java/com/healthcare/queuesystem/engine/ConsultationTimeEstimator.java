@@ -0,0 +1,257 @@
+package com.healthcare.queuesystem.engine;
+
+import com.healthcare.queuesystem.config.CacheConfig;
+import com.healthcare.queuesystem.model.ConsultationStats;
+import com.healthcare.queuesystem.model.Doctor;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.enums.QueueStatus;
+import com.healthcare.queuesystem.service.DoctorService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Learns how long consultations take from IN_PROGRESS → COMPLETED transitions and turns
+ * "patients ahead" into an estimated wait. Keeps an exponentially weighted moving average per
+ * doctor, per specialization and overall; an estimate uses the most specific one with enough
+ * samples, falling back to queue.wait-estimate.default-minutes. Estimates read memory only.
+ * Averages are written to {@code consultation_stats} every persist-seconds and reloaded on startup.
+ */
+@Component
+public class ConsultationTimeEstimator {
+
+    private static final String ALL = "all";
+    private static final String DOCTOR_PREFIX = "doctor:";
+    private static final String SPECIALIZATION_PREFIX = "specialization:";
+
+    // Shorter ones are a patient started and completed by mistake, not a consultation
+    private static final double MIN_SAMPLE_MINUTES = 0.5;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${queue.wait-estimate.default-minutes:15}")
+    private double defaultMinutes;
+
+    @Value("${queue.wait-estimate.alpha:0.2}")
+    private double alpha;
+
+    @Value("${queue.wait-estimate.min-samples:5}")
+    private int minSamples;
+
+    @Value("${queue.wait-estimate.max-sample-minutes:180}")
+    private double maxSampleMinutes;
+
+    @Value("${queue.wait-estimate.persist-seconds:60}")
+    private long persistSeconds;
+
+    private final ConcurrentMap<String, Average> averages = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService persister = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "consultation-stats");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void start() {
+        if (persistSeconds > 0) {
+            persister.scheduleWithFixedDelay(this::persist, persistSeconds, persistSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    // Reload saved averages in the background, so an unreachable database never delays startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        CompletableFuture.runAsync(this::load);
+    }
+
+    // Stamp startedAt / completedAt on next when its status changes; call before the write
+    public static void stamp(Queue previous, Queue next) {
+        QueueStatus before = previous != null ? previous.getStatus() : null;
+        if (next.getStatus() == QueueStatus.IN_PROGRESS && before != QueueStatus.IN_PROGRESS) {
+            next.setStartedAt(LocalDateTime.now());
+            next.setCompletedAt(null);
+        } else if (next.getStatus() == QueueStatus.COMPLETED && before != QueueStatus.COMPLETED) {
+            next.setCompletedAt(LocalDateTime.now());
+        }
+    }
+
+    // Learn from a finished consultation; call after the repository write succeeded
+    public void onQueueChanged(Queue previous, Queue current) {
+        if (previous == null || current == null
+                || previous.getStatus() != QueueStatus.IN_PROGRESS
+                || current.getStatus() != QueueStatus.COMPLETED
+                || current.getStartedAt() == null || current.getCompletedAt() == null) {
+            return;
+        }
+        double minutes = Duration.between(current.getStartedAt(), current.getCompletedAt()).toMillis() / 60000.0;
+        // Mistaken or forgotten-open consultations say nothing about real throughput
+        if (minutes < MIN_SAMPLE_MINUTES || minutes > maxSampleMinutes) {
+            return;
+        }
+        record(current.getDoctorId(), minutes);
+    }
+
+    public void record(String doctorId, double minutes) {
+        average(ALL).add(minutes, alpha);
+        if (doctorId == null) {
+            return;
+        }
+        average(DOCTOR_PREFIX + doctorId).add(minutes, alpha);
+        try {
+            Doctor doctor = doctorService.getDoctorById(doctorId);
+            if (doctor != null && doctor.getSpecialization() != null) {
+                average(SPECIALIZATION_PREFIX + doctor.getSpecialization()).add(minutes, alpha);
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not resolve specialization for " + doctorId + ": " + e.getMessage());
+        }
+    }
+
+    // Expected minutes per patient for a doctor: doctor → specialization → overall → default
+    public double minutesPerPatient(String doctorId) {
+        Average doctor = averages.get(DOCTOR_PREFIX + doctorId);
+        if (doctor != null && doctor.samples >= minSamples) {
+            return doctor.value;
+        }
+        String specialization = cachedSpecialization(doctorId);
+        Average bySpecialization = specialization != null ? averages.get(SPECIALIZATION_PREFIX + specialization) : null;
+        if (bySpecialization != null && bySpecialization.samples >= minSamples) {
+            return bySpecialization.value;
+        }
+        Average all = averages.get(ALL);
+        if (all != null && all.samples >= minSamples) {
+            return all.value;
+        }
+        return defaultMinutes;
+    }
+
+    public int estimateWaitMinutes(String doctorId, int patientsAhead) {
+        return (int) Math.round(patientsAhead * minutesPerPatient(doctorId));
+    }
+
+    // Write averages that changed since the last save
+    public void persist() {
+        for (Map.Entry<String, Average> entry : averages.entrySet()) {
+            ConsultationStats stats = entry.getValue().takeIfDirty(entry.getKey());
+            if (stats == null) {
+                continue;
+            }
+            try {
+                mongoTemplate.save(stats);
+            } catch (Exception e) {
+                entry.getValue().dirty = true;
+                System.err.println("⚠️ Could not save consultation statistics: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        persister.shutdownNow();
+        persist();
+    }
+
+    void load() {
+        try {
+            for (ConsultationStats stats : mongoTemplate.findAll(ConsultationStats.class)) {
+                Average live = averages.putIfAbsent(stats.getStatsId(),
+                        new Average(stats.getAverageMinutes(), stats.getSamples()));
+                // Samples recorded since startup are newer than the saved history; fold that history in ahead of them
+                if (live != null) {
+                    live.mergeSaved(stats.getAverageMinutes(), stats.getSamples(), alpha);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not load consultation statistics: " + e.getMessage());
+        }
+    }
+
+    private Average average(String key) {
+        return averages.computeIfAbsent(key, k -> new Average(0, 0));
+    }
+
+    // Peek at the doctor cache only; an estimate never waits on MongoDB
+    private String cachedSpecialization(String doctorId) {
+        Cache cache = cacheManager != null ? cacheManager.getCache(CacheConfig.DOCTORS) : null;
+        Doctor doctor = cache != null && doctorId != null ? cache.get(doctorId, Doctor.class) : null;
+        return doctor != null ? doctor.getSpecialization() : null;
+    }
+
+    private static final class Average {
+
+        private volatile double value;
+        private volatile long samples;
+        private volatile boolean dirty;
+        private double first;   // first sample recorded in this run, needed by mergeSaved
+
+        Average(double value, long samples) {
+            this.value = value;
+            this.samples = samples;
+        }
+
+        synchronized void add(double minutes, double alpha) {
+            if (samples == 0) {
+                value = minutes;
+                first = minutes;
+            } else {
+                value = value + alpha * (minutes - value);
+            }
+            samples++;
+            dirty = true;
+        }
+
+        // The average as if the saved one had been the starting value for this run's samples.
+        // This run started from its first sample instead, and that start still carries weight (1 - alpha)^samples
+        synchronized void mergeSaved(double savedValue, long savedSamples, double alpha) {
+            if (savedSamples <= 0) {
+                return;
+            }
+            if (samples == 0) {
+                value = savedValue;
+            } else {
+                value += Math.pow(1 - alpha, samples) * (savedValue - first);
+            }
+            samples += savedSamples;
+            dirty = true;
+        }
+
+        synchronized ConsultationStats takeIfDirty(String key) {
+            if (!dirty) {
+                return null;
+            }
+            dirty = false;
+            ConsultationStats stats = new ConsultationStats();
+            stats.setStatsId(key);
+            stats.setAverageMinutes(value);
+            stats.setSamples(samples);
+            stats.setUpdatedAt(LocalDateTime.now());
+            return stats;
+        }
+    }
+}
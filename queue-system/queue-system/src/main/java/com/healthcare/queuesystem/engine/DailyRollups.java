@@ -0,0 +1,416 @@
+package com.healthcare.queuesystem.engine;
+
+import com.healthcare.queuesystem.model.Appointment;
+import com.healthcare.queuesystem.model.DailyStats;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.service.ArchiveService;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.project;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Per-day, per-doctor, per-status counts of appointments (by appointmentDate) and queue entries
+ * (by createdAt) in {@code daily_stats}, so report breakdowns sum a few small documents per day
+ * instead of reading every row. A change from the service layer only marks the days and doctors
+ * it touched; every app.rollups.flush-seconds those documents are recounted from the hot and
+ * archive collections (one indexed range per day and doctor) and overwritten. A rebuild recounts
+ * every document; it runs when daily_stats is empty at startup, every app.rollups.rebuild-hours,
+ * after bulk writes that bypass the services, and on demand.
+ * Nothing is ever added on top of a stored count, so a change the rebuild's scan already saw, or
+ * one still waiting on another instance, cannot be counted twice. Each document records when its
+ * count started (updatedAt) and a write only replaces an older one: whichever count began after a
+ * document's last change wins, whatever order the instances write in.
+ */
+@Component
+public class DailyRollups {
+
+    public static final String APPOINTMENTS = "appointments";
+    public static final String QUEUE = "queue";
+
+    private static final int WRITE_BATCH = 1000;
+
+    // Days recounted by one aggregation
+    private static final int RECOUNT_BATCH = 100;
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.rollups.flush-seconds:5}")
+    private long flushSeconds;
+
+    @Value("${app.rollups.rebuild-hours:24}")
+    private long rebuildHours;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "daily-rollups");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Recorders share the read lock; flushes take the write lock only to swap the map
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile ConcurrentMap<String, Touched> touched = new ConcurrentHashMap<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.execute(this::backfillIfEmpty);
+        if (flushSeconds > 0) {
+            scheduler.scheduleWithFixedDelay(this::flushQuietly, flushSeconds, flushSeconds, TimeUnit.SECONDS);
+        }
+        if (rebuildHours > 0) {
+            scheduler.scheduleWithFixedDelay(this::rebuildQuietly, rebuildHours, rebuildHours, TimeUnit.HOURS);
+        }
+    }
+
+    // previous is null for a new appointment, current is null for a deleted one; call after the write
+    public void onAppointmentChanged(Appointment previous, Appointment current) {
+        if (previous != null && current != null
+                && previous.getStatus() == current.getStatus()
+                && same(previous.getDoctorId(), current.getDoctorId())
+                && same(day(previous.getAppointmentDate()), day(current.getAppointmentDate()))) {
+            return;
+        }
+        if (previous != null) {
+            touch(APPOINTMENTS, day(previous.getAppointmentDate()), previous.getDoctorId());
+        }
+        if (current != null) {
+            touch(APPOINTMENTS, day(current.getAppointmentDate()), current.getDoctorId());
+        }
+    }
+
+    // previous is null for a new queue entry, current is null for a deleted one; call after the write
+    public void onQueueChanged(Queue previous, Queue current) {
+        if (previous != null && current != null
+                && previous.getStatus() == current.getStatus()
+                && same(previous.getDoctorId(), current.getDoctorId())
+                && same(day(previous.getCreatedAt()), day(current.getCreatedAt()))) {
+            return;
+        }
+        if (previous != null) {
+            touch(QUEUE, day(previous.getCreatedAt()), previous.getDoctorId());
+        }
+        if (current != null) {
+            touch(QUEUE, day(current.getCreatedAt()), current.getDoctorId());
+        }
+    }
+
+    // Status name -> count over [from, to] (either may be null for open-ended), optionally for one doctor
+    public Map<String, Long> statusCounts(String kind, LocalDate from, LocalDate to, String doctorId) {
+        flush();
+        Query query = new Query(where("kind").is(kind));
+        if (from != null && to != null) {
+            query.addCriteria(where("day").gte(from).lte(to));
+        } else if (from != null) {
+            query.addCriteria(where("day").gte(from));
+        } else if (to != null) {
+            query.addCriteria(where("day").lte(to));
+        }
+        if (doctorId != null && !doctorId.isEmpty()) {
+            query.addCriteria(where("doctorId").is(doctorId));
+        }
+        query.fields().include("counts");
+
+        Map<String, Long> totals = new TreeMap<>();
+        for (DailyStats stats : mongoTemplate.find(query, DailyStats.class)) {
+            if (stats.getCounts() != null) {
+                stats.getCounts().forEach((status, count) -> totals.merge(status, count, Long::sum));
+            }
+        }
+        totals.values().removeIf(count -> count == 0);
+        return totals;
+    }
+
+    // Recount the days changed since the last flush; on failure they are kept for the next one
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushTouched();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushTouched() {
+        Map<String, Touched> batch = takeTouched();
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            // Taken after the changes were recorded, so the count includes their writes
+            LocalDateTime countedAt = now();
+            recount(APPOINTMENTS, Appointment.class, "appointmentDate", batch, countedAt,
+                    mongoTemplate.getCollectionName(Appointment.class), ArchiveService.APPOINTMENTS_ARCHIVE);
+            recount(QUEUE, Queue.class, "createdAt", batch, countedAt,
+                    mongoTemplate.getCollectionName(Queue.class), ArchiveService.QUEUE_ARCHIVE);
+        } catch (RuntimeException e) {
+            batch.values().forEach(day -> touch(day.kind, day.day, day.doctorId));
+            throw e;
+        }
+    }
+
+    // Days changed so far; later ones go to a fresh map
+    private Map<String, Touched> takeTouched() {
+        swapLock.writeLock().lock();
+        try {
+            if (touched.isEmpty()) {
+                return Map.of();
+            }
+            Map<String, Touched> taken = touched;
+            touched = new ConcurrentHashMap<>();
+            return taken;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    // Run a full rebuild soon on the rollup thread; repeated requests before it starts run it once
+    public void requestRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                rebuildQueued.set(false);
+                rebuildQuietly();
+            });
+        }
+    }
+
+    // Recount every rollup document from the hot and archive collections. A day recounted by a
+    // flush that started after this rebuild keeps the flush's count
+    public Map<String, Object> rebuild() {
+        long started = System.currentTimeMillis();
+        // Documents this rebuild neither rewrote nor found newer (nothing left that day) are removed afterwards
+        LocalDateTime rebuiltAt = now();
+        Map<String, DailyStats> appointments = aggregate(APPOINTMENTS, Appointment.class, "appointmentDate", null,
+                mongoTemplate.getCollectionName(Appointment.class), ArchiveService.APPOINTMENTS_ARCHIVE);
+        Map<String, DailyStats> queues = aggregate(QUEUE, Queue.class, "createdAt", null,
+                mongoTemplate.getCollectionName(Queue.class), ArchiveService.QUEUE_ARCHIVE);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put(APPOINTMENTS, write(appointments.values(), rebuiltAt));
+        result.put(QUEUE, write(queues.values(), rebuiltAt));
+        mongoTemplate.remove(new Query(where("updatedAt").lt(rebuiltAt)), DailyStats.class);
+        result.put("elapsedMs", System.currentTimeMillis() - started);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        flushQuietly();
+    }
+
+    // Count the touched days of one kind again and overwrite their documents, including days now empty
+    private <T> void recount(String kind, Class<T> type, String dateField, Map<String, Touched> batch,
+                             LocalDateTime countedAt, String... collections) {
+        List<Touched> days = new ArrayList<>();
+        for (Touched day : batch.values()) {
+            if (day.kind.equals(kind)) {
+                days.add(day);
+            }
+        }
+        for (int from = 0; from < days.size(); from += RECOUNT_BATCH) {
+            List<Touched> chunk = days.subList(from, Math.min(from + RECOUNT_BATCH, days.size()));
+            List<Criteria> ranges = new ArrayList<>();
+            for (Touched day : chunk) {
+                ranges.add(where("doctorId").is(day.doctorId)
+                        .and(dateField).gte(day.day.atStartOfDay()).lt(day.day.plusDays(1).atStartOfDay()));
+            }
+            Map<String, DailyStats> counted = aggregate(kind, type, dateField, new Criteria().orOperator(ranges), collections);
+            for (Touched day : chunk) {
+                counted.computeIfAbsent(statsId(kind, day.day, day.doctorId), statsId -> rollup(statsId, kind, day.day, day.doctorId));
+            }
+            write(counted.values(), countedAt);
+        }
+    }
+
+    // statsId -> rollup of one kind over the documents matching filter (null for all)
+    private <T> Map<String, DailyStats> aggregate(String kind, Class<T> type, String dateField, Criteria filter, String... collections) {
+        // Calendar day in the server's zone, like LocalDateTime and the dashboard's per-day counters
+        DateOperators.Timezone zone = DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId());
+        List<AggregationOperation> stages = new ArrayList<>();
+        if (filter != null) {
+            stages.add(match(filter));
+        }
+        stages.add(project("doctorId", "status")
+                .and(DateOperators.DateToString.dateOf(dateField).toString("%Y-%m-%d").withTimezone(zone)).as("day"));
+        stages.add(group("day", "doctorId", "status").count().as("count"));
+        TypedAggregation<T> aggregation = Aggregation.newAggregation(type, stages);
+
+        Map<String, DailyStats> rollups = new HashMap<>();
+        for (String collection : collections) {
+            for (Document row : mongoTemplate.aggregate(aggregation, collection, Document.class).getMappedResults()) {
+                Document id = (Document) row.get("_id");
+                if (id == null || id.get("day") == null || id.get("status") == null) {
+                    continue;
+                }
+                LocalDate day = LocalDate.parse(id.getString("day"));
+                String doctorId = id.get("doctorId") != null ? id.get("doctorId").toString() : null;
+                DailyStats stats = rollups.computeIfAbsent(statsId(kind, day, doctorId), statsId -> rollup(statsId, kind, day, doctorId));
+                stats.getCounts().merge(id.get("status").toString(), ((Number) row.get("count")).longValue(), Long::sum);
+            }
+        }
+        return rollups;
+    }
+
+    // Overwrite each document unless a count that started later is already stored
+    private int write(Collection<DailyStats> rollups, LocalDateTime countedAt) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DailyStats.class);
+        int queued = 0;
+        for (DailyStats stats : rollups) {
+            Query olderOrMissing = new Query(where("_id").is(stats.getStatsId())
+                    .orOperator(where("updatedAt").lt(countedAt), where("updatedAt").exists(false)));
+            operations.upsert(olderOrMissing, new Update()
+                    .set("kind", stats.getKind())
+                    .set("day", stats.getDay())
+                    .set("doctorId", stats.getDoctorId())
+                    .set("counts", stats.getCounts())
+                    .set("updatedAt", countedAt));
+            if (++queued % WRITE_BATCH == 0) {
+                execute(operations);
+                operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DailyStats.class);
+            }
+        }
+        if (queued % WRITE_BATCH != 0) {
+            execute(operations);
+        }
+        return rollups.size();
+    }
+
+    // A newer count makes the filter miss and the upsert collide on _id: that document is left as it is
+    private static void execute(BulkOperations operations) {
+        try {
+            operations.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void backfillIfEmpty() {
+        try {
+            if (mongoTemplate.estimatedCount(DailyStats.class) == 0) {
+                Map<String, Object> result = rebuild();
+                System.out.println("📅 Daily report rollups built: " + result);
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not build daily report rollups: " + e.getMessage());
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            System.err.println("❌ Error rebuilding daily report rollups: " + e.getMessage());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not save daily report rollups: " + e.getMessage());
+        }
+    }
+
+    private void touch(String kind, LocalDate day, String doctorId) {
+        if (day == null) {
+            return;
+        }
+        swapLock.readLock().lock();
+        try {
+            touched.putIfAbsent(statsId(kind, day, doctorId), new Touched(kind, day, doctorId));
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static DailyStats rollup(String statsId, String kind, LocalDate day, String doctorId) {
+        DailyStats stats = new DailyStats();
+        stats.setStatsId(statsId);
+        stats.setKind(kind);
+        stats.setDay(day);
+        stats.setDoctorId(doctorId);
+        stats.setCounts(new HashMap<>());
+        return stats;
+    }
+
+    // Stored with millisecond precision, so compare at that precision
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private static String statsId(String kind, LocalDate day, String doctorId) {
+        return kind + "|" + day + "|" + (doctorId != null ? doctorId : "");
+    }
+
+    private static LocalDate day(LocalDateTime time) {
+        return time != null ? time.toLocalDate() : null;
+    }
+
+    private static boolean same(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    // One rollup document whose day changed since the last flush
+    private static final class Touched {
+
+        private final String kind;
+        private final LocalDate day;
+        private final String doctorId;
+
+        Touched(String kind, LocalDate day, String doctorId) {
+            this.kind = kind;
+            this.day = day;
+            this.doctorId = doctorId;
+        }
+    }
+}
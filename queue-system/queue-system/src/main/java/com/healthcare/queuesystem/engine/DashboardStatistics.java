@@ -0,0 +1,373 @@
+package com.healthcare.queuesystem.engine;
+
+import com.healthcare.queuesystem.model.Appointment;
+import com.healthcare.queuesystem.model.Doctor;
+import com.healthcare.queuesystem.model.Patient;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.enums.AppointmentStatus;
+import com.healthcare.queuesystem.model.enums.QueueStatus;
+import com.healthcare.queuesystem.service.ArchiveService;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.facet;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.project;
+
+/**
+ * Live dashboard counters. Rebuilt from MongoDB at startup (and on demand),
+ * then kept current by the service implementations on every save and delete.
+ * Appointment and queue totals include the archive collections; archived documents never
+ * change again, so the archiver only has to rebuild after a run.
+ * The services make each write and its counter update inside recordWrite (or beginWrite /
+ * endWrite on the reactive path). A rebuild waits for the writes in flight, holds new ones back
+ * while it counts, then resets the counters, so a write is either in the counts or applied on
+ * top of them, never both. Writes therefore pause for the length of a rebuild's aggregation.
+ */
+@Component
+public class DashboardStatistics {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final AtomicLong totalPatients = new AtomicLong();
+    private final AtomicLong totalDoctors = new AtomicLong();
+    private final AtomicLong totalAppointments = new AtomicLong();
+    private final AtomicLong totalQueueEntries = new AtomicLong();
+    private final Map<AppointmentStatus, AtomicLong> appointmentsByStatus = new EnumMap<>(AppointmentStatus.class);
+    private final Map<QueueStatus, AtomicLong> queuesByStatus = new EnumMap<>(QueueStatus.class);
+    private final ConcurrentMap<LocalDate, AtomicLong> appointmentsByDay = new ConcurrentHashMap<>();
+
+    private final ReadWriteLock guard = new ReentrantReadWriteLock();
+
+    // Service writes in flight, and whether a rebuild is counting; both guarded by writeGate
+    private final Object writeGate = new Object();
+    private int writesInFlight;
+    private boolean counting;
+    private final ThreadLocal<Boolean> insideWrite = ThreadLocal.withInitial(() -> false);
+
+    private volatile boolean ready;
+
+    public DashboardStatistics() {
+        for (AppointmentStatus status : AppointmentStatus.values()) {
+            appointmentsByStatus.put(status, new AtomicLong());
+        }
+        for (QueueStatus status : QueueStatus.values()) {
+            queuesByStatus.put(status, new AtomicLong());
+        }
+    }
+
+    // Counters are only trusted once a rebuild has completed
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Read under the same guard so a snapshot never mixes pre- and post-rebuild counters
+    public Map<String, Object> snapshot() {
+        Map<String, Object> stats = new HashMap<>();
+        guard.readLock().lock();
+        try {
+            stats.put("totalPatients", totalPatients.get());
+            stats.put("totalDoctors", totalDoctors.get());
+            stats.put("totalAppointments", totalAppointments.get());
+            stats.put("totalQueueEntries", totalQueueEntries.get());
+            stats.put("scheduledAppointments", appointmentsByStatus.get(AppointmentStatus.SCHEDULED).get());
+            stats.put("completedAppointments", appointmentsByStatus.get(AppointmentStatus.COMPLETED).get());
+            stats.put("pendingAppointments", appointmentsByStatus.get(AppointmentStatus.PENDING).get());
+            stats.put("waitingInQueue", queuesByStatus.get(QueueStatus.WAITING).get());
+            stats.put("inProgressQueue", queuesByStatus.get(QueueStatus.IN_PROGRESS).get());
+            AtomicLong today = appointmentsByDay.get(LocalDate.now());
+            stats.put("todaysAppointments", today != null ? today.get() : 0L);
+        } finally {
+            guard.readLock().unlock();
+        }
+        return stats;
+    }
+
+    // --- Updates from the service layer ---
+
+    // Runs a service write and its counter updates as one step a rebuild cannot split
+    public <T> T recordWrite(Supplier<T> write) {
+        if (insideWrite.get()) {
+            return write.get();
+        }
+        beginWrite();
+        insideWrite.set(true);
+        try {
+            return write.get();
+        } finally {
+            insideWrite.set(false);
+            endWrite();
+        }
+    }
+
+    // For writes that complete on another thread; every beginWrite needs exactly one endWrite
+    public void beginWrite() {
+        synchronized (writeGate) {
+            awaitGate(() -> counting);
+            writesInFlight++;
+        }
+    }
+
+    public void endWrite() {
+        synchronized (writeGate) {
+            if (--writesInFlight == 0) {
+                writeGate.notifyAll();
+            }
+        }
+    }
+
+    public void onPatientSaved(Patient patient, boolean created) {
+        guard.readLock().lock();
+        try {
+            if (created) {
+                totalPatients.incrementAndGet();
+            }
+        } finally {
+            guard.readLock().unlock();
+        }
+    }
+
+    public void onPatientDeleted(String patientId) {
+        guard.readLock().lock();
+        try {
+            totalPatients.decrementAndGet();
+        } finally {
+            guard.readLock().unlock();
+        }
+    }
+
+    public void onDoctorSaved(Doctor doctor, boolean created) {
+        guard.readLock().lock();
+        try {
+            if (created) {
+                totalDoctors.incrementAndGet();
+            }
+        } finally {
+            guard.readLock().unlock();
+        }
+    }
+
+    public void onDoctorDeleted(String doctorId) {
+        guard.readLock().lock();
+        try {
+            totalDoctors.decrementAndGet();
+        } finally {
+            guard.readLock().unlock();
+        }
+    }
+
+    // previous is null for a new appointment, current is null for a deleted one
+    public void onAppointmentChanged(Appointment previous, Appointment current) {
+        guard.readLock().lock();
+        try {
+            if (previous == null && current != null) {
+                totalAppointments.incrementAndGet();
+            } else if (previous != null && current == null) {
+                totalAppointments.decrementAndGet();
+            }
+            if (previous != null) {
+                adjust(appointmentsByStatus.get(previous.getStatus()), -1);
+                adjustDay(previous, -1);
+            }
+            if (current != null) {
+                adjust(appointmentsByStatus.get(current.getStatus()), 1);
+                adjustDay(current, 1);
+            }
+        } finally {
+            guard.readLock().unlock();
+        }
+    }
+
+    // previous is null for a new queue entry, current is null for a deleted one
+    public void onQueueChanged(Queue previous, Queue current) {
+        guard.readLock().lock();
+        try {
+            if (previous == null && current != null) {
+                totalQueueEntries.incrementAndGet();
+            } else if (previous != null && current == null) {
+                totalQueueEntries.decrementAndGet();
+            }
+            if (previous != null) {
+                adjust(queuesByStatus.get(previous.getStatus()), -1);
+            }
+            if (current != null) {
+                adjust(queuesByStatus.get(current.getStatus()), 1);
+            }
+        } finally {
+            guard.readLock().unlock();
+        }
+    }
+
+    // count entries moved from one status to another by a bulk update; to is null when they were deleted
+    public void onQueuesChanged(QueueStatus from, QueueStatus to, long count) {
+        guard.readLock().lock();
+        try {
+            adjust(queuesByStatus.get(from), -count);
+            if (to != null) {
+                adjust(queuesByStatus.get(to), count);
+            } else {
+                totalQueueEntries.addAndGet(-count);
+            }
+        } finally {
+            guard.readLock().unlock();
+        }
+    }
+
+    // Called holding writeGate; an interrupt does not cut the wait short but is kept for the caller
+    private void awaitGate(BooleanSupplier blocked) {
+        boolean interrupted = false;
+        while (blocked.getAsBoolean()) {
+            try {
+                writeGate.wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void adjustDay(Appointment appointment, long delta) {
+        if (appointment.getAppointmentDate() != null) {
+            appointmentsByDay.computeIfAbsent(appointment.getAppointmentDate().toLocalDate(), day -> new AtomicLong())
+                    .addAndGet(delta);
+        }
+    }
+
+    private static void adjust(AtomicLong counter, long delta) {
+        if (counter != null) {
+            counter.addAndGet(delta);
+        }
+    }
+
+    // --- Rebuild from MongoDB ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        CompletableFuture.runAsync(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                System.err.println("❌ Error building dashboard statistics: " + e.getMessage());
+            }
+        });
+    }
+
+    public void rebuild() {
+        synchronized (writeGate) {
+            awaitGate(() -> counting);
+            counting = true;
+            awaitGate(() -> writesInFlight > 0);
+        }
+        guard.writeLock().lock();
+        try {
+            rebuildCounters();
+        } finally {
+            guard.writeLock().unlock();
+            synchronized (writeGate) {
+                counting = false;
+                writeGate.notifyAll();
+            }
+        }
+    }
+
+    private void rebuildCounters() {
+        long patients = mongoTemplate.count(new Query(), Patient.class);
+        long doctors = mongoTemplate.count(new Query(), Doctor.class);
+
+        // Appointments per status and per calendar day (in the server's zone, like LocalDateTime)
+        DateOperators.Timezone zone = DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId());
+        TypedAggregation<Appointment> appointmentFacets = Aggregation.newAggregation(Appointment.class,
+                facet(group("status").count().as("count")).as("byStatus")
+                        .and(project().and(DateOperators.DateToString.dateOf("appointmentDate")
+                                        .toString("%Y-%m-%d").withTimezone(zone)).as("day"),
+                                group("day").count().as("count")).as("byDay"));
+        List<Document> appointments = Arrays.asList(
+                aggregate(appointmentFacets, mongoTemplate.getCollectionName(Appointment.class)),
+                aggregate(appointmentFacets, ArchiveService.APPOINTMENTS_ARCHIVE));
+
+        TypedAggregation<Queue> queueFacets = Aggregation.newAggregation(Queue.class,
+                facet(group("status").count().as("count")).as("byStatus"));
+        List<Document> queues = Arrays.asList(
+                aggregate(queueFacets, mongoTemplate.getCollectionName(Queue.class)),
+                aggregate(queueFacets, ArchiveService.QUEUE_ARCHIVE));
+
+        totalPatients.set(patients);
+        totalDoctors.set(doctors);
+
+        long appointmentTotal = 0;
+        appointmentsByStatus.values().forEach(counter -> counter.set(0));
+        for (Document row : rows(appointments, "byStatus")) {
+            long count = ((Number) row.get("count")).longValue();
+            appointmentTotal += count;
+            if (row.get("_id") != null) {
+                adjust(appointmentsByStatus.get(AppointmentStatus.valueOf(row.get("_id").toString())), count);
+            }
+        }
+        totalAppointments.set(appointmentTotal);
+
+        appointmentsByDay.clear();
+        for (Document row : rows(appointments, "byDay")) {
+            if (row.get("_id") != null) {
+                appointmentsByDay.computeIfAbsent(LocalDate.parse(row.get("_id").toString()), day -> new AtomicLong())
+                        .addAndGet(((Number) row.get("count")).longValue());
+            }
+        }
+
+        long queueTotal = 0;
+        queuesByStatus.values().forEach(counter -> counter.set(0));
+        for (Document row : rows(queues, "byStatus")) {
+            long count = ((Number) row.get("count")).longValue();
+            queueTotal += count;
+            if (row.get("_id") != null) {
+                adjust(queuesByStatus.get(QueueStatus.valueOf(row.get("_id").toString())), count);
+            }
+        }
+        totalQueueEntries.set(queueTotal);
+
+        ready = true;
+    }
+
+    // Null when the collection does not exist yet, e.g. an archive before the first run
+    private Document aggregate(TypedAggregation<?> aggregation, String collection) {
+        return mongoTemplate.aggregate(aggregation, collection, Document.class).getUniqueMappedResult();
+    }
+
+    // Rows of one facet across the hot and archive results
+    private static Iterable<Document> rows(List<Document> results, String facet) {
+        List<Document> rows = new ArrayList<>();
+        for (Document facets : results) {
+            if (facets != null && facets.getList(facet, Document.class) != null) {
+                rows.addAll(facets.getList(facet, Document.class));
+            }
+        }
+        return rows;
+    }
+}
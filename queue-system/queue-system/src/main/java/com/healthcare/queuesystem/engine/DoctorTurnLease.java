@@ -0,0 +1,101 @@
+package com.healthcare.queuesystem.engine;
+
+import com.healthcare.queuesystem.model.QueueTurn;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Cross-instance lock on a doctor's queue for changes made in several writes (next patient,
+ * reset). The lease is one document per doctor in {@code queue_turns}, taken with an atomic
+ * {@code findAndModify} that only matches a free or expired lease; losers back off and retry.
+ * A holder that dies keeps the lease until queue.turn.lease-seconds pass, then the next caller
+ * takes over and finds the intent the dead holder recorded with {@link #recordAdvance}.
+ */
+@Component
+public class DoctorTurnLease {
+
+    private static final long RETRY_MILLIS = 20;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${queue.turn.lease-seconds:30}")
+    private long leaseSeconds;
+
+    @Value("${queue.turn.wait-seconds:10}")
+    private long waitSeconds;
+
+    // Blocks until the doctor's lease is held; the returned turn carries any unfinished intent
+    public QueueTurn acquire(String doctorId) {
+        String owner = UUID.randomUUID().toString();
+        long deadline = System.nanoTime() + waitSeconds * 1_000_000_000L;
+        while (true) {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            try {
+                QueueTurn turn = mongoTemplate.findAndModify(
+                        query(where("_id").is(doctorId).orOperator(
+                                where("owner").is(null),
+                                where("leaseUntil").lt(now))),
+                        new Update().set("owner", owner).set("leaseUntil", now.plusSeconds(leaseSeconds)),
+                        FindAndModifyOptions.options().upsert(true).returnNew(true),
+                        QueueTurn.class);
+                if (turn != null) {
+                    return turn;
+                }
+            } catch (DuplicateKeyException e) {
+                // Held by another call: the upsert found no free lease and collided with the existing one
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Queue of doctor " + doctorId + " is busy; try again");
+            }
+            try {
+                Thread.sleep(RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for the queue of doctor " + doctorId, e);
+            }
+        }
+    }
+
+    // Record what an advance is about to do, so whoever holds the lease next can finish it
+    public void recordAdvance(QueueTurn turn, String startingQueueId, String requestId) {
+        Update update = new Update().set("advancing", true)
+                .set("startingQueueId", startingQueueId)
+                .set("requestId", requestId);
+        mongoTemplate.updateFirst(query(held(turn)), update, QueueTurn.class);
+        turn.setAdvancing(true);
+        turn.setStartingQueueId(startingQueueId);
+        turn.setRequestId(requestId);
+    }
+
+    // The advance is done; the lease stays held
+    public void clearAdvance(QueueTurn turn) {
+        mongoTemplate.updateFirst(query(held(turn)),
+                new Update().set("advancing", false).unset("startingQueueId").unset("requestId"), QueueTurn.class);
+        turn.setAdvancing(false);
+        turn.setStartingQueueId(null);
+        turn.setRequestId(null);
+    }
+
+    public void release(QueueTurn turn) {
+        mongoTemplate.updateFirst(query(held(turn)),
+                new Update().unset("owner").unset("leaseUntil"), QueueTurn.class);
+    }
+
+    private static Criteria held(QueueTurn turn) {
+        return where("_id").is(turn.getDoctorId()).and("owner").is(turn.getOwner());
+    }
+}
@@ -0,0 +1,135 @@
+package com.healthcare.queuesystem.engine;
+
+import com.healthcare.queuesystem.model.Appointment;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.enums.QueueStatus;
+import com.healthcare.queuesystem.service.ArchiveService;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+
+/**
+ * Per-doctor appointment, queue-entry and completed-consultation counts for the utilization report.
+ * Every doctor is counted in one $group pass per collection instead of one scan per doctor.
+ * With a period, appointments come from the {@link AppointmentCalendar} when it holds the range
+ * (grouped in memory), and the archive collections are added when the period reaches back into them.
+ * Without a period the archive collections are always added, so the counts cover all history.
+ */
+@Component
+public class DoctorUtilization {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private AppointmentCalendar appointmentCalendar;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    // doctorId -> counts, for doctors with at least one appointment or queue entry;
+    // start and end are both null for no period, otherwise bounds are exclusive like the other reports
+    public Map<String, Counts> compute(LocalDateTime start, LocalDateTime end) {
+        Map<String, Counts> counts = new HashMap<>();
+        boolean period = start != null && end != null;
+
+        List<Appointment> cached = period ? appointmentCalendar.getRange(start, end, null) : null;
+        if (cached != null) {
+            for (Appointment appointment : cached) {
+                if (appointment.getDoctorId() != null) {
+                    counts(counts, appointment.getDoctorId()).appointments++;
+                }
+            }
+        } else {
+            addAppointments(counts, start, end, mongoTemplate.getCollectionName(Appointment.class));
+        }
+        addQueues(counts, start, end, mongoTemplate.getCollectionName(Queue.class));
+
+        if (!period || archiveService.mayHoldAppointmentsAfter(start)) {
+            addAppointments(counts, start, end, ArchiveService.APPOINTMENTS_ARCHIVE);
+        }
+        if (!period || archiveService.mayHoldQueuesAfter(start)) {
+            addQueues(counts, start, end, ArchiveService.QUEUE_ARCHIVE);
+        }
+        return counts;
+    }
+
+    private void addAppointments(Map<String, Counts> counts, LocalDateTime start, LocalDateTime end, String collection) {
+        List<AggregationOperation> stages = range("appointmentDate", start, end);
+        stages.add(group("doctorId").count().as("total"));
+        TypedAggregation<Appointment> aggregation = Aggregation.newAggregation(Appointment.class, stages);
+        for (Document row : mongoTemplate.aggregate(aggregation, collection, Document.class).getMappedResults()) {
+            if (row.get("_id") != null) {
+                counts(counts, row.get("_id").toString()).appointments += number(row, "total");
+            }
+        }
+    }
+
+    private void addQueues(Map<String, Counts> counts, LocalDateTime start, LocalDateTime end, String collection) {
+        List<AggregationOperation> stages = range("createdAt", start, end);
+        stages.add(group("doctorId").count().as("total")
+                .sum(ConditionalOperators.when(Criteria.where("status").is(QueueStatus.COMPLETED.name()))
+                        .then(1).otherwise(0)).as("completed"));
+        TypedAggregation<Queue> aggregation = Aggregation.newAggregation(Queue.class, stages);
+        for (Document row : mongoTemplate.aggregate(aggregation, collection, Document.class).getMappedResults()) {
+            if (row.get("_id") != null) {
+                Counts doctor = counts(counts, row.get("_id").toString());
+                doctor.queueEntries += number(row, "total");
+                doctor.completedConsultations += number(row, "completed");
+            }
+        }
+    }
+
+    // Leading $match on the date index when a period is given
+    private static List<AggregationOperation> range(String dateField, LocalDateTime start, LocalDateTime end) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        if (start != null && end != null) {
+            stages.add(match(Criteria.where(dateField).gt(start).lt(end)));
+        }
+        return stages;
+    }
+
+    private static Counts counts(Map<String, Counts> counts, String doctorId) {
+        return counts.computeIfAbsent(doctorId, id -> new Counts());
+    }
+
+    private static long number(Document row, String field) {
+        Object value = row.get(field);
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    // One doctor's totals
+    public static final class Counts {
+
+        private long appointments;
+        private long queueEntries;
+        private long completedConsultations;
+
+        public long getAppointments() {
+            return appointments;
+        }
+
+        public long getQueueEntries() {
+            return queueEntries;
+        }
+
+        public long getCompletedConsultations() {
+            return completedConsultations;
+        }
+    }
+}
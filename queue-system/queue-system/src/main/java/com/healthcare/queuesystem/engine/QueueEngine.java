@@ -0,0 +1,314 @@
+package com.healthcare.queuesystem.engine;
+
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.enums.QueueStatus;
+import com.healthcare.queuesystem.repository.QueueRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory view of every doctor's queue, ordered by position.
+ * A doctor's entries are loaded from MongoDB on first access and kept in sync
+ * by {@link #put(Queue)} / {@link #remove(String)} after each repository write.
+ * Only this instance's writes reach it: with several instances serving the same doctors, set
+ * queue.engine.max-age-seconds so a loaded queue is re-read from MongoDB once it is that old.
+ */
+@Component
+public class QueueEngine {
+
+    // Same order the controllers used: position first, then arrival time
+    static final Comparator<Queue> QUEUE_ORDER = Comparator
+            .comparing((Queue queue) -> queue.getPosition() != null ? queue.getPosition() : Integer.MAX_VALUE)
+            .thenComparing(queue -> queue.getCreatedAt() != null ? queue.getCreatedAt() : LocalDateTime.MAX)
+            .thenComparing(Queue::getQueueId);
+
+    @Autowired
+    private QueueRepository queueRepository;
+
+    // 0 keeps a loaded queue until it is evicted (single instance)
+    @Value("${queue.engine.max-age-seconds:0}")
+    private long maxAgeSeconds;
+
+    private final ConcurrentMap<String, DoctorQueue> doctorQueues = new ConcurrentHashMap<>();
+
+    // Loads in flight: deletes and evictions that arrive while one runs are applied to what it publishes
+    private final Set<Load> loads = ConcurrentHashMap.newKeySet();
+
+    // queueId -> doctorId for every entry held in memory
+    private final ConcurrentMap<String, String> owners = new ConcurrentHashMap<>();
+
+    // Entry by id if its doctor's queue is in memory, otherwise null
+    public Queue find(String queueId) {
+        String doctorId = owners.get(queueId);
+        DoctorQueue doctorQueue = doctorId != null ? current(doctorId) : null;
+        return doctorQueue != null ? doctorQueue.get(queueId) : null;
+    }
+
+    // All entries for a doctor, ordered by position
+    public List<Queue> getQueue(String doctorId) {
+        return doctorQueue(doctorId).all();
+    }
+
+    // WAITING and IN_PROGRESS entries for a doctor, ordered by position
+    public List<Queue> getActiveQueue(String doctorId) {
+        return doctorQueue(doctorId).active();
+    }
+
+    // First WAITING entry for a doctor, or null if nobody is waiting
+    public Queue peekNextWaiting(String doctorId) {
+        return doctorQueue(doctorId).firstWithStatus(QueueStatus.WAITING);
+    }
+
+    public int countActive(String doctorId) {
+        return doctorQueue(doctorId).activeCount();
+    }
+
+    // WAITING or IN_PROGRESS entries placed before the given position
+    public int countActiveAhead(String doctorId, Integer position) {
+        return doctorQueue(doctorId).activeBefore(position);
+    }
+
+    // Ascending positions of a doctor's WAITING and IN_PROGRESS entries, or null when the queue is not in memory
+    public int[] cachedActivePositions(String doctorId) {
+        DoctorQueue doctorQueue = current(doctorId);
+        return doctorQueue != null ? doctorQueue.activePositions() : null;
+    }
+
+    // Record a saved entry; call after the repository write succeeded
+    public void put(Queue queue) {
+        if (queue == null || queue.getQueueId() == null || queue.getDoctorId() == null) {
+            return;
+        }
+        // Saved again after a delete: the delete no longer applies to a load in flight
+        loads.forEach(load -> load.removed.remove(queue.getQueueId()));
+        String previousDoctorId = owners.get(queue.getQueueId());
+        if (previousDoctorId != null && !previousDoctorId.equals(queue.getDoctorId())) {
+            DoctorQueue previous = doctorQueues.get(previousDoctorId);
+            if (previous != null) {
+                previous.remove(queue.getQueueId());
+            }
+        }
+        doctorQueue(queue.getDoctorId()).put(copyOf(queue));
+        owners.put(queue.getQueueId(), queue.getDoctorId());
+    }
+
+    // Forget an entry; call after the repository delete succeeded
+    public void remove(String queueId) {
+        loads.forEach(load -> load.removed.add(queueId));
+        String doctorId = owners.remove(queueId);
+        if (doctorId != null) {
+            DoctorQueue doctorQueue = doctorQueues.get(doctorId);
+            if (doctorQueue != null) {
+                doctorQueue.remove(queueId);
+            }
+        }
+    }
+
+    // Drop a doctor's cached queue so the next access reloads it from MongoDB
+    public void evict(String doctorId) {
+        loads.forEach(load -> {
+            if (load.doctorId.equals(doctorId)) {
+                load.evicted = true;
+            }
+        });
+        DoctorQueue removed = doctorQueues.get(doctorId);
+        if (removed != null) {
+            drop(doctorId, removed);
+        }
+    }
+
+    public void evictAll() {
+        loads.forEach(load -> load.evicted = true);
+        doctorQueues.clear();
+        owners.clear();
+    }
+
+    // The doctor's loaded queue, or null when it is not in memory or older than the max age
+    private DoctorQueue current(String doctorId) {
+        DoctorQueue doctorQueue = doctorQueues.get(doctorId);
+        if (doctorQueue != null && maxAgeSeconds > 0
+                && System.nanoTime() - doctorQueue.loadedAt > TimeUnit.SECONDS.toNanos(maxAgeSeconds)) {
+            drop(doctorId, doctorQueue);
+            return null;
+        }
+        return doctorQueue;
+    }
+
+    private void drop(String doctorId, DoctorQueue doctorQueue) {
+        if (doctorQueues.remove(doctorId, doctorQueue)) {
+            doctorQueue.all().forEach(queue -> owners.remove(queue.getQueueId(), doctorId));
+        }
+    }
+
+    // Loaded outside the map's bin lock, so a slow query never blocks other doctors hashing to the same bin.
+    // A delete or eviction during the query finds nothing to act on yet, so it is applied after publishing
+    private DoctorQueue doctorQueue(String doctorId) {
+        DoctorQueue doctorQueue = current(doctorId);
+        if (doctorQueue != null) {
+            return doctorQueue;
+        }
+        Load load = new Load(doctorId);
+        loads.add(load);
+        try {
+            DoctorQueue loaded = load(doctorId);
+            DoctorQueue raced = doctorQueues.putIfAbsent(doctorId, loaded);
+            DoctorQueue published = raced != null ? raced : loaded;
+            for (String queueId : load.removed) {
+                published.remove(queueId);
+                owners.remove(queueId, doctorId);
+            }
+            if (load.evicted) {
+                // Read before the eviction's write: this caller gets it, the next one reloads
+                drop(doctorId, published);
+            }
+            return published;
+        } finally {
+            loads.remove(load);
+        }
+    }
+
+    private DoctorQueue load(String doctorId) {
+        DoctorQueue doctorQueue = new DoctorQueue();
+        for (Queue queue : queueRepository.findByDoctorIdOrderByPositionAsc(doctorId)) {
+            doctorQueue.put(copyOf(queue));
+            owners.put(queue.getQueueId(), doctorId);
+        }
+        return doctorQueue;
+    }
+
+    // Entries are copied in and out so callers can mutate what they get back
+    public static Queue copyOf(Queue source) {
+        Queue copy = new Queue();
+        copy.setQueueId(source.getQueueId());
+        copy.setDoctorId(source.getDoctorId());
+        copy.setPatientId(source.getPatientId());
+        copy.setPosition(source.getPosition());
+        copy.setStatus(source.getStatus());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setStartedAt(source.getStartedAt());
+        copy.setCompletedAt(source.getCompletedAt());
+        copy.setNextRequestId(source.getNextRequestId());
+        return copy;
+    }
+
+    private static boolean isActive(QueueStatus status) {
+        return status == QueueStatus.WAITING || status == QueueStatus.IN_PROGRESS;
+    }
+
+    private static class Load {
+
+        private final String doctorId;
+        private final Set<String> removed = ConcurrentHashMap.newKeySet();
+        private volatile boolean evicted;
+
+        Load(String doctorId) {
+            this.doctorId = doctorId;
+        }
+    }
+
+    // One doctor's queue; every method holds the instance lock, so doctors never contend with each other
+    private static class DoctorQueue {
+
+        private final long loadedAt = System.nanoTime();
+        private final Map<String, Queue> entries = new HashMap<>();
+        private final NavigableSet<Queue> ordered = new TreeSet<>(QUEUE_ORDER);
+        private final NavigableSet<Queue> active = new TreeSet<>(QUEUE_ORDER);
+        private final Map<QueueStatus, NavigableSet<Queue>> byStatus = new EnumMap<>(QueueStatus.class);
+
+        synchronized void put(Queue queue) {
+            remove(queue.getQueueId());
+            entries.put(queue.getQueueId(), queue);
+            ordered.add(queue);
+            if (queue.getStatus() != null) {
+                byStatus.computeIfAbsent(queue.getStatus(), status -> new TreeSet<>(QUEUE_ORDER)).add(queue);
+                if (isActive(queue.getStatus())) {
+                    active.add(queue);
+                }
+            }
+        }
+
+        synchronized void remove(String queueId) {
+            Queue existing = entries.remove(queueId);
+            if (existing == null) {
+                return;
+            }
+            ordered.remove(existing);
+            active.remove(existing);
+            if (existing.getStatus() != null) {
+                NavigableSet<Queue> statusSet = byStatus.get(existing.getStatus());
+                if (statusSet != null) {
+                    statusSet.remove(existing);
+                }
+            }
+        }
+
+        synchronized Queue get(String queueId) {
+            Queue queue = entries.get(queueId);
+            return queue != null ? copyOf(queue) : null;
+        }
+
+        synchronized List<Queue> all() {
+            return copies(ordered);
+        }
+
+        synchronized List<Queue> active() {
+            return copies(active);
+        }
+
+        synchronized int activeCount() {
+            return active.size();
+        }
+
+        synchronized int activeBefore(Integer position) {
+            int count = 0;
+            for (Queue queue : active) {
+                if (queue.getPosition() == null || position == null || queue.getPosition() >= position) {
+                    break;
+                }
+                count++;
+            }
+            return count;
+        }
+
+        synchronized int[] activePositions() {
+            int[] positions = new int[active.size()];
+            int count = 0;
+            for (Queue queue : active) {
+                if (queue.getPosition() == null) {
+                    break;
+                }
+                positions[count++] = queue.getPosition();
+            }
+            return count == positions.length ? positions : Arrays.copyOf(positions, count);
+        }
+
+        synchronized Queue firstWithStatus(QueueStatus status) {
+            NavigableSet<Queue> statusSet = byStatus.get(status);
+            return statusSet == null || statusSet.isEmpty() ? null : copyOf(statusSet.first());
+        }
+
+        private static List<Queue> copies(NavigableSet<Queue> queues) {
+            List<Queue> result = new ArrayList<>(queues.size());
+            for (Queue queue : queues) {
+                result.add(copyOf(queue));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.healthcare.queuesystem.engine;
+
+import com.healthcare.queuesystem.dto.QueueDto;
+import com.healthcare.queuesystem.dto.QueueEventDto;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.enums.QueueStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pushes queue changes to waiting-room displays over Server-Sent Events, one channel per doctor.
+ * Every event carries a per-doctor sequence number, and the last events are buffered so a
+ * reconnecting client sending Last-Event-ID receives exactly what it missed. The SSE id is
+ * "epoch-sequence", where the epoch is unique to this instance and boot: an id from another
+ * instance or from before a restart never matches, and that client gets a fresh snapshot.
+ * Each display has its own bounded outbox, drained in order by its own delivery thread while it
+ * has events: request threads never wait on slow clients, and one slow client never holds up the
+ * others. A client that falls more than a buffer behind, or whose write stalls past the send
+ * timeout, is closed so it reconnects and resumes from Last-Event-ID.
+ */
+@Component
+public class QueueEventBroadcaster {
+
+    private static final long HEARTBEAT_SECONDS = 20;
+
+    // Outbox marker for a keep-alive comment
+    private static final Object HEARTBEAT = new Object();
+
+    @Value("${queue.events.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${queue.events.emitter-timeout:1800000}")
+    private long emitterTimeout;
+
+    @Value("${queue.events.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    // Prefix of every SSE id from this instance and boot
+    private final String epoch = new ObjectId().toHexString();
+
+    private final ConcurrentMap<String, DoctorChannel> channels = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "queue-events-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ExecutorService delivery;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threads = new AtomicInteger();
+        // Not a fixed pool: a write blocked on one display's socket must not leave the others waiting for a thread
+        delivery = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "queue-events-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleAtFixedRate(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+        heartbeats.scheduleAtFixedRate(this::closeStalled, 1, 1, TimeUnit.SECONDS);
+    }
+
+    // Register a display; replays missed events when lastEventId is one of ours and still buffered,
+    // otherwise sends a snapshot (typed RESYNC when the client had an id)
+    public SseEmitter subscribe(String doctorId, String lastEventId, Supplier<List<QueueDto>> snapshot) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout);
+        DoctorChannel channel = channel(doctorId);
+        Subscriber subscriber = new Subscriber(channel, emitter);
+        emitter.onCompletion(() -> channel.subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            channel.subscribers.remove(subscriber);
+            emitter.complete();     // ends the stream cleanly; EventSource reconnects with Last-Event-ID
+        });
+        emitter.onError(error -> channel.subscribers.remove(subscriber));
+
+        Long resumeAfter = sequenceOf(lastEventId);
+        long snapshotSequence;
+        synchronized (channel) {
+            if (resumeAfter != null && channel.canReplayFrom(resumeAfter)) {
+                for (QueueEventDto event : channel.recent) {
+                    if (event.getSequence() > resumeAfter) {
+                        subscriber.outbox.addLast(event);
+                    }
+                }
+                channel.subscribers.add(subscriber);
+                schedule(subscriber, null);
+                return emitter;
+            }
+            // Held until the snapshot is in: events published meanwhile queue up behind it
+            snapshotSequence = channel.sequence;
+            subscriber.held = true;
+            channel.subscribers.add(subscriber);
+        }
+
+        // Loaded outside the channel lock so a slow query never stalls publishers for this doctor
+        QueueEventDto first = new QueueEventDto();
+        first.setEpoch(epoch);
+        first.setSequence(snapshotSequence);
+        first.setType(lastEventId != null ? QueueEventDto.RESYNC : QueueEventDto.SNAPSHOT);
+        first.setDoctorId(doctorId);
+        first.setTimestamp(LocalDateTime.now());
+        try {
+            first.setEntries(snapshot.get());
+        } catch (RuntimeException e) {
+            channel.subscribers.remove(subscriber);
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        schedule(subscriber, first);
+        return emitter;
+    }
+
+    // Publish the change between two stored states of an entry (previous null = added, current null = removed)
+    public void publish(Queue previous, Queue current) {
+        if (previous != null && current != null && previous.getDoctorId() != null
+                && !previous.getDoctorId().equals(current.getDoctorId())) {
+            publish(previous.getDoctorId(), QueueEventDto.ENTRY_REMOVED, previous, null);
+            publish(current.getDoctorId(), QueueEventDto.ENTRY_ADDED, current, null);
+        } else if (previous == null && current != null) {
+            publish(current.getDoctorId(), QueueEventDto.ENTRY_ADDED, current, null);
+        } else if (previous != null && current == null) {
+            publish(previous.getDoctorId(), QueueEventDto.ENTRY_REMOVED, previous, null);
+        } else if (previous != null) {
+            String type = previous.getStatus() != current.getStatus()
+                    ? QueueEventDto.STATUS_CHANGED
+                    : QueueEventDto.ENTRY_UPDATED;
+            publish(current.getDoctorId(), type, current, previous.getStatus());
+        }
+    }
+
+    // Tell a doctor's displays to fetch the queue again, after a bulk change too large to send entry by entry
+    public void publishResync(String doctorId) {
+        publish(doctorId, QueueEventDto.RESYNC, null, null);
+    }
+
+    private void publish(String doctorId, String type, Queue queue, QueueStatus previousStatus) {
+        if (doctorId == null) {
+            return;
+        }
+        DoctorChannel channel = channel(doctorId);
+        synchronized (channel) {
+            QueueEventDto event = new QueueEventDto();
+            event.setEpoch(epoch);
+            event.setSequence(++channel.sequence);
+            event.setType(type);
+            event.setDoctorId(doctorId);
+            if (queue != null) {
+                event.setQueueId(queue.getQueueId());
+                event.setPatientId(queue.getPatientId());
+                event.setPosition(queue.getPosition());
+                event.setStatus(queue.getStatus());
+            }
+            event.setPreviousStatus(previousStatus);
+            event.setTimestamp(LocalDateTime.now());
+
+            channel.recent.addLast(event);
+            while (channel.recent.size() > bufferSize) {
+                channel.recent.removeFirst();
+            }
+            // Queued under the channel lock, so every outbox receives events in sequence order
+            for (Subscriber subscriber : channel.subscribers) {
+                offer(subscriber, event);
+            }
+        }
+    }
+
+    // Sequence of an SSE id issued by this instance since boot; null for anything else
+    private Long sequenceOf(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+            return null;
+        }
+        try {
+            return Long.valueOf(lastEventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public int subscriberCount(String doctorId) {
+        DoctorChannel channel = channels.get(doctorId);
+        return channel != null ? channel.subscribers.size() : 0;
+    }
+
+    // Comment lines keep idle connections open through proxies
+    private void heartbeat() {
+        for (DoctorChannel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                offer(subscriber, HEARTBEAT);
+            }
+        }
+    }
+
+    // A display whose write has been blocked longer than the send timeout is dropped; its delivery
+    // thread stays stuck until the socket gives up, but nothing more is queued for it
+    private void closeStalled() {
+        long now = System.nanoTime();
+        for (DoctorChannel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                long since = subscriber.sendingSince;
+                if (since != 0 && now - since > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs)) {
+                    close(subscriber);
+                }
+            }
+        }
+    }
+
+    // Append to a display's outbox; a display that has fallen a whole buffer behind is closed instead
+    private void offer(Subscriber subscriber, Object item) {
+        boolean queued;
+        synchronized (subscriber) {
+            if (subscriber.closed) {
+                return;
+            }
+            queued = subscriber.outbox.size() < bufferSize;
+            if (queued) {
+                subscriber.outbox.addLast(item);
+            }
+        }
+        if (!queued) {
+            close(subscriber);
+            return;
+        }
+        schedule(subscriber, null);
+    }
+
+    // The client reconnects with Last-Event-ID and catches up from the buffer
+    private void close(Subscriber subscriber) {
+        synchronized (subscriber) {
+            if (subscriber.closed) {
+                return;
+            }
+            subscriber.closed = true;
+            subscriber.outbox.clear();
+        }
+        subscriber.channel.subscribers.remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    // Release a held display (putting first ahead of anything queued) and start draining if nobody is
+    private void schedule(Subscriber subscriber, QueueEventDto first) {
+        synchronized (subscriber) {
+            if (first != null) {
+                subscriber.outbox.addFirst(first);
+                subscriber.held = false;
+            }
+            if (subscriber.held || subscriber.draining || subscriber.closed || subscriber.outbox.isEmpty()) {
+                return;
+            }
+            subscriber.draining = true;
+        }
+        delivery.execute(() -> drain(subscriber));
+    }
+
+    // At most one drain runs per display at a time, which keeps its events in order
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Object item;
+            synchronized (subscriber) {
+                item = subscriber.outbox.pollFirst();
+                if (item == null || subscriber.closed) {
+                    subscriber.draining = false;
+                    return;
+                }
+            }
+            subscriber.sendingSince = System.nanoTime();
+            boolean sent = send(subscriber.emitter, item);
+            subscriber.sendingSince = 0;
+            if (!sent) {
+                synchronized (subscriber) {
+                    subscriber.closed = true;
+                    subscriber.outbox.clear();
+                    subscriber.draining = false;
+                }
+                subscriber.channel.subscribers.remove(subscriber);
+                return;
+            }
+        }
+    }
+
+    private boolean send(SseEmitter emitter, Object item) {
+        try {
+            if (item == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                QueueEventDto event = (QueueEventDto) item;
+                emitter.send(SseEmitter.event()
+                        .id(epoch + "-" + event.getSequence())
+                        .name(event.getType())
+                        .data(event));
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private DoctorChannel channel(String doctorId) {
+        return channels.computeIfAbsent(doctorId, id -> new DoctorChannel());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        if (delivery != null) {
+            delivery.shutdownNow();
+        }
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private static class DoctorChannel {
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final Deque<QueueEventDto> recent = new ArrayDeque<>();
+        private long sequence;
+
+        // True when every event after lastEventId is still buffered
+        boolean canReplayFrom(long lastEventId) {
+            if (lastEventId > sequence) {
+                return false;   // id from before a restart
+            }
+            long oldestBuffered = recent.isEmpty() ? sequence + 1 : recent.peekFirst().getSequence();
+            return lastEventId >= oldestBuffered - 1;
+        }
+    }
+
+    // One display: its emitter and the events (or heartbeats) not yet written to it
+    private static class Subscriber {
+        private final DoctorChannel channel;
+        private final SseEmitter emitter;
+        private final Deque<Object> outbox = new ArrayDeque<>();
+        private boolean held;       // waiting for its snapshot
+        private boolean draining;   // a delivery task owns the outbox
+        private boolean closed;
+        private volatile long sendingSince;     // nanoTime the write in progress started, 0 when idle
+
+        Subscriber(DoctorChannel channel, SseEmitter emitter) {
+            this.channel = channel;
+            this.emitter = emitter;
+        }
+    }
+}
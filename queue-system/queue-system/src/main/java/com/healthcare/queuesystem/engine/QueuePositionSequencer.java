@@ -0,0 +1,144 @@
+package com.healthcare.queuesystem.engine;
+
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.QueueCounter;
+import com.healthcare.queuesystem.repository.QueueRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Hands out unique, increasing queue positions per doctor.
+ * Positions are reserved from a counter document in {@code queue_counters} with an atomic
+ * {@code findAndModify $inc}, then served from an in-memory block without any locking.
+ * With the default block size of 1 every position is a single round trip and strictly FIFO
+ * across instances; larger blocks trade that for fewer round trips (unused positions are skipped).
+ * Bulk inserts that carry their own positions move the counter past them with {@link #advancePast}.
+ */
+@Component
+public class QueuePositionSequencer {
+
+    private static final String COUNTER_PREFIX = "queue-position:";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private QueueRepository queueRepository;
+
+    @Value("${queue.position.block-size:1}")
+    private int blockSize;
+
+    private final ConcurrentMap<String, DoctorSequence> sequences = new ConcurrentHashMap<>();
+
+    public int nextPosition(String doctorId) {
+        DoctorSequence sequence = sequences.computeIfAbsent(doctorId, id -> new DoctorSequence());
+        long position = sequence.tryNext();
+        if (position < 0) {
+            position = reserve(doctorId, sequence);
+        }
+        return Math.toIntExact(position);
+    }
+
+    // Move the counters past positions written without nextPosition (bulk inserts); call after the insert
+    public void advancePast(Collection<Queue> queues) {
+        Map<String, Integer> highest = new HashMap<>();
+        for (Queue queue : queues) {
+            if (queue.getDoctorId() != null && queue.getPosition() != null) {
+                highest.merge(queue.getDoctorId(), queue.getPosition(), Math::max);
+            }
+        }
+        if (highest.isEmpty()) {
+            return;
+        }
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QueueCounter.class);
+        highest.forEach((doctorId, position) -> operations.upsert(
+                query(where("_id").is(COUNTER_PREFIX + doctorId)),
+                new Update().max("seq", (long) position)));
+        operations.execute();
+        // Blocks reserved before the insert may hold positions that are now taken
+        highest.keySet().forEach(sequences::remove);
+    }
+
+    // Reserve a new block from MongoDB, keep its first position and publish the rest
+    private long reserve(String doctorId, DoctorSequence sequence) {
+        if (!sequence.seeded) {
+            seed(doctorId);
+            sequence.seeded = true;
+        }
+        int size = Math.max(1, blockSize);
+        QueueCounter counter = mongoTemplate.findAndModify(
+                query(where("_id").is(COUNTER_PREFIX + doctorId)),
+                new Update().inc("seq", size),
+                FindAndModifyOptions.options().returnNew(true).upsert(true),
+                QueueCounter.class);
+        long end = counter.getSeq();
+        long start = end - size + 1;
+        if (start < end) {
+            sequence.offer(new Block(start + 1, end));
+        }
+        return start;
+    }
+
+    // Start the counter after any positions already handed out before it existed
+    private void seed(String doctorId) {
+        Queue last = queueRepository.findTopByDoctorIdOrderByPositionDesc(doctorId);
+        if (last != null && last.getPosition() != null) {
+            mongoTemplate.upsert(
+                    query(where("_id").is(COUNTER_PREFIX + doctorId)),
+                    new Update().max("seq", (long) last.getPosition()),
+                    QueueCounter.class);
+        }
+    }
+
+    private static final class Block {
+        private final long next;
+        private final long end;
+
+        private Block(long next, long end) {
+            this.next = next;
+            this.end = end;
+        }
+    }
+
+    private static final class DoctorSequence {
+
+        private final AtomicReference<Block> current = new AtomicReference<>(new Block(1, 0));
+        private volatile boolean seeded;
+
+        // Next position from the local block, or -1 once it is used up
+        long tryNext() {
+            while (true) {
+                Block block = current.get();
+                if (block.next > block.end) {
+                    return -1;
+                }
+                if (current.compareAndSet(block, new Block(block.next + 1, block.end))) {
+                    return block.next;
+                }
+            }
+        }
+
+        // Publish a freshly reserved block unless another thread already refilled
+        void offer(Block block) {
+            Block exhausted = current.get();
+            if (exhausted.next > exhausted.end) {
+                current.compareAndSet(exhausted, block);
+            }
+        }
+    }
+}
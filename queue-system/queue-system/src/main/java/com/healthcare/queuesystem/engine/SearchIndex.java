@@ -0,0 +1,462 @@
+package com.healthcare.queuesystem.engine;
+
+import com.healthcare.queuesystem.dto.SearchResultDto;
+import com.healthcare.queuesystem.model.Doctor;
+import com.healthcare.queuesystem.model.Patient;
+import com.healthcare.queuesystem.repository.DoctorRepository;
+import com.healthcare.queuesystem.repository.PatientRepository;
+import com.healthcare.queuesystem.util.SearchKeys;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Type-ahead lookup of patients and doctors by name or phone number for the front desk.
+ * Every name word ({@link SearchKeys#name}) maps to its people in a sorted map, so a prefix is one
+ * range scan; phone numbers are held by their local digits (prefix scan) and by their last four
+ * (exact lookup), which is what callers usually read out. The index is loaded in the background
+ * after startup, kept in step by the patient and doctor services, and reloaded after bulk imports;
+ * until the first load completes, name searches fall back to the indexed nameKey in MongoDB.
+ */
+@Component
+public class SearchIndex {
+
+    public static final String PATIENT = "patient";
+    public static final String DOCTOR = "doctor";
+
+    private static final int TAIL_DIGITS = 4;
+    private static final int MIN_PHONE_DIGITS = 3;
+    private static final int WRITE_BATCH = 1000;
+
+    // Only digits and the usual phone punctuation: "98765", "+91 98765-43210", "(022) 2345"
+    private static final Pattern PHONE_QUERY = Pattern.compile("[\\d\\s()+\\-.]+");
+
+    // Best first: exact name, whole name starts with the query, every word matched whole, word prefixes;
+    // then shorter names, then alphabetical
+    private static final Comparator<Match> RANKING = Comparator
+            .comparingInt((Match match) -> match.rank)
+            .thenComparingInt(match -> match.entry.nameKey.length())
+            .thenComparing(match -> match.entry.nameKey)
+            .thenComparing(match -> match.entry.id);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    // Enough for any useful page of results; bounds the work a one-letter query can cause
+    @Value("${app.search.max-candidates:1000}")
+    private int maxCandidates;
+
+    // Searches share the read lock; service hooks and the reload swap take the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, KindIndex> indexes = emptyIndexes();
+    private volatile boolean loaded;
+
+    // Changes made while a reload scans MongoDB, replayed onto the new index before it is swapped in
+    private List<Entry> changesDuringReload;
+    private final AtomicBoolean reloadQueued = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        requestReload();
+    }
+
+    // Rebuild the index soon in the background; repeated requests before it starts run it once
+    public void requestReload() {
+        if (reloadQueued.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(() -> {
+                reloadQueued.set(false);
+                try {
+                    reload();
+                } catch (Exception e) {
+                    System.err.println("⚠️ Could not load the search index: " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    // Read every patient and doctor into a new index, filling in nameKey where it is missing
+    public synchronized Map<String, Object> reload() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changesDuringReload = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<String, KindIndex> fresh = emptyIndexes();
+        Map<String, Object> result = new HashMap<>();
+        try {
+            result.put("patients", load(fresh.get(PATIENT), PATIENT, mongoTemplate.getCollectionName(Patient.class), null));
+            result.put("doctors", load(fresh.get(DOCTOR), DOCTOR, mongoTemplate.getCollectionName(Doctor.class), "specialization"));
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (result.size() == 2) {
+                    for (Entry change : changesDuringReload) {
+                        fresh.get(change.kind).apply(change);
+                    }
+                    indexes = fresh;
+                    loaded = true;
+                }
+                changesDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        result.put("elapsedMs", System.currentTimeMillis() - started);
+        return result;
+    }
+
+    public void onPatientSaved(Patient patient) {
+        if (patient != null && patient.getPatientId() != null) {
+            apply(new Entry(PATIENT, patient.getPatientId(), patient.getName(), patient.getPhone(), null));
+        }
+    }
+
+    public void onPatientDeleted(String patientId) {
+        apply(Entry.removal(PATIENT, patientId));
+    }
+
+    public void onDoctorSaved(Doctor doctor) {
+        if (doctor != null && doctor.getDoctorId() != null) {
+            apply(new Entry(DOCTOR, doctor.getDoctorId(), doctor.getName(), doctor.getPhone(), doctor.getSpecialization()));
+        }
+    }
+
+    public void onDoctorDeleted(String doctorId) {
+        apply(Entry.removal(DOCTOR, doctorId));
+    }
+
+    /**
+     * Best matches for a partial name ("ra sh" finds "Rahul Sharma") or phone number, best first.
+     * type is {@link #PATIENT}, {@link #DOCTOR} or null for both.
+     */
+    public List<SearchResultDto> search(String text, String type, int limit) {
+        List<String> kinds = type == null ? List.of(PATIENT, DOCTOR) : List.of(type);
+        String digits = SearchKeys.phone(text);
+        boolean byPhone = text != null && PHONE_QUERY.matcher(text.trim()).matches() && digits.length() >= MIN_PHONE_DIGITS;
+        String nameKey = byPhone ? "" : SearchKeys.name(text);
+        if (limit <= 0 || (!byPhone && (nameKey == null || nameKey.isEmpty()))) {
+            return List.of();
+        }
+
+        List<Match> matches = new ArrayList<>();
+        if (!loaded) {
+            if (byPhone) {
+                return List.of();
+            }
+            String[] terms = nameKey.split(" ");
+            for (String kind : kinds) {
+                for (Entry entry : fromDatabase(kind, nameKey)) {
+                    Match match = match(entry, terms, nameKey);
+                    if (match != null) {
+                        matches.add(match);
+                    }
+                }
+            }
+        } else {
+            lock.readLock().lock();
+            try {
+                for (String kind : kinds) {
+                    KindIndex index = indexes.get(kind);
+                    matches.addAll(byPhone ? index.byPhone(digits, maxCandidates) : index.byName(nameKey, maxCandidates));
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        matches.sort(RANKING);
+        List<SearchResultDto> results = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            results.add(matches.get(i).entry.toDto());
+        }
+        return results;
+    }
+
+    private void apply(Entry change) {
+        lock.writeLock().lock();
+        try {
+            indexes.get(change.kind).apply(change);
+            if (changesDuringReload != null) {
+                changesDuringReload.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int load(KindIndex index, String kind, String collection, String detailField) {
+        List<String> fields = new ArrayList<>(List.of("name", "nameKey", "phone"));
+        if (detailField != null) {
+            fields.add(detailField);
+        }
+        List<WriteModel<Document>> backfill = new ArrayList<>();
+        int count = 0;
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(collection).find()
+                .projection(Projections.include(fields)).batchSize(WRITE_BATCH).iterator()) {
+            while (cursor.hasNext()) {
+                Document document = cursor.next();
+                Object id = document.get("_id");
+                String name = document.getString("name");
+                Entry entry = new Entry(kind, String.valueOf(id), name, document.getString("phone"),
+                        detailField != null ? document.getString(detailField) : null);
+                index.apply(entry);
+                count++;
+
+                // Written before nameKey existed, or by something other than the entity's setName
+                if (name != null && !entry.nameKey.equals(document.getString("nameKey"))) {
+                    backfill.add(new UpdateOneModel<>(Filters.eq("_id", id), Updates.set("nameKey", entry.nameKey)));
+                    if (backfill.size() == WRITE_BATCH) {
+                        writeNameKeys(collection, backfill);
+                    }
+                }
+            }
+        }
+        writeNameKeys(collection, backfill);
+        return count;
+    }
+
+    private void writeNameKeys(String collection, List<WriteModel<Document>> backfill) {
+        if (backfill.isEmpty()) {
+            return;
+        }
+        try {
+            mongoTemplate.getCollection(collection).bulkWrite(backfill, new BulkWriteOptions().ordered(false));
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not fill in name keys for " + collection + ": " + e.getMessage());
+        }
+        backfill.clear();
+    }
+
+    // Before the index is loaded: prefix of the whole normalised name, over the name_key index
+    private List<Entry> fromDatabase(String kind, String nameKey) {
+        PageRequest page = PageRequest.of(0, maxCandidates, Sort.by("nameKey"));
+        String end = nameKey + Character.MAX_VALUE;
+        List<Entry> entries = new ArrayList<>();
+        if (PATIENT.equals(kind)) {
+            for (Patient patient : patientRepository.findByNameKeyRange(nameKey, end, page)) {
+                entries.add(new Entry(PATIENT, patient.getPatientId(), patient.getName(), patient.getPhone(), null));
+            }
+        } else {
+            for (Doctor doctor : doctorRepository.findByNameKeyRange(nameKey, end, page)) {
+                entries.add(new Entry(DOCTOR, doctor.getDoctorId(), doctor.getName(), doctor.getPhone(), doctor.getSpecialization()));
+            }
+        }
+        return entries;
+    }
+
+    // A match when every query word starts one of the name's words, otherwise null
+    private static Match match(Entry entry, String[] terms, String nameKey) {
+        boolean allWhole = true;
+        for (String term : terms) {
+            boolean found = false;
+            boolean whole = false;
+            for (String word : entry.words) {
+                if (word.startsWith(term)) {
+                    found = true;
+                    if (word.length() == term.length()) {
+                        whole = true;
+                        break;
+                    }
+                }
+            }
+            if (!found) {
+                return null;
+            }
+            allWhole &= whole;
+        }
+        int rank;
+        if (entry.nameKey.equals(nameKey)) {
+            rank = 0;
+        } else if (entry.nameKey.startsWith(nameKey)) {
+            rank = 1;
+        } else {
+            rank = allWhole ? 2 : 3;
+        }
+        return new Match(entry, rank);
+    }
+
+    private static Map<String, KindIndex> emptyIndexes() {
+        Map<String, KindIndex> indexes = new HashMap<>();
+        indexes.put(PATIENT, new KindIndex());
+        indexes.put(DOCTOR, new KindIndex());
+        return indexes;
+    }
+
+    // One person as indexed; a removal carries only kind and id
+    private static final class Entry {
+
+        private final String kind;
+        private final String id;
+        private final String name;
+        private final String nameKey;
+        private final String[] words;
+        private final String phone;
+        private final String phoneKey;
+        private final String detail;
+        private final boolean removal;
+
+        Entry(String kind, String id, String name, String phone, String detail) {
+            this(kind, id, name, phone, detail, false);
+        }
+
+        private Entry(String kind, String id, String name, String phone, String detail, boolean removal) {
+            this.kind = kind;
+            this.id = id;
+            this.name = name;
+            String key = SearchKeys.name(name);
+            this.nameKey = key != null ? key : "";
+            this.words = nameKey.isEmpty() ? new String[0] : nameKey.split(" ");
+            this.phone = phone;
+            this.phoneKey = SearchKeys.phone(phone);
+            this.detail = detail;
+            this.removal = removal;
+        }
+
+        static Entry removal(String kind, String id) {
+            return new Entry(kind, id, null, null, null, true);
+        }
+
+        SearchResultDto toDto() {
+            return new SearchResultDto(kind, id, name, phone, DOCTOR.equals(kind) ? detail : null);
+        }
+    }
+
+    private static final class Match {
+
+        private final Entry entry;
+        private final int rank;
+
+        Match(Entry entry, int rank) {
+            this.entry = entry;
+            this.rank = rank;
+        }
+    }
+
+    // Patients or doctors; guarded by the outer lock (or owned by a reload until it is swapped in)
+    private static final class KindIndex {
+
+        private final Map<String, Entry> byId = new HashMap<>();
+        private final TreeMap<String, Set<Entry>> byWord = new TreeMap<>();
+        private final TreeMap<String, Set<Entry>> byPhone = new TreeMap<>();
+        private final Map<String, Set<Entry>> byPhoneTail = new HashMap<>();
+
+        void apply(Entry change) {
+            Entry previous = byId.remove(change.id);
+            if (previous != null) {
+                for (String word : new HashSet<>(List.of(previous.words))) {
+                    unlink(byWord, word, previous);
+                }
+                if (!previous.phoneKey.isEmpty()) {
+                    unlink(byPhone, previous.phoneKey, previous);
+                    unlink(byPhoneTail, tail(previous.phoneKey), previous);
+                }
+            }
+            if (change.removal) {
+                return;
+            }
+            byId.put(change.id, change);
+            for (String word : change.words) {
+                byWord.computeIfAbsent(word, w -> new HashSet<>()).add(change);
+            }
+            if (!change.phoneKey.isEmpty()) {
+                byPhone.computeIfAbsent(change.phoneKey, p -> new HashSet<>()).add(change);
+                byPhoneTail.computeIfAbsent(tail(change.phoneKey), p -> new HashSet<>()).add(change);
+            }
+        }
+
+        // Scans the words starting with the longest query word; whole-word matches come first in the scan
+        List<Match> byName(String nameKey, int cap) {
+            String[] terms = nameKey.split(" ");
+            String probe = "";
+            for (String term : terms) {
+                if (term.length() > probe.length()) {
+                    probe = term;
+                }
+            }
+            Set<Entry> seen = new HashSet<>();
+            List<Match> matches = new ArrayList<>();
+            for (Set<Entry> entries : byWord.subMap(probe, probe + Character.MAX_VALUE).values()) {
+                for (Entry entry : entries) {
+                    Match match = seen.add(entry) ? match(entry, terms, nameKey) : null;
+                    if (match != null) {
+                        matches.add(match);
+                        if (matches.size() >= cap) {
+                            return matches;
+                        }
+                    }
+                }
+            }
+            return matches;
+        }
+
+        // Exact number first, then numbers starting with the digits, then numbers ending in them
+        List<Match> byPhone(String digits, int cap) {
+            Map<Entry, Match> matches = new HashMap<>();
+            for (Map.Entry<String, Set<Entry>> numbers : byPhone.subMap(digits, digits + Character.MAX_VALUE).entrySet()) {
+                int rank = numbers.getKey().equals(digits) ? 0 : 1;
+                for (Entry entry : numbers.getValue()) {
+                    matches.putIfAbsent(entry, new Match(entry, rank));
+                }
+                if (matches.size() >= cap) {
+                    return new ArrayList<>(matches.values());
+                }
+            }
+            if (digits.length() == TAIL_DIGITS) {
+                for (Entry entry : byPhoneTail.getOrDefault(digits, Set.of())) {
+                    matches.putIfAbsent(entry, new Match(entry, 2));
+                }
+            }
+            return new ArrayList<>(matches.values());
+        }
+
+        private static String tail(String phoneKey) {
+            return phoneKey.length() > TAIL_DIGITS ? phoneKey.substring(phoneKey.length() - TAIL_DIGITS) : phoneKey;
+        }
+
+        private static void unlink(Map<String, Set<Entry>> map, String key, Entry entry) {
+            Set<Entry> entries = map.get(key);
+            if (entries != null) {
+                entries.remove(entry);
+                if (entries.isEmpty()) {
+                    map.remove(key);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.healthcare.queuesystem.engine;
+
+import com.healthcare.queuesystem.exception.GlobalExceptionHandler.SlotConflictException;
+import com.healthcare.queuesystem.model.Appointment;
+import com.healthcare.queuesystem.model.Doctor;
+import com.healthcare.queuesystem.model.enums.AppointmentStatus;
+import com.healthcare.queuesystem.repository.AppointmentRepository;
+import com.healthcare.queuesystem.service.DoctorService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Booked slots per doctor, for conflict checks and free-slot search.
+ * Every SCHEDULED / PENDING appointment occupies [appointmentDate, appointmentDate + slot length).
+ * A doctor's bookings from today on are loaded on first access into an ordered set; since all
+ * slots have the same length, the latest booking starting before a slot's end is the only one
+ * that can overlap it, so a conflict check is one O(log n) lookup under the doctor's lock.
+ * Working hours come from Doctor.availability (see {@link WorkingHours}).
+ * The sets only hold what this instance has seen: the unique doctor_slot index on appointments
+ * is what stops two instances booking the same start time (see {@link #takenInDatabase}).
+ */
+@Component
+public class SlotEngine {
+
+    private static final Comparator<Booking> BOOKING_ORDER = Comparator
+            .comparing((Booking booking) -> booking.start)
+            .thenComparing(booking -> booking.appointmentId);
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Value("${app.appointments.slot-minutes:15}")
+    private int slotMinutes;
+
+    @Value("${app.appointments.enforce-working-hours:true}")
+    private boolean enforceWorkingHours;
+
+    @Value("${app.appointments.suggestions:3}")
+    private int suggestionCount;
+
+    @Value("${app.appointments.search-days:14}")
+    private int searchDays;
+
+    private final ConcurrentMap<String, DoctorSchedule> schedules = new ConcurrentHashMap<>();
+
+    // Availability strings repeat across doctors; parse each distinct one once
+    private final ConcurrentMap<String, WorkingHours> parsedHours = new ConcurrentHashMap<>();
+
+    /**
+     * Claims next's slot before it is written, or throws {@link SlotConflictException} with
+     * alternatives when the slot is taken or outside working hours. previous is the stored version
+     * (null for a new appointment). If the write then fails, undo with
+     * {@code onAppointmentChanged(next, previous)}.
+     */
+    public void reserve(Appointment previous, Appointment next) {
+        if (!occupiesSlot(next) || sameSlot(previous, next)) {
+            onAppointmentChanged(previous, next);
+            return;
+        }
+        LocalDateTime start = next.getAppointmentDate();
+        LocalDateTime end = start.plusMinutes(slotMinutes);
+        if (enforceWorkingHours && !workingHours(next.getDoctorId()).covers(start, end)) {
+            throw new SlotConflictException("Requested time is outside the doctor's working hours",
+                    null, suggest(next.getDoctorId(), start));
+        }
+
+        Booking conflict = schedule(next.getDoctorId()).reserve(next.getAppointmentId(), start, end);
+        if (conflict != null) {
+            throw new SlotConflictException("Doctor already has an appointment at " + conflict.start,
+                    conflict.appointmentId, suggest(next.getDoctorId(), start));
+        }
+        // Moved to another doctor: free the old doctor's slot
+        if (previous != null && previous.getDoctorId() != null && !previous.getDoctorId().equals(next.getDoctorId())) {
+            DoctorSchedule old = schedules.get(previous.getDoctorId());
+            if (old != null) {
+                old.release(previous.getAppointmentId());
+            }
+        }
+    }
+
+    // previous is null for a new appointment, current is null for a deleted one; applied without checks
+    public void onAppointmentChanged(Appointment previous, Appointment current) {
+        if (previous != null && previous.getDoctorId() != null) {
+            DoctorSchedule schedule = schedules.get(previous.getDoctorId());
+            if (schedule != null) {
+                schedule.release(previous.getAppointmentId());
+            }
+        }
+        if (occupiesSlot(current)) {
+            DoctorSchedule schedule = schedules.get(current.getDoctorId());
+            if (schedule != null) {
+                LocalDateTime start = current.getAppointmentDate();
+                schedule.put(new Booking(current.getAppointmentId(), start, start.plusMinutes(slotMinutes)));
+            }
+        }
+    }
+
+    /**
+     * For a write that the doctor_slot index rejected: another instance booked the same start time.
+     * Undoes the reservation, reloads the doctor's bookings so this instance sees theirs, and returns
+     * the conflict to throw, with alternatives.
+     */
+    public SlotConflictException takenInDatabase(Appointment previous, Appointment next) {
+        onAppointmentChanged(next, previous);
+        schedules.remove(next.getDoctorId());
+        Appointment holder = appointmentRepository.findFirstByDoctorIdAndAppointmentDateAndStatusIn(
+                next.getDoctorId(), next.getAppointmentDate(), List.of(AppointmentStatus.SCHEDULED, AppointmentStatus.PENDING));
+        return new SlotConflictException("Doctor already has an appointment at " + next.getAppointmentDate(),
+                holder != null ? holder.getAppointmentId() : null, suggest(next.getDoctorId(), next.getAppointmentDate()));
+    }
+
+    // First free slot at or after from, within working hours and the search window; null if none
+    public LocalDateTime nextFreeSlot(String doctorId, LocalDateTime from) {
+        List<LocalDateTime> slots = freeSlots(doctorId, from, from.plusDays(searchDays), 1);
+        return slots.isEmpty() ? null : slots.get(0);
+    }
+
+    // Every free slot still ahead on one day
+    public List<LocalDateTime> freeSlotsOn(String doctorId, LocalDate date) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = date.atStartOfDay().isAfter(now) ? date.atStartOfDay() : now;
+        return freeSlots(doctorId, from, date.plusDays(1).atStartOfDay(), Integer.MAX_VALUE);
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public WorkingHours workingHours(String doctorId) {
+        Doctor doctor = doctorService.getDoctorById(doctorId);
+        String availability = doctor != null ? doctor.getAvailability() : null;
+        return availability == null ? WorkingHours.UNRESTRICTED
+                : parsedHours.computeIfAbsent(availability, WorkingHours::parse);
+    }
+
+    // Drop cached schedules so the next access reloads them (after bulk writes that bypass the service)
+    public void evictAll() {
+        schedules.clear();
+    }
+
+    // Free slots on the grid of each working interval, from the requested time onwards
+    private List<LocalDateTime> suggest(String doctorId, LocalDateTime requested) {
+        LocalDateTime from = requested.isAfter(LocalDateTime.now()) ? requested : LocalDateTime.now();
+        return freeSlots(doctorId, from, from.plusDays(searchDays), suggestionCount);
+    }
+
+    private List<LocalDateTime> freeSlots(String doctorId, LocalDateTime from, LocalDateTime until, int limit) {
+        WorkingHours hours = workingHours(doctorId);
+        DoctorSchedule schedule = schedule(doctorId);
+        List<LocalDateTime> free = new ArrayList<>();
+        for (LocalDate date = from.toLocalDate(); date.isBefore(until.toLocalDate().plusDays(1)) && free.size() < limit;
+             date = date.plusDays(1)) {
+            for (WorkingHours.Interval interval : hours.on(date.getDayOfWeek())) {
+                LocalDateTime intervalStart = date.atTime(interval.getStart());
+                LocalDateTime intervalEnd = interval.getEnd().equals(LocalTime.MAX)
+                        ? date.plusDays(1).atStartOfDay()
+                        : date.atTime(interval.getEnd());
+                LocalDateTime slot = alignUp(intervalStart, from);
+                while (free.size() < limit && !slot.plusMinutes(slotMinutes).isAfter(intervalEnd) && slot.isBefore(until)) {
+                    LocalDateTime slotEnd = slot.plusMinutes(slotMinutes);
+                    Booking conflict = schedule.conflict(slot, slotEnd, null);
+                    if (conflict == null) {
+                        free.add(slot);
+                        slot = slotEnd;
+                    } else {
+                        // Skip past the booking that is in the way
+                        slot = alignUp(intervalStart, conflict.end);
+                    }
+                }
+            }
+        }
+        return free;
+    }
+
+    // First grid point (interval start + k slots) at or after time
+    private LocalDateTime alignUp(LocalDateTime gridStart, LocalDateTime time) {
+        if (!time.isAfter(gridStart)) {
+            return gridStart;
+        }
+        long minutes = ChronoUnit.MINUTES.between(gridStart, time);
+        long slots = (minutes + slotMinutes - 1) / slotMinutes;
+        LocalDateTime aligned = gridStart.plusMinutes(slots * slotMinutes);
+        return aligned.isBefore(time) ? aligned.plusMinutes(slotMinutes) : aligned;
+    }
+
+    private static boolean occupiesSlot(Appointment appointment) {
+        return appointment != null
+                && appointment.getAppointmentId() != null
+                && appointment.getDoctorId() != null
+                && appointment.getAppointmentDate() != null
+                && (appointment.getStatus() == AppointmentStatus.SCHEDULED || appointment.getStatus() == AppointmentStatus.PENDING);
+    }
+
+    // Status or detail edits of an already booked slot are not re-checked
+    private static boolean sameSlot(Appointment previous, Appointment next) {
+        return occupiesSlot(previous)
+                && previous.getDoctorId().equals(next.getDoctorId())
+                && previous.getAppointmentDate().equals(next.getAppointmentDate());
+    }
+
+    // Loaded outside the map's bin lock, so a slow query never blocks other doctors hashing to the same bin
+    private DoctorSchedule schedule(String doctorId) {
+        DoctorSchedule schedule = schedules.get(doctorId);
+        if (schedule != null) {
+            return schedule;
+        }
+        DoctorSchedule loaded = load(doctorId);
+        DoctorSchedule raced = schedules.putIfAbsent(doctorId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    private DoctorSchedule load(String doctorId) {
+        DoctorSchedule schedule = new DoctorSchedule();
+        List<AppointmentStatus> active = List.of(AppointmentStatus.SCHEDULED, AppointmentStatus.PENDING);
+        for (Appointment appointment : appointmentRepository.findDoctorAppointmentsFrom(
+                doctorId, LocalDate.now().atStartOfDay(), active)) {
+            LocalDateTime start = appointment.getAppointmentDate();
+            schedule.put(new Booking(appointment.getAppointmentId(), start, start.plusMinutes(slotMinutes)));
+        }
+        return schedule;
+    }
+
+    private static final class Booking {
+
+        private final String appointmentId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        Booking(String appointmentId, LocalDateTime start, LocalDateTime end) {
+            this.appointmentId = appointmentId;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    // One doctor's bookings; every method holds the instance lock, so doctors never contend with each other
+    private static class DoctorSchedule {
+
+        private final NavigableSet<Booking> bookings = new TreeSet<>(BOOKING_ORDER);
+        private final Map<String, Booking> byAppointment = new HashMap<>();
+
+        // Book [start, end) for the appointment unless another booking overlaps it; returns that booking
+        synchronized Booking reserve(String appointmentId, LocalDateTime start, LocalDateTime end) {
+            Booking conflict = conflict(start, end, appointmentId);
+            if (conflict != null) {
+                return conflict;
+            }
+            put(new Booking(appointmentId, start, end));
+            return null;
+        }
+
+        synchronized Booking conflict(LocalDateTime start, LocalDateTime end, String ignoreId) {
+            // Latest booking starting before end; with equal slot lengths it also ends last
+            Booking probe = new Booking("", end, end);
+            for (Booking before = bookings.lower(probe); before != null; before = bookings.lower(before)) {
+                if (!before.end.isAfter(start)) {
+                    return null;
+                }
+                if (!before.appointmentId.equals(ignoreId)) {
+                    return before;
+                }
+            }
+            return null;
+        }
+
+        synchronized void put(Booking booking) {
+            release(booking.appointmentId);
+            bookings.add(booking);
+            byAppointment.put(booking.appointmentId, booking);
+        }
+
+        synchronized void release(String appointmentId) {
+            Booking existing = byAppointment.remove(appointmentId);
+            if (existing != null) {
+                bookings.remove(existing);
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.healthcare.queuesystem.engine;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A doctor's weekly working intervals, parsed from the free-text Doctor.availability field.
+ * Understands the forms used in our data, e.g. "Mon-Fri 9AM-5PM", "Mon-Sat 8am-6pm",
+ * "Mon, Wed, Fri 9:30AM-1PM, 2PM-6PM; Sat 10AM-12PM", "Daily 08:00-20:00".
+ * Text that cannot be parsed means "no restriction" ({@link #isRestricted()} is false).
+ */
+public final class WorkingHours {
+
+    public static final WorkingHours UNRESTRICTED = new WorkingHours(new EnumMap<>(DayOfWeek.class), false);
+
+    private static final String DAY = "(?:mon|tue|wed|thu|fri|sat|sun)[a-z]*\\.?";
+    private static final String DAYS = DAY + "(?:\\s*(?:-|–|to)\\s*" + DAY + ")?(?:\\s*[,/&]\\s*" + DAY + "(?:\\s*(?:-|–|to)\\s*" + DAY + ")?)*";
+    private static final String TIME = "\\d{1,2}(?:[:.]\\d{2})?\\s*(?:am|pm)?";
+    private static final String RANGE = TIME + "\\s*(?:-|–|to)\\s*" + TIME;
+
+    private static final Pattern SEGMENT = Pattern.compile(
+            "(" + DAYS + "|daily|everyday|every day|all days)\\s*:?\\s*(" + RANGE + "(?:\\s*(?:,|&|and)\\s*" + RANGE + ")*)");
+    private static final Pattern DAY_TOKEN = Pattern.compile("(" + DAY + ")(?:\\s*(?:-|–|to)\\s*(" + DAY + "))?");
+    private static final Pattern RANGE_TOKEN = Pattern.compile("(" + TIME + ")\\s*(?:-|–|to)\\s*(" + TIME + ")");
+    private static final Pattern TIME_TOKEN = Pattern.compile("(\\d{1,2})(?:[:.](\\d{2}))?\\s*(am|pm)?");
+
+    private final Map<DayOfWeek, List<Interval>> intervals;
+    private final boolean restricted;
+
+    private WorkingHours(Map<DayOfWeek, List<Interval>> intervals, boolean restricted) {
+        this.intervals = intervals;
+        this.restricted = restricted;
+    }
+
+    public static WorkingHours parse(String availability) {
+        if (availability == null || availability.isBlank()) {
+            return UNRESTRICTED;
+        }
+        String text = availability.toLowerCase(Locale.ROOT);
+        Map<DayOfWeek, List<Interval>> parsed = new EnumMap<>(DayOfWeek.class);
+        Matcher segment = SEGMENT.matcher(text);
+        while (segment.find()) {
+            List<DayOfWeek> days = days(segment.group(1));
+            Matcher range = RANGE_TOKEN.matcher(segment.group(2));
+            while (range.find()) {
+                LocalTime start = time(range.group(1), range.group(2), false);
+                LocalTime end = time(range.group(2), range.group(1), true);
+                if (start == null || end == null || !end.isAfter(start)) {
+                    continue;
+                }
+                for (DayOfWeek day : days) {
+                    parsed.computeIfAbsent(day, d -> new ArrayList<>()).add(new Interval(start, end));
+                }
+            }
+        }
+        if (parsed.isEmpty()) {
+            return UNRESTRICTED;
+        }
+        parsed.values().forEach(list -> list.sort((a, b) -> a.getStart().compareTo(b.getStart())));
+        return new WorkingHours(parsed, true);
+    }
+
+    // False when the availability text was empty or not understood
+    public boolean isRestricted() {
+        return restricted;
+    }
+
+    // Working intervals on a weekday, by start time; the whole day when unrestricted
+    public List<Interval> on(DayOfWeek day) {
+        if (!restricted) {
+            return List.of(new Interval(LocalTime.MIDNIGHT, LocalTime.MAX));
+        }
+        return intervals.getOrDefault(day, Collections.emptyList());
+    }
+
+    // True when [start, end) lies inside one working interval of start's day
+    public boolean covers(LocalDateTime start, LocalDateTime end) {
+        if (!restricted) {
+            return true;
+        }
+        if (!end.toLocalDate().equals(start.toLocalDate()) && !end.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+            return false;
+        }
+        LocalTime from = start.toLocalTime();
+        LocalTime until = end.toLocalDate().equals(start.toLocalDate()) ? end.toLocalTime() : LocalTime.MAX;
+        for (Interval interval : on(start.getDayOfWeek())) {
+            if (!from.isBefore(interval.getStart()) && !until.isAfter(interval.getEnd())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<DayOfWeek> days(String spec) {
+        List<DayOfWeek> days = new ArrayList<>();
+        if (spec.startsWith("daily") || spec.startsWith("every") || spec.startsWith("all")) {
+            Collections.addAll(days, DayOfWeek.values());
+            return days;
+        }
+        Matcher token = DAY_TOKEN.matcher(spec);
+        while (token.find()) {
+            DayOfWeek first = day(token.group(1));
+            DayOfWeek last = token.group(2) != null ? day(token.group(2)) : first;
+            // Ranges may wrap around the week, e.g. Sat-Mon
+            for (DayOfWeek day = first; ; day = day.plus(1)) {
+                if (!days.contains(day)) {
+                    days.add(day);
+                }
+                if (day == last) {
+                    break;
+                }
+            }
+        }
+        return days;
+    }
+
+    private static DayOfWeek day(String token) {
+        switch (token.substring(0, 3)) {
+            case "mon": return DayOfWeek.MONDAY;
+            case "tue": return DayOfWeek.TUESDAY;
+            case "wed": return DayOfWeek.WEDNESDAY;
+            case "thu": return DayOfWeek.THURSDAY;
+            case "fri": return DayOfWeek.FRIDAY;
+            case "sat": return DayOfWeek.SATURDAY;
+            default: return DayOfWeek.SUNDAY;
+        }
+    }
+
+    // "9" in "9-5pm" borrows the other end's am/pm; a closing 12am means midnight at the end of the day
+    private static LocalTime time(String token, String other, boolean end) {
+        Matcher time = TIME_TOKEN.matcher(token.trim());
+        if (!time.matches()) {
+            return null;
+        }
+        int hour = Integer.parseInt(time.group(1));
+        int minute = time.group(2) != null ? Integer.parseInt(time.group(2)) : 0;
+        String meridiem = time.group(3);
+        if (meridiem == null) {
+            Matcher otherTime = TIME_TOKEN.matcher(other.trim());
+            if (!end && otherTime.matches() && otherTime.group(3) != null && hour <= 12) {
+                meridiem = otherTime.group(3);
+                // "9-5pm" is a morning start; "1-5pm" an afternoon one
+                int otherHour = Integer.parseInt(otherTime.group(1)) % 12 + ("pm".equals(meridiem) ? 12 : 0);
+                if ("pm".equals(meridiem) && (hour % 12) + 12 > otherHour) {
+                    meridiem = "am";
+                }
+            }
+        }
+        if (meridiem != null) {
+            if (hour < 1 || hour > 12) {
+                return null;
+            }
+            hour = hour % 12 + ("pm".equals(meridiem) ? 12 : 0);
+        }
+        if (end && (hour == 24 || (hour == 0 && minute == 0))) {
+            return LocalTime.MAX;
+        }
+        if (hour > 23 || minute > 59) {
+            return null;
+        }
+        return LocalTime.of(hour, minute);
+    }
+
+    // One working interval within a day, [start, end)
+    public static final class Interval {
+
+        private final LocalTime start;
+        private final LocalTime end;
+
+        Interval(LocalTime start, LocalTime end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public LocalTime getStart() {
+            return start;
+        }
+
+        public LocalTime getEnd() {
+            return end;
+        }
+    }
+}
@@ -5,64 +5,91 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+// Shared by the Spring MVC and the WebFlux (reactive profile) stacks
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
     // Handle general exceptions
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ApiResponse<Object>> handleGlobalException(Exception ex, WebRequest request) {
+    public ResponseEntity<ApiResponse<Object>> handleGlobalException(Exception ex) {
         ApiResponse<Object> response = ApiResponse.error("An internal server error occurred: " + ex.getMessage());
         return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    // Client went away during a streamed response (queue events, exports); there is nobody left to answer
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleAsyncRequestNotUsable(AsyncRequestNotUsableException ex) {
+    }
+
+    // Errors that already carry their status; on WebFlux unknown paths, bad input and wrong methods arrive as these
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ApiResponse<Object>> handleResponseStatusException(ResponseStatusException ex) {
+        String reason = ex.getReason() != null ? ex.getReason() : ex.getMessage();
+        ApiResponse<Object> response = ApiResponse.error(reason, ex.getStatusCode().value());
+        return new ResponseEntity<>(response, ex.getStatusCode());
+    }
+
     // Handle null pointer exceptions
     @ExceptionHandler(NullPointerException.class)
-    public ResponseEntity<ApiResponse<Object>> handleNullPointerException(NullPointerException ex, WebRequest request) {
+    public ResponseEntity<ApiResponse<Object>> handleNullPointerException(NullPointerException ex) {
         ApiResponse<Object> response = ApiResponse.error("A null pointer exception occurred. Please check your request data.");
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
     // Handle illegal argument exceptions
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<ApiResponse<Object>> handleIllegalArgumentException(IllegalArgumentException ex, WebRequest request) {
+    public ResponseEntity<ApiResponse<Object>> handleIllegalArgumentException(IllegalArgumentException ex) {
         ApiResponse<Object> response = ApiResponse.badRequest("Invalid argument: " + ex.getMessage());
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
     // Handle runtime exceptions
     @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<ApiResponse<Object>> handleRuntimeException(RuntimeException ex, WebRequest request) {
+    public ResponseEntity<ApiResponse<Object>> handleRuntimeException(RuntimeException ex) {
         ApiResponse<Object> response = ApiResponse.error("A runtime error occurred: " + ex.getMessage());
         return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     // Custom exception for resource not found
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<ApiResponse<Object>> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
+    public ResponseEntity<ApiResponse<Object>> handleResourceNotFoundException(ResourceNotFoundException ex) {
         ApiResponse<Object> response = ApiResponse.notFound(ex.getMessage());
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
     // Custom exception for validation errors
     @ExceptionHandler(ValidationException.class)
-    public ResponseEntity<ApiResponse<Object>> handleValidationException(ValidationException ex, WebRequest request) {
+    public ResponseEntity<ApiResponse<Object>> handleValidationException(ValidationException ex) {
         ApiResponse<Object> response = ApiResponse.badRequest(ex.getMessage());
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
     // Custom exception for business logic errors
     @ExceptionHandler(BusinessLogicException.class)
-    public ResponseEntity<ApiResponse<Object>> handleBusinessLogicException(BusinessLogicException ex, WebRequest request) {
+    public ResponseEntity<ApiResponse<Object>> handleBusinessLogicException(BusinessLogicException ex) {
         ApiResponse<Object> response = ApiResponse.error(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY.value());
         return new ResponseEntity<>(response, HttpStatus.UNPROCESSABLE_ENTITY);
     }
 
+    // Requested appointment slot is taken or outside working hours; data carries alternatives
+    @ExceptionHandler(SlotConflictException.class)
+    public ResponseEntity<ApiResponse<Object>> handleSlotConflictException(SlotConflictException ex) {
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage(), HttpStatus.CONFLICT.value());
+        Map<String, Object> details = new HashMap<>();
+        details.put("conflictingAppointmentId", ex.getConflictingAppointmentId());
+        details.put("suggestedSlots", ex.getSuggestedSlots());
+        response.setData(details);
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
     // Custom Resource Not Found Exception
     public static class ResourceNotFoundException extends RuntimeException {
         public ResourceNotFoundException(String message) {
@@ -87,4 +114,24 @@ public class GlobalExceptionHandler {
             super(message);
         }
     }
-}
\ No newline at end of file
+
+    // Custom Slot Conflict Exception
+    public static class SlotConflictException extends RuntimeException {
+        private final String conflictingAppointmentId;
+        private final List<LocalDateTime> suggestedSlots;
+
+        public SlotConflictException(String message, String conflictingAppointmentId, List<LocalDateTime> suggestedSlots) {
+            super(message);
+            this.conflictingAppointmentId = conflictingAppointmentId;
+            this.suggestedSlots = suggestedSlots;
+        }
+
+        public String getConflictingAppointmentId() {
+            return conflictingAppointmentId;
+        }
+
+        public List<LocalDateTime> getSuggestedSlots() {
+            return suggestedSlots;
+        }
+    }
+}
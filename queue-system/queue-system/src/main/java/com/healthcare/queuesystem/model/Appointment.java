@@ -2,11 +2,22 @@ package com.healthcare.queuesystem.model;
 
 import com.healthcare.queuesystem.model.enums.AppointmentStatus;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Document(collection = "appointments")
+@CompoundIndexes({
+        @CompoundIndex(name = "date", def = "{ 'appointmentDate' : 1 }"),
+        @CompoundIndex(name = "doctor_date", def = "{ 'doctorId' : 1, 'appointmentDate' : 1 }"),
+        // One booking per doctor and start time across instances; SlotEngine's overlap check runs first.
+        // Cancelled and completed appointments stay out of it ($in in a partial filter needs MongoDB 6.0+)
+        @CompoundIndex(name = "doctor_slot", def = "{ 'doctorId' : 1, 'appointmentDate' : 1 }", unique = true,
+                partialFilter = "{ 'status' : { $in : ['SCHEDULED', 'PENDING'] } }"),
+        @CompoundIndex(name = "patient_date", def = "{ 'patientId' : 1, 'appointmentDate' : 1 }")
+})
 public class Appointment {
 
     @Id
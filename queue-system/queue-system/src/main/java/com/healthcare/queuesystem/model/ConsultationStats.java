@@ -0,0 +1,50 @@
+package com.healthcare.queuesystem.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Document(collection = "consultation_stats")
+public class ConsultationStats {
+
+    @Id
+    private String statsId;     // e.g., "doctor:DOC-1A2B3C4D", "specialization:Cardiology", "all"
+
+    private double averageMinutes;  // exponentially weighted moving average of consultation length
+    private long samples;
+    private LocalDateTime updatedAt;
+
+    // --- Getters & Setters ---
+    public String getStatsId() {
+        return statsId;
+    }
+
+    public void setStatsId(String statsId) {
+        this.statsId = statsId;
+    }
+
+    public double getAverageMinutes() {
+        return averageMinutes;
+    }
+
+    public void setAverageMinutes(double averageMinutes) {
+        this.averageMinutes = averageMinutes;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public void setSamples(long samples) {
+        this.samples = samples;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
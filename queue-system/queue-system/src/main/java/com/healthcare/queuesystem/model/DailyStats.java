@@ -0,0 +1,72 @@
+package com.healthcare.queuesystem.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Document(collection = "daily_stats")
+@CompoundIndex(name = "kind_day_doctor", def = "{ 'kind' : 1, 'day' : 1, 'doctorId' : 1 }")
+public class DailyStats {
+
+    @Id
+    private String statsId;     // e.g., "appointments|2025-03-14|DOC-1A2B3C4D"
+
+    private String kind;        // "appointments" (by appointmentDate) or "queue" (by createdAt)
+    private LocalDate day;
+    private String doctorId;
+    private Map<String, Long> counts;   // status name -> number of entries
+    private LocalDateTime updatedAt;
+
+    // --- Getters & Setters ---
+    public String getStatsId() {
+        return statsId;
+    }
+
+    public void setStatsId(String statsId) {
+        this.statsId = statsId;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(String doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public Map<String, Long> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(Map<String, Long> counts) {
+        this.counts = counts;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -2,18 +2,27 @@ package com.healthcare.queuesystem.model;
 
 import com.healthcare.queuesystem.model.enums.ConsultationOption;
 import com.healthcare.queuesystem.model.enums.Gender;
+import com.healthcare.queuesystem.util.SearchKeys;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Document(collection = "doctors")
+@CompoundIndexes({
+        @CompoundIndex(name = "name", def = "{ 'name' : 1 }"),
+        @CompoundIndex(name = "name_key", def = "{ 'nameKey' : 1 }")
+})
 public class Doctor {
 
     @Id
     private String doctorId;
 
     private String name;
+    private String nameKey;     // SearchKeys.name(name), kept in step by setName; indexed for prefix lookups
     private String specialization;
     private String phone;
     private String email;
@@ -27,6 +36,25 @@ public class Doctor {
     private List<String> appointmentIds;
     private List<String> queueEntryIds;
 
+    // Detached copy, so a caller editing the result never changes a cached instance
+    public Doctor copy() {
+        Doctor copy = new Doctor();
+        copy.doctorId = doctorId;
+        copy.name = name;
+        copy.nameKey = nameKey;
+        copy.specialization = specialization;
+        copy.phone = phone;
+        copy.email = email;
+        copy.department = department;
+        copy.experienceYears = experienceYears;
+        copy.availability = availability;
+        copy.gender = gender;
+        copy.consultationOption = consultationOption;
+        copy.appointmentIds = appointmentIds != null ? new ArrayList<>(appointmentIds) : null;
+        copy.queueEntryIds = queueEntryIds != null ? new ArrayList<>(queueEntryIds) : null;
+        return copy;
+    }
+
     // --- Getters & Setters ---
     public String getDoctorId() {
         return doctorId;
@@ -42,6 +70,11 @@ public class Doctor {
 
     public void setName(String name) {
         this.name = name;
+        this.nameKey = SearchKeys.name(name);
+    }
+
+    public String getNameKey() {
+        return nameKey;
     }
 
     public String getSpecialization() {
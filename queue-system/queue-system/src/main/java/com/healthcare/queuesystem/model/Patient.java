@@ -2,19 +2,29 @@ package com.healthcare.queuesystem.model;
 
 import com.healthcare.queuesystem.model.enums.BloodGroup;
 import com.healthcare.queuesystem.model.enums.Gender;
+import com.healthcare.queuesystem.util.SearchKeys;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @Document(collection = "patients")
+@CompoundIndexes({
+        @CompoundIndex(name = "name", def = "{ 'name' : 1 }"),
+        @CompoundIndex(name = "name_key", def = "{ 'nameKey' : 1 }"),
+        @CompoundIndex(name = "phone", def = "{ 'phone' : 1 }")
+})
 public class Patient {
 
     @Id
     private String patientId;
 
     private String name;
+    private String nameKey;     // SearchKeys.name(name), kept in step by setName; indexed for prefix lookups
     private Integer age;
     private Gender gender;
     private LocalDate dateOfBirth;
@@ -27,6 +37,25 @@ public class Patient {
     private List<String> appointmentIds;
     private List<String> queueEntryIds;
 
+    // Detached copy, so a caller editing the result never changes a cached instance
+    public Patient copy() {
+        Patient copy = new Patient();
+        copy.patientId = patientId;
+        copy.name = name;
+        copy.nameKey = nameKey;
+        copy.age = age;
+        copy.gender = gender;
+        copy.dateOfBirth = dateOfBirth;
+        copy.address = address;
+        copy.phone = phone;
+        copy.email = email;
+        copy.bloodGroup = bloodGroup;
+        copy.medicalHistory = medicalHistory;
+        copy.appointmentIds = appointmentIds != null ? new ArrayList<>(appointmentIds) : null;
+        copy.queueEntryIds = queueEntryIds != null ? new ArrayList<>(queueEntryIds) : null;
+        return copy;
+    }
+
     // --- Getters & Setters ---
     public String getPatientId() {
         return patientId;
@@ -42,6 +71,11 @@ public class Patient {
 
     public void setName(String name) {
         this.name = name;
+        this.nameKey = SearchKeys.name(name);
+    }
+
+    public String getNameKey() {
+        return nameKey;
     }
 
     public Integer getAge() {
@@ -2,11 +2,23 @@ package com.healthcare.queuesystem.model;
 
 import com.healthcare.queuesystem.model.enums.QueueStatus;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Document(collection = "queue_entries")
+@CompoundIndexes({
+        @CompoundIndex(name = "created", def = "{ 'createdAt' : 1 }"),
+        @CompoundIndex(name = "doctor_status_position", def = "{ 'doctorId' : 1, 'status' : 1, 'position' : 1 }"),
+        @CompoundIndex(name = "doctor_position", def = "{ 'doctorId' : 1, 'position' : 1 }"),
+        @CompoundIndex(name = "patient_created", def = "{ 'patientId' : 1, 'createdAt' : 1 }"),
+        @CompoundIndex(name = "doctor_created", def = "{ 'doctorId' : 1, 'createdAt' : 1 }"),
+        // Only entries started by a next-patient call carry a key; the rest stay out of the index
+        @CompoundIndex(name = "doctor_next_request", def = "{ 'doctorId' : 1, 'nextRequestId' : 1 }",
+                partialFilter = "{ 'nextRequestId' : { $exists : true } }")
+})
 public class Queue {
 
     @Id
@@ -18,6 +30,9 @@ public class Queue {
 
     private QueueStatus status;
     private LocalDateTime createdAt;
+    private LocalDateTime startedAt;     // set when the consultation starts (IN_PROGRESS)
+    private LocalDateTime completedAt;   // set when it is COMPLETED
+    private String nextRequestId;        // Idempotency-Key of the next-patient call that started it
 
     // --- Getters & Setters ---
     public String getQueueId() {
@@ -67,4 +82,28 @@ public class Queue {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public String getNextRequestId() {
+        return nextRequestId;
+    }
+
+    public void setNextRequestId(String nextRequestId) {
+        this.nextRequestId = nextRequestId;
+    }
 }
@@ -0,0 +1,30 @@
+package com.healthcare.queuesystem.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "queue_counters")
+public class QueueCounter {
+
+    @Id
+    private String counterId;   // e.g., "queue-position:DOC-1A2B3C4D"
+
+    private long seq;
+
+    // --- Getters & Setters ---
+    public String getCounterId() {
+        return counterId;
+    }
+
+    public void setCounterId(String counterId) {
+        this.counterId = counterId;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+}
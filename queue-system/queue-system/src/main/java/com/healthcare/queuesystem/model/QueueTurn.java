@@ -0,0 +1,70 @@
+package com.healthcare.queuesystem.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Document(collection = "queue_turns")
+public class QueueTurn {
+
+    @Id
+    private String doctorId;
+
+    private String owner;               // token of the call holding the doctor's lease, null when free
+    private LocalDateTime leaseUntil;   // another call may take over after this, e.g. when the holder crashed
+
+    // Intent of an advance in progress, written before its first change and cleared with the lease
+    private boolean advancing;
+    private String startingQueueId;     // entry being started, null when the advance only completes the current one
+    private String requestId;           // Idempotency-Key of that advance
+
+    // --- Getters & Setters ---
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(String doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(LocalDateTime leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    public boolean isAdvancing() {
+        return advancing;
+    }
+
+    public void setAdvancing(boolean advancing) {
+        this.advancing = advancing;
+    }
+
+    public String getStartingQueueId() {
+        return startingQueueId;
+    }
+
+    public void setStartingQueueId(String startingQueueId) {
+        this.startingQueueId = startingQueueId;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+}
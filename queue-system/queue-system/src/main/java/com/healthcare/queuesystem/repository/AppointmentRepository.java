@@ -2,10 +2,12 @@ package com.healthcare.queuesystem.repository;
 
 import com.healthcare.queuesystem.model.Appointment;
 import com.healthcare.queuesystem.model.enums.AppointmentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface AppointmentRepository extends MongoRepository<Appointment, String> {
@@ -19,11 +21,36 @@ public interface AppointmentRepository extends MongoRepository<Appointment, Stri
     // Find appointments by status
     List<Appointment> findByStatus(AppointmentStatus status);
 
-    // Find appointments by date range
-    @Query("{ 'appointmentDateTime' : { $gte: ?0, $lte: ?1 } }")
+    // Find appointments by date range (inclusive), in date order
+    @Query(value = "{ 'appointmentDate' : { $gte: ?0, $lte: ?1 } }", sort = "{ 'appointmentDate' : 1 }")
     List<Appointment> findAppointmentsWithinDateRange(LocalDateTime start, LocalDateTime end);
 
+    // Appointments strictly between start and end, in date order (same bounds as the admin reports)
+    @Query(value = "{ 'appointmentDate' : { $gt: ?0, $lt: ?1 } }", sort = "{ 'appointmentDate' : 1 }")
+    List<Appointment> findAppointmentsBetween(LocalDateTime start, LocalDateTime end);
+
+    // One doctor's appointments strictly between start and end, in date order
+    @Query(value = "{ 'doctorId' : ?0, 'appointmentDate' : { $gt: ?1, $lt: ?2 } }", sort = "{ 'appointmentDate' : 1 }")
+    List<Appointment> findDoctorAppointmentsBetween(String doctorId, LocalDateTime start, LocalDateTime end);
+
+    // A doctor's appointments in the given statuses from a point in time on, in date order
+    @Query(value = "{ 'doctorId' : ?0, 'appointmentDate' : { $gte: ?1 }, 'status' : { $in: ?2 } }", sort = "{ 'appointmentDate' : 1 }")
+    List<Appointment> findDoctorAppointmentsFrom(String doctorId, LocalDateTime from, Collection<AppointmentStatus> statuses);
+
+    // The booking in the given statuses that starts exactly at a doctor's slot, if any
+    Appointment findFirstByDoctorIdAndAppointmentDateAndStatusIn(String doctorId, LocalDateTime appointmentDate,
+                                                                 Collection<AppointmentStatus> statuses);
+
     // Find pending appointments for a doctor
     @Query("{ 'doctorId' : ?0, 'status' : 'PENDING' }")
     List<Appointment> findPendingAppointmentsByDoctor(String doctorId);
+
+    // Page through appointments without counting the collection
+    List<Appointment> findAllBy(Pageable pageable);
+
+    // Keyset page: appointments whose _id sorts after the given cursor
+    List<Appointment> findByAppointmentIdGreaterThan(String appointmentId, Pageable pageable);
+
+    // Delete by id, returning how many documents were actually removed
+    long deleteByAppointmentId(String appointmentId);
 }
@@ -1,6 +1,7 @@
 package com.healthcare.queuesystem.repository;
 
 import com.healthcare.queuesystem.model.Doctor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
@@ -19,7 +20,16 @@ public interface DoctorRepository extends MongoRepository<Doctor, String> {
     @Query("{ 'available' : true }")
     List<Doctor> findAvailableDoctors();
 
-    // Search doctor by name (case-insensitive)
-    @Query("{ 'name': { $regex: ?0, $options: 'i' } }")
-    List<Doctor> searchDoctorsByName(String name);
+    // Doctors whose normalised name sorts in [from, to): a prefix scan over the name_key index
+    @Query("{ 'nameKey': { $gte: ?0, $lt: ?1 } }")
+    List<Doctor> findByNameKeyRange(String from, String to, Pageable pageable);
+
+    // Page through doctors without counting the collection
+    List<Doctor> findAllBy(Pageable pageable);
+
+    // Keyset page: doctors whose _id sorts after the given cursor
+    List<Doctor> findByDoctorIdGreaterThan(String doctorId, Pageable pageable);
+
+    // Delete by id, returning how many documents were actually removed
+    long deleteByDoctorId(String doctorId);
 }
@@ -1,6 +1,7 @@
 package com.healthcare.queuesystem.repository;
 
 import com.healthcare.queuesystem.model.Patient;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
@@ -21,7 +22,16 @@ public interface PatientRepository extends MongoRepository<Patient, String> {
     // Find patients by blood group
     List<Patient> findByBloodGroup(String bloodGroup);
 
-    // Search patient by name (case-insensitive)
-    @Query("{ 'name': { $regex: ?0, $options: 'i' } }")
-    List<Patient> searchPatientsByName(String name);
+    // Patients whose normalised name sorts in [from, to): a prefix scan over the name_key index
+    @Query("{ 'nameKey': { $gte: ?0, $lt: ?1 } }")
+    List<Patient> findByNameKeyRange(String from, String to, Pageable pageable);
+
+    // Page through patients without counting the collection
+    List<Patient> findAllBy(Pageable pageable);
+
+    // Keyset page: patients whose _id sorts after the given cursor
+    List<Patient> findByPatientIdGreaterThan(String patientId, Pageable pageable);
+
+    // Delete by id, returning how many documents were actually removed
+    long deleteByPatientId(String patientId);
 }
@@ -2,9 +2,12 @@ package com.healthcare.queuesystem.repository;
 
 import com.healthcare.queuesystem.model.Queue;
 import com.healthcare.queuesystem.model.enums.QueueStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface QueueRepository extends MongoRepository<Queue, String> {
@@ -12,14 +15,47 @@ public interface QueueRepository extends MongoRepository<Queue, String> {
     // Find queue by doctor
     List<Queue> findByDoctorId(String doctorId);
 
+    // Find queue by doctor in position order (doctor_position index)
+    List<Queue> findByDoctorIdOrderByPositionAsc(String doctorId);
+
+    // Find queue entries for a doctor with the given statuses in position order (doctor_status_position index)
+    List<Queue> findByDoctorIdAndStatusInOrderByPositionAsc(String doctorId, Collection<QueueStatus> statuses);
+
+    // Only the positions of a doctor's entries with the given statuses, for wait-time estimates
+    @Query(value = "{ 'doctorId': ?0, 'status': { $in: ?1 } }", fields = "{ 'position': 1 }", sort = "{ 'position': 1 }")
+    List<Queue> findPositionsByDoctorIdAndStatusIn(String doctorId, Collection<QueueStatus> statuses);
+
+    // Find queue history for a patient in arrival order (patient_created index)
+    List<Queue> findByPatientIdOrderByCreatedAtAsc(String patientId);
+
+    // Queue entries created strictly between start and end, in arrival order
+    @Query(value = "{ 'createdAt' : { $gt: ?0, $lt: ?1 } }", sort = "{ 'createdAt' : 1 }")
+    List<Queue> findQueuesCreatedBetween(LocalDateTime start, LocalDateTime end);
+
+    // One doctor's queue entries created strictly between start and end (doctor_created index)
+    @Query(value = "{ 'doctorId' : ?0, 'createdAt' : { $gt: ?1, $lt: ?2 } }", sort = "{ 'createdAt' : 1 }")
+    List<Queue> findDoctorQueuesCreatedBetween(String doctorId, LocalDateTime start, LocalDateTime end);
+
     // Find queue by status
     List<Queue> findByStatus(QueueStatus status);
 
     // Find active queues for a doctor
-    @Query("{ 'doctorId' : ?0, 'status' : 'ACTIVE' }")
+    @Query(value = "{ 'doctorId' : ?0, 'status' : { $in: ['WAITING', 'IN_PROGRESS'] } }", sort = "{ 'position' : 1 }")
     List<Queue> findActiveQueuesByDoctor(String doctorId);
 
+    // Find the highest position handed out for a doctor
+    Queue findTopByDoctorIdOrderByPositionDesc(String doctorId);
+
     // Find all completed queues
     @Query("{ 'status' : 'COMPLETED' }")
     List<Queue> findCompletedQueues();
+
+    // Page through queues without counting the collection
+    List<Queue> findAllBy(Pageable pageable);
+
+    // Keyset page: queues whose _id sorts after the given cursor
+    List<Queue> findByQueueIdGreaterThan(String queueId, Pageable pageable);
+
+    // Delete by id, returning how many documents were actually removed
+    long deleteByQueueId(String queueId);
 }
@@ -0,0 +1,14 @@
+package com.healthcare.queuesystem.repository.reactive;
+
+import com.healthcare.queuesystem.model.Appointment;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveAppointmentRepository extends ReactiveMongoRepository<Appointment, String> {
+
+    // Find appointments by doctor
+    Flux<Appointment> findByDoctorId(String doctorId);
+
+    // Find appointments by patient
+    Flux<Appointment> findByPatientId(String patientId);
+}
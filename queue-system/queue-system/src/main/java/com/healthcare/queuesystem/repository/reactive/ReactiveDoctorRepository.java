@@ -0,0 +1,7 @@
+package com.healthcare.queuesystem.repository.reactive;
+
+import com.healthcare.queuesystem.model.Doctor;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ReactiveDoctorRepository extends ReactiveMongoRepository<Doctor, String> {
+}
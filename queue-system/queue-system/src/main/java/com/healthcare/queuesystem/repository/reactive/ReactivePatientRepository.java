@@ -0,0 +1,7 @@
+package com.healthcare.queuesystem.repository.reactive;
+
+import com.healthcare.queuesystem.model.Patient;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ReactivePatientRepository extends ReactiveMongoRepository<Patient, String> {
+}
@@ -0,0 +1,22 @@
+package com.healthcare.queuesystem.repository.reactive;
+
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.enums.QueueStatus;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+public interface ReactiveQueueRepository extends ReactiveMongoRepository<Queue, String> {
+
+    // Find queue by doctor in position order (doctor_position index)
+    Flux<Queue> findByDoctorIdOrderByPositionAsc(String doctorId);
+
+    // Find queue entries for a doctor with the given statuses in position order (doctor_status_position index)
+    Flux<Queue> findByDoctorIdAndStatusInOrderByPositionAsc(String doctorId, Collection<QueueStatus> statuses);
+
+    // Only the positions of a doctor's entries with the given statuses, for wait-time estimates
+    @Query(value = "{ 'doctorId': ?0, 'status': { $in: ?1 } }", fields = "{ 'position': 1 }", sort = "{ 'position': 1 }")
+    Flux<Queue> findPositionsByDoctorIdAndStatusIn(String doctorId, Collection<QueueStatus> statuses);
+}
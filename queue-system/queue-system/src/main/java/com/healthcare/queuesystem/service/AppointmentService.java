@@ -1,6 +1,9 @@
 package com.healthcare.queuesystem.service;
 
 import com.healthcare.queuesystem.model.Appointment;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface AppointmentService {
@@ -11,5 +14,21 @@ public interface AppointmentService {
 
     Appointment getAppointmentById(String appointmentId);
 
+    Appointment getAppointmentOrArchived(String appointmentId);
+
     List<Appointment> getAllAppointments();
+
+    List<Appointment> getAppointmentsPage(int page, int size);
+
+    List<Appointment> getAppointmentsAfter(String appointmentId, int size);
+
+    List<Appointment> getAppointmentsByDoctor(String doctorId);
+
+    List<Appointment> getAppointmentsByPatient(String patientId);
+
+    List<Appointment> getAppointmentsForDay(LocalDate date, String doctorId);
+
+    List<Appointment> getAppointmentsBetween(LocalDateTime start, LocalDateTime end, String doctorId);
+
+    List<Appointment> getRecentAppointments(int limit);
 }
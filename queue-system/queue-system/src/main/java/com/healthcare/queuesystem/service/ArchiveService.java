@@ -0,0 +1,24 @@
+package com.healthcare.queuesystem.service;
+
+import com.healthcare.queuesystem.model.Appointment;
+import com.healthcare.queuesystem.model.Queue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface ArchiveService {
+    String APPOINTMENTS_ARCHIVE = "appointments_archive";
+    String QUEUE_ARCHIVE = "queue_entries_archive";
+
+    Map<String, Object> archiveNow();
+    boolean mayHoldAppointmentsAfter(LocalDateTime start);
+    boolean mayHoldQueuesAfter(LocalDateTime start);
+    List<Appointment> getArchivedAppointmentsBetween(LocalDateTime start, LocalDateTime end, String doctorId);
+    List<Queue> getArchivedQueuesBetween(LocalDateTime start, LocalDateTime end, String doctorId);
+    Appointment getArchivedAppointment(String appointmentId);
+    Queue getArchivedQueue(String queueId);
+    List<Appointment> getArchivedAppointmentsByDoctor(String doctorId);
+    List<Appointment> getArchivedAppointmentsByPatient(String patientId);
+    List<Queue> getArchivedQueuesByPatient(String patientId);
+}
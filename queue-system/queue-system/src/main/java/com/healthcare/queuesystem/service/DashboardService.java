@@ -0,0 +1,8 @@
+package com.healthcare.queuesystem.service;
+
+import java.util.Map;
+
+public interface DashboardService {
+    Map<String, Object> getDashboardStats();
+    Map<String, Object> rebuildDashboardStats();
+}
@@ -1,11 +1,16 @@
 package com.healthcare.queuesystem.service;
 
 import com.healthcare.queuesystem.model.Doctor;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface DoctorService {
     Doctor saveDoctor(Doctor doctor);
     void deleteDoctor(String doctorId);
     Doctor getDoctorById(String doctorId);
     List<Doctor> getAllDoctors();
+    List<Doctor> getDoctorsPage(int page, int size);
+    List<Doctor> getDoctorsAfter(String doctorId, int size);
+    Map<String, String> getDoctorNames(Collection<String> doctorIds);
 }
@@ -0,0 +1,10 @@
+package com.healthcare.queuesystem.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface ExportService {
+    long exportAppointments(LocalDateTime start, LocalDateTime end, String doctorId, OutputStream out) throws IOException;
+    long exportQueueEntries(LocalDateTime start, LocalDateTime end, String doctorId, OutputStream out) throws IOException;
+}
@@ -1,11 +1,25 @@
 package com.healthcare.queuesystem.service.Implementation;
 
+import com.healthcare.queuesystem.engine.AppointmentCalendar;
+import com.healthcare.queuesystem.engine.DailyRollups;
+import com.healthcare.queuesystem.engine.DashboardStatistics;
+import com.healthcare.queuesystem.engine.SlotEngine;
 import com.healthcare.queuesystem.model.Appointment;
 import com.healthcare.queuesystem.repository.AppointmentRepository;
 import com.healthcare.queuesystem.service.AppointmentService;
+import com.healthcare.queuesystem.service.ArchiveService;
+import com.healthcare.queuesystem.util.KeysetPaging;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 @Service
@@ -14,14 +28,62 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Autowired
     private AppointmentRepository appointmentRepository;
 
+    @Autowired
+    private DashboardStatistics dashboardStatistics;
+
+    @Autowired
+    private AppointmentCalendar appointmentCalendar;
+
+    @Autowired
+    private DailyRollups dailyRollups;
+
+    @Autowired
+    private SlotEngine slotEngine;
+
+    @Autowired
+    private ArchiveService archiveService;
+
     @Override
     public Appointment saveAppointment(Appointment appointment) {
-        return appointmentRepository.save(appointment);
+        Appointment previous = appointment.getAppointmentId() != null
+                ? appointmentRepository.findById(appointment.getAppointmentId()).orElse(null)
+                : null;
+        if (appointment.getAppointmentId() == null) {
+            // Same id MongoDB would assign, but known before the slot is claimed
+            appointment.setAppointmentId(new ObjectId().toHexString());
+        }
+        // Throws SlotConflictException when the doctor is already booked or not working then
+        slotEngine.reserve(previous, appointment);
+        return dashboardStatistics.recordWrite(() -> {
+            Appointment savedAppointment;
+            try {
+                savedAppointment = appointmentRepository.save(appointment);
+            } catch (DuplicateKeyException e) {
+                // Another instance booked the slot after our in-memory check
+                throw slotEngine.takenInDatabase(previous, appointment);
+            } catch (RuntimeException e) {
+                slotEngine.onAppointmentChanged(appointment, previous);
+                throw e;
+            }
+            dashboardStatistics.onAppointmentChanged(previous, savedAppointment);
+            dailyRollups.onAppointmentChanged(previous, savedAppointment);
+            appointmentCalendar.onAppointmentChanged(previous, savedAppointment);
+            return savedAppointment;
+        });
     }
 
     @Override
     public void deleteAppointment(String appointmentId) {
-        appointmentRepository.deleteById(appointmentId);
+        Appointment previous = appointmentRepository.findById(appointmentId).orElse(null);
+        dashboardStatistics.recordWrite(() -> {
+            if (appointmentRepository.deleteByAppointmentId(appointmentId) > 0 && previous != null) {
+                dashboardStatistics.onAppointmentChanged(previous, null);
+                dailyRollups.onAppointmentChanged(previous, null);
+                appointmentCalendar.onAppointmentChanged(previous, null);
+                slotEngine.onAppointmentChanged(previous, null);
+            }
+            return null;
+        });
     }
 
     @Override
@@ -29,8 +91,73 @@ public class AppointmentServiceImpl implements AppointmentService {
         return appointmentRepository.findById(appointmentId).orElse(null);
     }
 
+    // Read-only lookup that also finds appointments already moved to the archive
+    @Override
+    public Appointment getAppointmentOrArchived(String appointmentId) {
+        Appointment appointment = getAppointmentById(appointmentId);
+        return appointment != null ? appointment : archiveService.getArchivedAppointment(appointmentId);
+    }
+
     @Override
     public List<Appointment> getAllAppointments() {
         return appointmentRepository.findAll();
     }
+
+    @Override
+    public List<Appointment> getAppointmentsPage(int page, int size) {
+        return appointmentRepository.findAllBy(PageRequest.of(page, size, Sort.by("appointmentId")));
+    }
+
+    @Override
+    public List<Appointment> getAppointmentsAfter(String appointmentId, int size) {
+        return KeysetPaging.pageAfter(appointmentId, size, "appointmentId",
+                appointmentRepository::findAllBy, appointmentRepository::findByAppointmentIdGreaterThan);
+    }
+
+    // Archived history first, then the hot collection
+    @Override
+    public List<Appointment> getAppointmentsByDoctor(String doctorId) {
+        List<Appointment> appointments = archiveService.getArchivedAppointmentsByDoctor(doctorId);
+        appointments.addAll(appointmentRepository.findByDoctorId(doctorId));
+        return appointments;
+    }
+
+    @Override
+    public List<Appointment> getAppointmentsByPatient(String patientId) {
+        List<Appointment> appointments = archiveService.getArchivedAppointmentsByPatient(patientId);
+        appointments.addAll(appointmentRepository.findByPatientId(patientId));
+        return appointments;
+    }
+
+    @Override
+    public List<Appointment> getAppointmentsForDay(LocalDate date, String doctorId) {
+        return doctorId != null && !doctorId.isEmpty()
+                ? appointmentCalendar.getDoctorDay(doctorId, date)
+                : appointmentCalendar.getDay(date);
+    }
+
+    @Override
+    public List<Appointment> getAppointmentsBetween(LocalDateTime start, LocalDateTime end, String doctorId) {
+        String doctor = doctorId != null && !doctorId.isEmpty() ? doctorId : null;
+        List<Appointment> appointments = appointmentCalendar.getRange(start, end, doctor);
+        if (appointments == null) {
+            // Longer than the calendar holds: indexed range query instead
+            appointments = doctor != null
+                    ? appointmentRepository.findDoctorAppointmentsBetween(doctor, start, end)
+                    : appointmentRepository.findAppointmentsBetween(start, end);
+        }
+        if (!archiveService.mayHoldAppointmentsAfter(start)) {
+            return appointments;
+        }
+        // The range reaches back into the archive
+        List<Appointment> merged = new ArrayList<>(archiveService.getArchivedAppointmentsBetween(start, end, doctor));
+        merged.addAll(appointments);
+        merged.sort(Comparator.comparing(Appointment::getAppointmentDate).thenComparing(Appointment::getAppointmentId));
+        return merged;
+    }
+
+    @Override
+    public List<Appointment> getRecentAppointments(int limit) {
+        return appointmentRepository.findAllBy(PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "appointmentDate")));
+    }
 }
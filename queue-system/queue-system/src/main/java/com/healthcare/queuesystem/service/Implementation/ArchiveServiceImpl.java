@@ -0,0 +1,330 @@
+package com.healthcare.queuesystem.service.Implementation;
+
+import com.healthcare.queuesystem.engine.AppointmentCalendar;
+import com.healthcare.queuesystem.engine.DashboardStatistics;
+import com.healthcare.queuesystem.engine.QueueEngine;
+import com.healthcare.queuesystem.model.Appointment;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.enums.AppointmentStatus;
+import com.healthcare.queuesystem.model.enums.QueueStatus;
+import com.healthcare.queuesystem.service.ArchiveService;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Moves finished queue entries and finished past appointments out of the hot collections into
+ * queue_entries_archive / appointments_archive, in batches: each batch is copied to the archive
+ * first and only then deleted from the hot collection, so an interrupted run loses nothing and
+ * the next run simply finishes it. Runs every app.archive.interval-hours on a background thread,
+ * or on demand from the admin API. With app.archive.retention-days set, a TTL index on archivedAt
+ * drops archived documents after that many days.
+ * Only terminal statuses are archived (COMPLETED / SKIPPED entries, COMPLETED / CANCELLED
+ * appointments): archived documents are never updated again, so a past appointment still
+ * SCHEDULED or PENDING stays where it can be resolved.
+ * Ranged reads only go to the archive when the range starts before the newest archived date;
+ * lookups by id, doctor or patient, dashboard totals, rollup rebuilds and unranged utilization
+ * include it whenever it holds anything, while unranged list reports show current data only.
+ */
+@Service
+public class ArchiveServiceImpl implements ArchiveService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private QueueEngine queueEngine;
+
+    @Autowired
+    private AppointmentCalendar appointmentCalendar;
+
+    @Autowired
+    private DashboardStatistics dashboardStatistics;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.queue-age-days:30}")
+    private int queueAgeDays;
+
+    @Value("${app.archive.appointment-age-days:90}")
+    private int appointmentAgeDays;
+
+    @Value("${app.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.archive.interval-hours:24}")
+    private long intervalHours;
+
+    @Value("${app.archive.retention-days:0}")
+    private long retentionDays;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // Newest date in each archive; ranges starting later never need the archive
+    private volatile LocalDateTime appointmentsArchivedUntil;
+    private volatile LocalDateTime queuesArchivedUntil;
+    private volatile boolean watermarksLoaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleArchiving() {
+        scheduler.execute(this::prepare);
+        if (enabled && intervalHours > 0) {
+            scheduler.scheduleWithFixedDelay(this::archiveOnSchedule, intervalHours, intervalHours, TimeUnit.HOURS);
+        }
+    }
+
+    @Override
+    public Map<String, Object> archiveNow() {
+        Map<String, Object> result = new HashMap<>();
+        if (!running.compareAndSet(false, true)) {
+            result.put("status", "already running");
+            return result;
+        }
+        try {
+            long started = System.currentTimeMillis();
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime queueCutoff = now.minusDays(queueAgeDays);
+            LocalDateTime appointmentCutoff = now.minusDays(appointmentAgeDays);
+
+            long queues = move(Queue.class, QUEUE_ARCHIVE, "createdAt",
+                    where("status").in(QueueStatus.COMPLETED, QueueStatus.SKIPPED).and("createdAt").lt(queueCutoff));
+            long appointments = move(Appointment.class, APPOINTMENTS_ARCHIVE, "appointmentDate",
+                    where("status").in(AppointmentStatus.COMPLETED, AppointmentStatus.CANCELLED)
+                            .and("appointmentDate").lt(appointmentCutoff));
+
+            // Cached views and counters still include what was moved
+            if (queues > 0) {
+                queueEngine.evictAll();
+            }
+            if (appointments > 0) {
+                appointmentCalendar.evictAll();
+            }
+            if (queues > 0 || appointments > 0) {
+                dashboardStatistics.rebuild();
+            }
+
+            result.put("status", "completed");
+            result.put("archivedQueueEntries", queues);
+            result.put("archivedAppointments", appointments);
+            result.put("queueCutoff", queueCutoff.toString());
+            result.put("appointmentCutoff", appointmentCutoff.toString());
+            result.put("elapsedMs", System.currentTimeMillis() - started);
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public boolean mayHoldAppointmentsAfter(LocalDateTime start) {
+        LocalDateTime until = appointmentsArchivedUntil;
+        return !watermarksLoaded || (until != null && start.isBefore(until));
+    }
+
+    @Override
+    public boolean mayHoldQueuesAfter(LocalDateTime start) {
+        LocalDateTime until = queuesArchivedUntil;
+        return !watermarksLoaded || (until != null && start.isBefore(until));
+    }
+
+    // Same bounds as the hot range queries: strictly after start and before end
+    @Override
+    public List<Appointment> getArchivedAppointmentsBetween(LocalDateTime start, LocalDateTime end, String doctorId) {
+        return mongoTemplate.find(rangeQuery("appointmentDate", start, end, doctorId), Appointment.class, APPOINTMENTS_ARCHIVE);
+    }
+
+    @Override
+    public List<Queue> getArchivedQueuesBetween(LocalDateTime start, LocalDateTime end, String doctorId) {
+        return mongoTemplate.find(rangeQuery("createdAt", start, end, doctorId), Queue.class, QUEUE_ARCHIVE);
+    }
+
+    @Override
+    public Appointment getArchivedAppointment(String appointmentId) {
+        return holdsAppointments() ? mongoTemplate.findById(appointmentId, Appointment.class, APPOINTMENTS_ARCHIVE) : null;
+    }
+
+    @Override
+    public Queue getArchivedQueue(String queueId) {
+        return holdsQueues() ? mongoTemplate.findById(queueId, Queue.class, QUEUE_ARCHIVE) : null;
+    }
+
+    @Override
+    public List<Appointment> getArchivedAppointmentsByDoctor(String doctorId) {
+        return holdsAppointments()
+                ? mongoTemplate.find(ownerQuery("doctorId", doctorId, "appointmentDate"), Appointment.class, APPOINTMENTS_ARCHIVE)
+                : new ArrayList<>();
+    }
+
+    @Override
+    public List<Appointment> getArchivedAppointmentsByPatient(String patientId) {
+        return holdsAppointments()
+                ? mongoTemplate.find(ownerQuery("patientId", patientId, "appointmentDate"), Appointment.class, APPOINTMENTS_ARCHIVE)
+                : new ArrayList<>();
+    }
+
+    @Override
+    public List<Queue> getArchivedQueuesByPatient(String patientId) {
+        return holdsQueues()
+                ? mongoTemplate.find(ownerQuery("patientId", patientId, "createdAt"), Queue.class, QUEUE_ARCHIVE)
+                : new ArrayList<>();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // Until the watermarks are read the archive may hold anything; afterwards no watermark means empty
+    private boolean holdsAppointments() {
+        return !watermarksLoaded || appointmentsArchivedUntil != null;
+    }
+
+    private boolean holdsQueues() {
+        return !watermarksLoaded || queuesArchivedUntil != null;
+    }
+
+    private void archiveOnSchedule() {
+        try {
+            Map<String, Object> result = archiveNow();
+            System.out.println("🗄️ Archived " + result.get("archivedQueueEntries") + " queue entries and "
+                    + result.get("archivedAppointments") + " appointments in " + result.get("elapsedMs") + " ms");
+        } catch (Exception e) {
+            System.err.println("❌ Error archiving history: " + e.getMessage());
+        }
+    }
+
+    // Copy matching documents to the archive batch by batch, deleting each batch once it is stored there
+    private long move(Class<?> type, String archive, String dateField, Criteria criteria) {
+        String hot = mongoTemplate.getCollectionName(type);
+        long moved = 0;
+        List<Document> batch;
+        do {
+            // Query through Spring so dates are converted the same way they were written
+            batch = mongoTemplate.find(new Query(criteria).limit(batchSize), Document.class, hot);
+            if (batch.isEmpty()) {
+                break;
+            }
+            Date archivedAt = new Date();
+            List<Object> ids = new ArrayList<>(batch.size());
+            Date newest = null;
+            for (Document document : batch) {
+                document.put("archivedAt", archivedAt);
+                ids.add(document.get("_id"));
+                Date date = document.getDate(dateField);
+                if (date != null && (newest == null || date.after(newest))) {
+                    newest = date;
+                }
+            }
+            insertIgnoringDuplicates(archive, batch);
+            moved += mongoTemplate.getCollection(hot).deleteMany(Filters.in("_id", ids)).getDeletedCount();
+            if (newest != null) {
+                advanceWatermark(archive, LocalDateTime.ofInstant(newest.toInstant(), ZoneId.systemDefault()));
+            }
+        } while (batch.size() == batchSize);
+        return moved;
+    }
+
+    // A batch copied by an interrupted run is already in the archive; only its delete is missing
+    private void insertIgnoringDuplicates(String archive, List<Document> batch) {
+        try {
+            mongoTemplate.getCollection(archive).insertMany(batch, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            for (BulkWriteError error : e.getWriteErrors()) {
+                if (error.getCode() != 11000) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private synchronized void advanceWatermark(String archive, LocalDateTime newest) {
+        if (APPOINTMENTS_ARCHIVE.equals(archive)) {
+            if (appointmentsArchivedUntil == null || newest.isAfter(appointmentsArchivedUntil)) {
+                appointmentsArchivedUntil = newest;
+            }
+        } else if (queuesArchivedUntil == null || newest.isAfter(queuesArchivedUntil)) {
+            queuesArchivedUntil = newest;
+        }
+    }
+
+    // Archive indexes for the report queries, the optional retention TTL, and the watermarks
+    private void prepare() {
+        try {
+            ensureIndexes(APPOINTMENTS_ARCHIVE, "appointmentDate");
+            ensureIndexes(QUEUE_ARCHIVE, "createdAt");
+
+            Appointment newestAppointment = mongoTemplate.findOne(
+                    new Query().with(Sort.by(Sort.Direction.DESC, "appointmentDate")), Appointment.class, APPOINTMENTS_ARCHIVE);
+            Queue newestQueue = mongoTemplate.findOne(
+                    new Query().with(Sort.by(Sort.Direction.DESC, "createdAt")), Queue.class, QUEUE_ARCHIVE);
+            if (newestAppointment != null && newestAppointment.getAppointmentDate() != null) {
+                advanceWatermark(APPOINTMENTS_ARCHIVE, newestAppointment.getAppointmentDate());
+            }
+            if (newestQueue != null && newestQueue.getCreatedAt() != null) {
+                advanceWatermark(QUEUE_ARCHIVE, newestQueue.getCreatedAt());
+            }
+            watermarksLoaded = true;
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not prepare archive collections: " + e.getMessage());
+        }
+    }
+
+    private void ensureIndexes(String archive, String dateField) {
+        IndexOperations indexOps = mongoTemplate.indexOps(archive);
+        indexOps.createIndex(new Index().on(dateField, Sort.Direction.ASC).named("date"));
+        indexOps.createIndex(new Index().on("doctorId", Sort.Direction.ASC).on(dateField, Sort.Direction.ASC).named("doctor_date"));
+        indexOps.createIndex(new Index().on("patientId", Sort.Direction.ASC).on(dateField, Sort.Direction.ASC).named("patient_date"));
+        if (retentionDays > 0) {
+            indexOps.createIndex(new Index().on("archivedAt", Sort.Direction.ASC).named("archived_ttl")
+                    .expire(Duration.ofDays(retentionDays)));
+        }
+    }
+
+    private static Query rangeQuery(String dateField, LocalDateTime start, LocalDateTime end, String doctorId) {
+        Query query = new Query(where(dateField).gt(start).lt(end));
+        if (doctorId != null && !doctorId.isEmpty()) {
+            query.addCriteria(where("doctorId").is(doctorId));
+        }
+        return query.with(Sort.by(dateField));
+    }
+
+    private static Query ownerQuery(String ownerField, String ownerId, String dateField) {
+        return new Query(where(ownerField).is(ownerId)).with(Sort.by(dateField));
+    }
+}
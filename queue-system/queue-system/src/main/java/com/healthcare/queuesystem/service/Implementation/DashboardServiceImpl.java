@@ -0,0 +1,131 @@
+package com.healthcare.queuesystem.service.Implementation;
+
+import com.healthcare.queuesystem.engine.DashboardStatistics;
+import com.healthcare.queuesystem.model.Appointment;
+import com.healthcare.queuesystem.model.Doctor;
+import com.healthcare.queuesystem.model.Patient;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.enums.AppointmentStatus;
+import com.healthcare.queuesystem.model.enums.QueueStatus;
+import com.healthcare.queuesystem.service.ArchiveService;
+import com.healthcare.queuesystem.service.DashboardService;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.count;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.facet;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private DashboardStatistics dashboardStatistics;
+
+    @Override
+    public Map<String, Object> getDashboardStats() {
+        // Live counters once they are built, otherwise fall back to aggregating
+        if (dashboardStatistics.isReady()) {
+            return dashboardStatistics.snapshot();
+        }
+        return aggregateDashboardStats();
+    }
+
+    @Override
+    public Map<String, Object> rebuildDashboardStats() {
+        dashboardStatistics.rebuild();
+        return dashboardStatistics.snapshot();
+    }
+
+    private Map<String, Object> aggregateDashboardStats() {
+        Map<String, Object> stats = new HashMap<>();
+
+        // Count totals
+        stats.put("totalPatients", mongoTemplate.estimatedCount(Patient.class));
+        stats.put("totalDoctors", mongoTemplate.estimatedCount(Doctor.class));
+
+        // Appointments: total, per status and today's in one round trip per collection, archive included
+        // The whole calendar day, midnight included, like the live counters' per-day buckets
+        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
+        LocalDateTime startOfNextDay = startOfDay.plusDays(1);
+        TypedAggregation<Appointment> appointmentFacets = Aggregation.newAggregation(Appointment.class,
+                facet(count().as("count")).as("total")
+                        .and(group("status").count().as("count")).as("byStatus")
+                        .and(match(Criteria.where("appointmentDate").gte(startOfDay).lt(startOfNextDay)),
+                                count().as("count")).as("today"));
+        List<Document> appointments = Arrays.asList(
+                aggregate(appointmentFacets, mongoTemplate.getCollectionName(Appointment.class)),
+                aggregate(appointmentFacets, ArchiveService.APPOINTMENTS_ARCHIVE));
+
+        Map<String, Long> appointmentsByStatus = countsByStatus(appointments);
+        stats.put("totalAppointments", facetCount(appointments, "total"));
+        stats.put("scheduledAppointments", appointmentsByStatus.getOrDefault(AppointmentStatus.SCHEDULED.name(), 0L));
+        stats.put("completedAppointments", appointmentsByStatus.getOrDefault(AppointmentStatus.COMPLETED.name(), 0L));
+        stats.put("pendingAppointments", appointmentsByStatus.getOrDefault(AppointmentStatus.PENDING.name(), 0L));
+        stats.put("todaysAppointments", facetCount(appointments, "today"));
+
+        // Queue entries: total and per status in one round trip per collection, archive included
+        TypedAggregation<Queue> queueFacets = Aggregation.newAggregation(Queue.class,
+                facet(count().as("count")).as("total")
+                        .and(group("status").count().as("count")).as("byStatus"));
+        List<Document> queues = Arrays.asList(
+                aggregate(queueFacets, mongoTemplate.getCollectionName(Queue.class)),
+                aggregate(queueFacets, ArchiveService.QUEUE_ARCHIVE));
+
+        Map<String, Long> queuesByStatus = countsByStatus(queues);
+        stats.put("totalQueueEntries", facetCount(queues, "total"));
+        stats.put("waitingInQueue", queuesByStatus.getOrDefault(QueueStatus.WAITING.name(), 0L));
+        stats.put("inProgressQueue", queuesByStatus.getOrDefault(QueueStatus.IN_PROGRESS.name(), 0L));
+
+        return stats;
+    }
+
+    // Null when the collection does not exist yet, e.g. an archive before the first run
+    private Document aggregate(TypedAggregation<?> aggregation, String collection) {
+        return mongoTemplate.aggregate(aggregation, collection, Document.class).getUniqueMappedResult();
+    }
+
+    // $count emits no document at all for an empty input, so a missing facet row means zero
+    private static long facetCount(List<Document> results, String facet) {
+        long total = 0L;
+        for (Document facets : results) {
+            List<Document> rows = facets != null ? facets.getList(facet, Document.class) : null;
+            if (rows != null && !rows.isEmpty()) {
+                total += ((Number) rows.get(0).get("count")).longValue();
+            }
+        }
+        return total;
+    }
+
+    private static Map<String, Long> countsByStatus(List<Document> results) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Document facets : results) {
+            if (facets == null || facets.getList("byStatus", Document.class) == null) {
+                continue;
+            }
+            for (Document row : facets.getList("byStatus", Document.class)) {
+                Object status = row.get("_id");
+                if (status != null) {
+                    counts.merge(status.toString(), ((Number) row.get("count")).longValue(), Long::sum);
+                }
+            }
+        }
+        return counts;
+    }
+}
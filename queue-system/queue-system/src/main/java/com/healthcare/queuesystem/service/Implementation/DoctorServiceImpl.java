@@ -1,12 +1,23 @@
 package com.healthcare.queuesystem.service.Implementation;
 
+import com.healthcare.queuesystem.config.CacheConfig;
+import com.healthcare.queuesystem.engine.DashboardStatistics;
+import com.healthcare.queuesystem.engine.SearchIndex;
 import com.healthcare.queuesystem.model.Doctor;
 import com.healthcare.queuesystem.repository.DoctorRepository;
 import com.healthcare.queuesystem.service.DoctorService;
+import com.healthcare.queuesystem.util.EntityCache;
+import com.healthcare.queuesystem.util.KeysetPaging;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class DoctorServiceImpl implements DoctorService {
@@ -14,23 +25,65 @@ public class DoctorServiceImpl implements DoctorService {
     @Autowired
     private DoctorRepository doctorRepository;
 
+    @Autowired
+    private DashboardStatistics dashboardStatistics;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
     @Override
+    @CacheEvict(cacheNames = CacheConfig.DOCTORS, key = "#doctor.doctorId", condition = "#doctor.doctorId != null")
     public Doctor saveDoctor(Doctor doctor) {
-        return doctorRepository.save(doctor);
+        boolean created = doctor.getDoctorId() == null || !doctorRepository.existsById(doctor.getDoctorId());
+        return dashboardStatistics.recordWrite(() -> {
+            Doctor savedDoctor = doctorRepository.save(doctor);
+            dashboardStatistics.onDoctorSaved(savedDoctor, created);
+            searchIndex.onDoctorSaved(savedDoctor);
+            return savedDoctor;
+        });
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.DOCTORS, key = "#doctorId")
     public void deleteDoctor(String doctorId) {
-        doctorRepository.deleteById(doctorId);
+        // Only the call that actually removed the document adjusts the counters
+        dashboardStatistics.recordWrite(() -> {
+            if (doctorRepository.deleteByDoctorId(doctorId) > 0) {
+                dashboardStatistics.onDoctorDeleted(doctorId);
+                searchIndex.onDoctorDeleted(doctorId);
+            }
+            return null;
+        });
     }
 
     @Override
     public Doctor getDoctorById(String doctorId) {
-        return doctorRepository.findById(doctorId).orElse(null);
+        return EntityCache.get(cacheManager.getCache(CacheConfig.DOCTORS), doctorId, Doctor.class,
+                doctorRepository::findById, Doctor::copy);
     }
 
     @Override
     public List<Doctor> getAllDoctors() {
         return doctorRepository.findAll();
     }
+
+    @Override
+    public List<Doctor> getDoctorsPage(int page, int size) {
+        return doctorRepository.findAllBy(PageRequest.of(page, size, Sort.by("doctorId")));
+    }
+
+    @Override
+    public List<Doctor> getDoctorsAfter(String doctorId, int size) {
+        return KeysetPaging.pageAfter(doctorId, size, "doctorId",
+                doctorRepository::findAllBy, doctorRepository::findByDoctorIdGreaterThan);
+    }
+
+    @Override
+    public Map<String, String> getDoctorNames(Collection<String> doctorIds) {
+        return EntityCache.names(cacheManager.getCache(CacheConfig.DOCTORS), doctorIds, Doctor.class,
+                Doctor::getDoctorId, Doctor::getName, doctorRepository::findAllById);
+    }
 }
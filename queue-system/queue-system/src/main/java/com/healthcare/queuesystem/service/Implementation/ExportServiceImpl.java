@@ -0,0 +1,131 @@
+package com.healthcare.queuesystem.service.Implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.healthcare.queuesystem.model.Appointment;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.service.ArchiveService;
+import com.healthcare.queuesystem.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * Writes matching documents as newline-delimited JSON straight from MongoDB cursors.
+ * Only one cursor batch per collection is held in memory; a slow client blocks the write,
+ * which in turn stops the cursors from fetching more. Archived documents are merged in
+ * by date, so the output is in date order across the hot and archive collections.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final int CURSOR_BATCH_SIZE = 500;
+    private static final int FLUSH_EVERY = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Override
+    public long exportAppointments(LocalDateTime start, LocalDateTime end, String doctorId, OutputStream out) throws IOException {
+        Query query = rangeQuery("appointmentDate", start, end, doctorId)
+                .with(Sort.by("appointmentDate"));
+        boolean archived = start == null || end == null || archiveService.mayHoldAppointmentsAfter(start);
+        return stream(query, Appointment.class, archived ? ArchiveService.APPOINTMENTS_ARCHIVE : null,
+                Comparator.comparing(Appointment::getAppointmentDate, Comparator.nullsFirst(Comparator.naturalOrder())), out);
+    }
+
+    @Override
+    public long exportQueueEntries(LocalDateTime start, LocalDateTime end, String doctorId, OutputStream out) throws IOException {
+        Query query = rangeQuery("createdAt", start, end, doctorId)
+                .with(Sort.by("createdAt"));
+        boolean archived = start == null || end == null || archiveService.mayHoldQueuesAfter(start);
+        return stream(query, Queue.class, archived ? ArchiveService.QUEUE_ARCHIVE : null,
+                Comparator.comparing(Queue::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder())), out);
+    }
+
+    // Same bounds as the report endpoints: strictly after start and before end
+    private static Query rangeQuery(String dateField, LocalDateTime start, LocalDateTime end, String doctorId) {
+        Query query = new Query();
+        if (start != null && end != null) {
+            query.addCriteria(Criteria.where(dateField).gt(start).lt(end));
+        }
+        if (doctorId != null && !doctorId.isEmpty()) {
+            query.addCriteria(Criteria.where("doctorId").is(doctorId));
+        }
+        return query.cursorBatchSize(CURSOR_BATCH_SIZE);
+    }
+
+    // Hot and archived documents overlap in time (unfinished entries stay hot however old they are),
+    // so both cursors, each sorted by the query, are merged on the same date rather than concatenated
+    private <T> long stream(Query query, Class<T> type, String archive, Comparator<T> order, OutputStream out) throws IOException {
+        long written = 0;
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out);
+             Stream<T> hot = mongoTemplate.stream(query, type);
+             Stream<T> archived = archive != null ? mongoTemplate.stream(query, type, archive) : Stream.empty()) {
+            written = write(merge(hot.iterator(), archived.iterator(), order), writer);
+            // Terminate the last line as NDJSON expects
+            writer.flush();
+            if (written > 0) {
+                out.write('\n');
+            }
+        }
+        return written;
+    }
+
+    private static <T> long write(Iterator<T> iterator, SequenceWriter writer) throws IOException {
+        long written = 0;
+        while (iterator.hasNext()) {
+            writer.write(iterator.next());
+            if (++written % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        return written;
+    }
+
+    // Two sorted iterators as one; on equal dates the hot document comes first
+    private static <T> Iterator<T> merge(Iterator<T> first, Iterator<T> second, Comparator<T> order) {
+        return new Iterator<>() {
+            private T nextFirst = first.hasNext() ? first.next() : null;
+            private T nextSecond = second.hasNext() ? second.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return nextFirst != null || nextSecond != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T result;
+                if (nextSecond == null || (nextFirst != null && order.compare(nextFirst, nextSecond) <= 0)) {
+                    result = nextFirst;
+                    nextFirst = first.hasNext() ? first.next() : null;
+                } else {
+                    result = nextSecond;
+                    nextSecond = second.hasNext() ? second.next() : null;
+                }
+                return result;
+            }
+        };
+    }
+}
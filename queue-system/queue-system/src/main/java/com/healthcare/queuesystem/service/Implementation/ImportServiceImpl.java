@@ -0,0 +1,430 @@
+package com.healthcare.queuesystem.service.Implementation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.healthcare.queuesystem.dto.ImportResultDto;
+import com.healthcare.queuesystem.engine.DailyRollups;
+import com.healthcare.queuesystem.engine.DashboardStatistics;
+import com.healthcare.queuesystem.engine.QueuePositionSequencer;
+import com.healthcare.queuesystem.engine.SearchIndex;
+import com.healthcare.queuesystem.model.Doctor;
+import com.healthcare.queuesystem.model.Patient;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.service.ImportService;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Streams patient and doctor rosters (CSV with a header row, or NDJSON) into MongoDB
+ * through bulk inserts. Records are converted one at a time and written in batches, so
+ * memory stays bounded by batch size × parallelism however large the file is.
+ * Unordered imports write several batches concurrently and skip bad records; ordered
+ * imports write one batch at a time and stop at the first failure.
+ */
+@Service
+public class ImportServiceImpl implements ImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 20;
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DashboardStatistics dashboardStatistics;
+
+    @Autowired
+    private DailyRollups dailyRollups;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private QueuePositionSequencer positionSequencer;
+
+    @Value("${app.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.import.parallelism:4}")
+    private int parallelism;
+
+    @Override
+    public ImportResultDto importPatients(InputStream in, String format, boolean ordered) throws IOException {
+        return importRoster(in, format, ordered, Patient.class, "patients", patient -> {
+            if (isBlank(patient.getPatientId())) {
+                patient.setPatientId(generateId("PAT-"));
+            }
+            if (patient.getAppointmentIds() == null) {
+                patient.setAppointmentIds(new ArrayList<>());
+            }
+            if (patient.getQueueEntryIds() == null) {
+                patient.setQueueEntryIds(new ArrayList<>());
+            }
+        });
+    }
+
+    @Override
+    public ImportResultDto importDoctors(InputStream in, String format, boolean ordered) throws IOException {
+        return importRoster(in, format, ordered, Doctor.class, "doctors", doctor -> {
+            if (isBlank(doctor.getDoctorId())) {
+                doctor.setDoctorId(generateId("DOC-"));
+            }
+            if (doctor.getAppointmentIds() == null) {
+                doctor.setAppointmentIds(new ArrayList<>());
+            }
+            if (doctor.getQueueEntryIds() == null) {
+                doctor.setQueueEntryIds(new ArrayList<>());
+            }
+        });
+    }
+
+    // Dashboard counters are left to the caller (seeding runs before the startup rebuild)
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> ImportResultDto insertAll(List<T> documents, Class<T> type, boolean ordered) {
+        long start = System.currentTimeMillis();
+        ImportResultDto result = new ImportResultDto(mongoTemplate.getCollectionName(type), ordered);
+        BatchWriter<T> writer = new BatchWriter<>(type, ordered, result);
+        for (T document : documents) {
+            if (!writer.add(document)) {
+                break;
+            }
+        }
+        writer.finish();
+        // Queue entries arrive with positions already set; later nextPosition calls must not reuse them
+        if (type == Queue.class && result.getInserted() > 0) {
+            positionSequencer.advancePast((List<Queue>) documents);
+        }
+        result.setRead(documents.size());
+        result.setElapsedMs(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    private <T> ImportResultDto importRoster(InputStream in, String format, boolean ordered,
+                                             Class<T> type, String label, Consumer<T> prepare) throws IOException {
+        boolean csv = CSV.equalsIgnoreCase(format);
+        if (!csv && !NDJSON.equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported import format: " + format);
+        }
+
+        long start = System.currentTimeMillis();
+        ImportResultDto result = new ImportResultDto(label, ordered);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        ObjectReader jsonReader = objectMapper.readerFor(type);
+        BatchWriter<T> writer = new BatchWriter<>(type, ordered, result);
+
+        List<String> header = csv ? readCsvRecord(reader) : null;
+        if (header != null && !header.isEmpty()) {
+            header.set(0, header.get(0).replace("\uFEFF", ""));    // byte order mark from spreadsheet exports
+        }
+        long record = 0;
+        try {
+            while (true) {
+                T document;
+                if (csv) {
+                    List<String> fields = readCsvRecord(reader);
+                    if (fields == null) {
+                        break;
+                    }
+                    if (fields.size() == 1 && fields.get(0).isBlank()) {
+                        continue;
+                    }
+                    record++;
+                    try {
+                        document = fromCsv(header, fields, type);
+                    } catch (IllegalArgumentException e) {
+                        writer.reject("record " + record + ": " + e.getMessage());
+                        if (ordered) {
+                            break;
+                        }
+                        continue;
+                    }
+                } else {
+                    String line = reader.readLine();
+                    if (line == null) {
+                        break;
+                    }
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    record++;
+                    try {
+                        document = jsonReader.readValue(line);
+                    } catch (JsonProcessingException e) {
+                        writer.reject("record " + record + ": " + e.getOriginalMessage());
+                        if (ordered) {
+                            break;
+                        }
+                        continue;
+                    }
+                }
+                prepare.accept(document);
+                if (!writer.add(document)) {
+                    break;
+                }
+            }
+            writer.finish();
+        } finally {
+            writer.close();
+        }
+
+        result.setRead(record);
+        result.setElapsedMs(System.currentTimeMillis() - start);
+        if (result.getInserted() > 0) {
+            try {
+                dashboardStatistics.rebuild();
+            } catch (Exception e) {
+                System.err.println("⚠️ Dashboard statistics not refreshed after " + label + " import: " + e.getMessage());
+            }
+            dailyRollups.requestRebuild();
+            searchIndex.requestReload();
+        }
+        return result;
+    }
+
+    // Columns map to entity properties by header name; empty cells stay null
+    private <T> T fromCsv(List<String> header, List<String> fields, Class<T> type) {
+        if (header == null) {
+            throw new IllegalArgumentException("missing header row");
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < header.size() && i < fields.size(); i++) {
+            String value = fields.get(i).trim();
+            if (!value.isEmpty()) {
+                values.put(header.get(i).trim(), value);
+            }
+        }
+        return objectMapper.convertValue(values, type);
+    }
+
+    // One RFC 4180 record: quoted fields may contain commas, doubled quotes and line breaks.
+    // Null at the end of input; package-private for tests
+    static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Longer than the 8 hex digits used for single saves, which start colliding within a large roster
+    private static String generateId(String prefix) {
+        return prefix + UUID.randomUUID().toString().replace("-", "").substring(0, 16).toUpperCase();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Collects documents into batches and writes each with one bulk insert. Unordered
+     * batches run on a small pool, with at most {@code parallelism} in flight at once.
+     */
+    private class BatchWriter<T> {
+
+        private final Class<T> type;
+        private final boolean ordered;
+        private final ImportResultDto result;
+        private final AtomicLong inserted = new AtomicLong();
+        private final AtomicLong duplicates = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final List<String> errors = new ArrayList<>();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private final Semaphore inFlight;
+        private final ExecutorService pool;
+        private List<T> batch;
+        private volatile boolean stopped;
+
+        BatchWriter(Class<T> type, boolean ordered, ImportResultDto result) {
+            this.type = type;
+            this.ordered = ordered;
+            this.result = result;
+            this.batch = new ArrayList<>(batchSize);
+            int threads = ordered ? 1 : Math.max(1, parallelism);
+            this.inFlight = new Semaphore(threads);
+            this.pool = ordered ? null : Executors.newFixedThreadPool(threads, daemonThreads());
+        }
+
+        // False once the import should stop reading (ordered failure or a database error)
+        boolean add(T document) {
+            if (stopped) {
+                return false;
+            }
+            batch.add(document);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+            return !stopped;
+        }
+
+        // Stops any batches still running when reading fails part-way
+        void close() {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+        }
+
+        void reject(String message) {
+            rejected.incrementAndGet();
+            error(message);
+        }
+
+        void finish() {
+            try {
+                if (!stopped && !batch.isEmpty()) {
+                    flush();
+                }
+                if (pool != null) {
+                    pool.shutdown();
+                    pool.awaitTermination(1, TimeUnit.HOURS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopped = true;
+            } finally {
+                if (pool != null) {
+                    pool.shutdownNow();
+                }
+            }
+
+            result.setInserted(inserted.get());
+            result.setDuplicates(duplicates.get());
+            result.setRejected(rejected.get());
+            synchronized (errors) {
+                result.setErrors(new ArrayList<>(errors));
+            }
+            result.setCompleted(!stopped && (!ordered || rejected.get() + duplicates.get() == 0));
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+        }
+
+        private void flush() {
+            List<T> full = batch;
+            batch = new ArrayList<>(batchSize);
+            if (ordered) {
+                write(full);
+                return;
+            }
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopped = true;
+                return;
+            }
+            pool.execute(() -> {
+                try {
+                    write(full);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        private void write(List<T> documents) {
+            try {
+                BulkWriteResult written = mongoTemplate
+                        .bulkOps(ordered ? BulkMode.ORDERED : BulkMode.UNORDERED, type)
+                        .insert(documents)
+                        .execute();
+                inserted.addAndGet(written.getInsertedCount());
+            } catch (BulkOperationException e) {
+                // Inserts either succeed or fail per document: an ordered batch stops at its first error
+                List<BulkWriteError> failed = e.getErrors();
+                inserted.addAndGet(ordered && !failed.isEmpty() ? failed.get(0).getIndex() : documents.size() - failed.size());
+                for (BulkWriteError error : failed) {
+                    if (error.getCode() == DUPLICATE_KEY) {
+                        duplicates.incrementAndGet();
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                    error(error.getMessage());
+                }
+                if (ordered) {
+                    stopped = true;
+                }
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+                stopped = true;
+            }
+        }
+
+        private void error(String message) {
+            synchronized (errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(message);
+                }
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "bulk-import-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
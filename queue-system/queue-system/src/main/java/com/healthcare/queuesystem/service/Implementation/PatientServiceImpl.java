@@ -1,12 +1,23 @@
 package com.healthcare.queuesystem.service.Implementation;
 
+import com.healthcare.queuesystem.config.CacheConfig;
+import com.healthcare.queuesystem.engine.DashboardStatistics;
+import com.healthcare.queuesystem.engine.SearchIndex;
 import com.healthcare.queuesystem.model.Patient;
 import com.healthcare.queuesystem.repository.PatientRepository;
 import com.healthcare.queuesystem.service.PatientService;
+import com.healthcare.queuesystem.util.EntityCache;
+import com.healthcare.queuesystem.util.KeysetPaging;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class PatientServiceImpl implements PatientService {
@@ -14,23 +25,65 @@ public class PatientServiceImpl implements PatientService {
     @Autowired
     private PatientRepository patientRepository;
 
+    @Autowired
+    private DashboardStatistics dashboardStatistics;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
     @Override
+    @CacheEvict(cacheNames = CacheConfig.PATIENTS, key = "#patient.patientId", condition = "#patient.patientId != null")
     public Patient savePatient(Patient patient) {
-        return patientRepository.save(patient);
+        boolean created = patient.getPatientId() == null || !patientRepository.existsById(patient.getPatientId());
+        return dashboardStatistics.recordWrite(() -> {
+            Patient savedPatient = patientRepository.save(patient);
+            dashboardStatistics.onPatientSaved(savedPatient, created);
+            searchIndex.onPatientSaved(savedPatient);
+            return savedPatient;
+        });
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.PATIENTS, key = "#patientId")
     public void deletePatient(String patientId) {
-        patientRepository.deleteById(patientId);
+        // Only the call that actually removed the document adjusts the counters
+        dashboardStatistics.recordWrite(() -> {
+            if (patientRepository.deleteByPatientId(patientId) > 0) {
+                dashboardStatistics.onPatientDeleted(patientId);
+                searchIndex.onPatientDeleted(patientId);
+            }
+            return null;
+        });
     }
 
     @Override
     public Patient getPatientById(String patientId) {
-        return patientRepository.findById(patientId).orElse(null);
+        return EntityCache.get(cacheManager.getCache(CacheConfig.PATIENTS), patientId, Patient.class,
+                patientRepository::findById, Patient::copy);
     }
 
     @Override
     public List<Patient> getAllPatients() {
         return patientRepository.findAll();
     }
+
+    @Override
+    public List<Patient> getPatientsPage(int page, int size) {
+        return patientRepository.findAllBy(PageRequest.of(page, size, Sort.by("patientId")));
+    }
+
+    @Override
+    public List<Patient> getPatientsAfter(String patientId, int size) {
+        return KeysetPaging.pageAfter(patientId, size, "patientId",
+                patientRepository::findAllBy, patientRepository::findByPatientIdGreaterThan);
+    }
+
+    @Override
+    public Map<String, String> getPatientNames(Collection<String> patientIds) {
+        return EntityCache.names(cacheManager.getCache(CacheConfig.PATIENTS), patientIds, Patient.class,
+                Patient::getPatientId, Patient::getName, patientRepository::findAllById);
+    }
 }
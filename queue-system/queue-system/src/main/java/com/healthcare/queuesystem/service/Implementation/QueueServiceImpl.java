@@ -1,12 +1,42 @@
 package com.healthcare.queuesystem.service.Implementation;
 
+import com.healthcare.queuesystem.engine.ConsultationTimeEstimator;
+import com.healthcare.queuesystem.engine.DailyRollups;
+import com.healthcare.queuesystem.engine.DashboardStatistics;
+import com.healthcare.queuesystem.engine.DoctorTurnLease;
+import com.healthcare.queuesystem.engine.QueueEngine;
+import com.healthcare.queuesystem.engine.QueueEventBroadcaster;
+import com.healthcare.queuesystem.engine.QueuePositionSequencer;
 import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.QueueTurn;
+import com.healthcare.queuesystem.model.enums.QueueStatus;
 import com.healthcare.queuesystem.repository.QueueRepository;
+import com.healthcare.queuesystem.service.ArchiveService;
 import com.healthcare.queuesystem.service.QueueService;
+import com.healthcare.queuesystem.util.KeysetPaging;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
 
 @Service
 public class QueueServiceImpl implements QueueService {
@@ -14,14 +44,60 @@ public class QueueServiceImpl implements QueueService {
     @Autowired
     private QueueRepository queueRepository;
 
+    @Autowired
+    private QueueEngine queueEngine;
+
+    @Autowired
+    private QueuePositionSequencer positionSequencer;
+
+    @Autowired
+    private DashboardStatistics dashboardStatistics;
+
+    @Autowired
+    private DailyRollups dailyRollups;
+
+    @Autowired
+    private QueueEventBroadcaster queueEventBroadcaster;
+
+    @Autowired
+    private ConsultationTimeEstimator consultationTimeEstimator;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private DoctorTurnLease doctorTurnLease;
+
+    // One lock per doctor, so next-patient calls for different doctors never wait on each other
+    private final ConcurrentMap<String, Object> nextPatientLocks = new ConcurrentHashMap<>();
+
     @Override
     public Queue saveQueue(Queue queue) {
-        return queueRepository.save(queue);
+        Queue previous = queue.getQueueId() != null ? findPrevious(queue.getQueueId()) : null;
+        ConsultationTimeEstimator.stamp(previous, queue);
+        return dashboardStatistics.recordWrite(() -> {
+            Queue savedQueue = queueRepository.save(queue);
+            afterWrite(previous, savedQueue);
+            return savedQueue;
+        });
     }
 
     @Override
     public void deleteQueue(String queueId) {
-        queueRepository.deleteById(queueId);
+        Queue previous = findPrevious(queueId);
+        dashboardStatistics.recordWrite(() -> {
+            long deleted = queueRepository.deleteByQueueId(queueId);
+            queueEngine.remove(queueId);
+            if (deleted > 0 && previous != null) {
+                dashboardStatistics.onQueueChanged(previous, null);
+                dailyRollups.onQueueChanged(previous, null);
+                queueEventBroadcaster.publish(previous, null);
+            }
+            return null;
+        });
     }
 
     @Override
@@ -29,8 +105,319 @@ public class QueueServiceImpl implements QueueService {
         return queueRepository.findById(queueId).orElse(null);
     }
 
+    // Read-only lookup that also finds entries already moved to the archive
+    @Override
+    public Queue getQueueOrArchived(String queueId) {
+        Queue queue = getQueueById(queueId);
+        return queue != null ? queue : archiveService.getArchivedQueue(queueId);
+    }
+
     @Override
     public List<Queue> getAllQueues() {
         return queueRepository.findAll();
     }
+
+    @Override
+    public List<Queue> getQueuesPage(int page, int size) {
+        return queueRepository.findAllBy(PageRequest.of(page, size, Sort.by("queueId")));
+    }
+
+    @Override
+    public List<Queue> getQueuesAfter(String queueId, int size) {
+        return KeysetPaging.pageAfter(queueId, size, "queueId",
+                queueRepository::findAllBy, queueRepository::findByQueueIdGreaterThan);
+    }
+
+    @Override
+    public List<Queue> getQueuesByDoctor(String doctorId) {
+        return queueEngine.getQueue(doctorId);
+    }
+
+    @Override
+    public List<Queue> getActiveQueuesByDoctor(String doctorId) {
+        return queueEngine.getActiveQueue(doctorId);
+    }
+
+    @Override
+    public List<Queue> getQueuesByPatient(String patientId) {
+        List<Queue> queues = queueRepository.findByPatientIdOrderByCreatedAtAsc(patientId);
+        List<Queue> archived = archiveService.getArchivedQueuesByPatient(patientId);
+        if (archived.isEmpty()) {
+            return queues;
+        }
+        archived.addAll(queues);
+        archived.sort(Comparator.comparing(Queue::getCreatedAt).thenComparing(Queue::getQueueId));
+        return archived;
+    }
+
+    // Hot entries plus archived ones when the range reaches back into the archive
+    @Override
+    public List<Queue> getQueuesCreatedBetween(LocalDateTime start, LocalDateTime end, String doctorId) {
+        String doctor = doctorId != null && !doctorId.isEmpty() ? doctorId : null;
+        List<Queue> queues = doctor != null
+                ? queueRepository.findDoctorQueuesCreatedBetween(doctor, start, end)
+                : queueRepository.findQueuesCreatedBetween(start, end);
+        if (!archiveService.mayHoldQueuesAfter(start)) {
+            return queues;
+        }
+        List<Queue> merged = new ArrayList<>(archiveService.getArchivedQueuesBetween(start, end, doctor));
+        merged.addAll(queues);
+        merged.sort(Comparator.comparing(Queue::getCreatedAt).thenComparing(Queue::getQueueId));
+        return merged;
+    }
+
+    @Override
+    public Queue getNextWaitingQueue(String doctorId) {
+        return queueEngine.peekNextWaiting(doctorId);
+    }
+
+    /**
+     * Completes the doctor's current patient and starts the next WAITING one. The calls for a doctor
+     * are serialized across instances by the doctor's lease in queue_turns (and by a local lock in
+     * this instance). Before its first write the call records which entry it is starting, so if an
+     * instance dies halfway, whoever takes the lease next finishes that advance first. A repeated
+     * idempotencyKey returns the entry the first call started, whatever its status by now, instead
+     * of advancing again: a retry that arrives after someone else moved the queue on must not
+     * complete a patient who was never seen. Null when nobody is waiting.
+     */
+    @Override
+    public Queue moveToNextPatient(String doctorId, String idempotencyKey) {
+        synchronized (nextPatientLocks.computeIfAbsent(doctorId, id -> new Object())) {
+            QueueTurn turn = doctorTurnLease.acquire(doctorId);
+            try {
+                finishInterruptedAdvance(turn);
+                if (idempotencyKey != null) {
+                    Queue earlier = mongoTemplate.findOne(query(where("doctorId").is(doctorId)
+                            .and("nextRequestId").is(idempotencyKey)), Queue.class);
+                    if (earlier != null) {
+                        return earlier;
+                    }
+                }
+                while (true) {
+                    Queue waiting = mongoTemplate.findOne(
+                            query(where("doctorId").is(doctorId).and("status").is(QueueStatus.WAITING))
+                                    .with(Sort.by("position")),
+                            Queue.class);
+                    String startingQueueId = waiting != null ? waiting.getQueueId() : null;
+                    doctorTurnLease.recordAdvance(turn, startingQueueId, idempotencyKey);
+                    Queue started = advance(doctorId, startingQueueId, idempotencyKey);
+                    doctorTurnLease.clearAdvance(turn);
+                    // Null with a candidate means it left the queue after it was picked: pick again
+                    if (started != null || waiting == null) {
+                        return started;
+                    }
+                }
+            } finally {
+                doctorTurnLease.release(turn);
+            }
+        }
+    }
+
+    // A holder that died mid-advance left its intent on the turn; carry it out before anything else
+    private void finishInterruptedAdvance(QueueTurn turn) {
+        if (turn.isAdvancing()) {
+            advance(turn.getDoctorId(), turn.getStartingQueueId(), turn.getRequestId());
+            doctorTurnLease.clearAdvance(turn);
+        }
+    }
+
+    // Completes every IN_PROGRESS entry of the doctor except the one being started, then starts it.
+    // Safe to repeat: a second run finds nothing left to complete and the entry already started.
+    // Null when there is nothing to start or the entry is neither WAITING nor already started
+    private Queue advance(String doctorId, String startingQueueId, String idempotencyKey) {
+        // Truncated to what MongoDB stores, so the in-memory copies match the documents
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+        Criteria inProgress = where("doctorId").is(doctorId).and("status").is(QueueStatus.IN_PROGRESS);
+        if (startingQueueId != null) {
+            inProgress = inProgress.and("_id").ne(startingQueueId);
+        }
+        Query completing = query(inProgress);
+        Queue completed;
+        do {
+            completed = dashboardStatistics.recordWrite(() -> {
+                Queue current = mongoTemplate.findAndModify(completing,
+                        new Update().set("status", QueueStatus.COMPLETED).set("completedAt", now), Queue.class);
+                if (current == null) {
+                    return null;
+                }
+                Queue done = QueueEngine.copyOf(current);
+                done.setStatus(QueueStatus.COMPLETED);
+                done.setCompletedAt(now);
+                afterWrite(current, done);
+                return done;
+            });
+        } while (completed != null);
+        if (startingQueueId == null) {
+            return null;
+        }
+
+        Update start = new Update().set("status", QueueStatus.IN_PROGRESS).set("startedAt", now).unset("completedAt");
+        if (idempotencyKey != null) {
+            start.set("nextRequestId", idempotencyKey);
+        }
+        Queue started = dashboardStatistics.recordWrite(() -> {
+            Queue waiting = mongoTemplate.findAndModify(
+                    query(where("_id").is(startingQueueId).and("status").is(QueueStatus.WAITING)),
+                    start,
+                    Queue.class);
+            if (waiting == null) {
+                return null;
+            }
+            Queue starting = QueueEngine.copyOf(waiting);
+            starting.setStatus(QueueStatus.IN_PROGRESS);
+            starting.setStartedAt(now);
+            starting.setCompletedAt(null);
+            if (idempotencyKey != null) {
+                starting.setNextRequestId(idempotencyKey);
+            }
+            afterWrite(waiting, starting);
+            return starting;
+        });
+        if (started == null) {
+            // Started by the interrupted run already, or no longer waiting
+            return mongoTemplate.findOne(
+                    query(where("_id").is(startingQueueId).and("status").is(QueueStatus.IN_PROGRESS)), Queue.class);
+        }
+        return started;
+    }
+
+    @Override
+    public int countActiveQueuesByDoctor(String doctorId) {
+        return queueEngine.countActive(doctorId);
+    }
+
+    @Override
+    public int countActiveQueuesAhead(String doctorId, Integer position) {
+        return queueEngine.countActiveAhead(doctorId, position);
+    }
+
+    @Override
+    public int estimateWaitMinutes(String doctorId, Integer position) {
+        return consultationTimeEstimator.estimateWaitMinutes(doctorId, queueEngine.countActiveAhead(doctorId, position));
+    }
+
+    // queueId -> minutes for every WAITING entry in the list; each doctor's active positions are read once
+    @Override
+    public Map<String, Integer> estimateWaitTimes(List<Queue> queues) {
+        Map<String, List<Queue>> waitingByDoctor = new HashMap<>();
+        for (Queue queue : queues) {
+            if (queue.getStatus() == QueueStatus.WAITING && queue.getDoctorId() != null && queue.getPosition() != null) {
+                waitingByDoctor.computeIfAbsent(queue.getDoctorId(), doctorId -> new ArrayList<>()).add(queue);
+            }
+        }
+        Map<String, Integer> waitTimes = new HashMap<>();
+        for (Map.Entry<String, List<Queue>> doctor : waitingByDoctor.entrySet()) {
+            int[] positions = activePositions(doctor.getKey());
+            for (Queue queue : doctor.getValue()) {
+                int ahead = Arrays.binarySearch(positions, queue.getPosition());
+                // Equal positions are not ahead; step back to the first of any duplicates
+                if (ahead < 0) {
+                    ahead = -ahead - 1;
+                } else {
+                    while (ahead > 0 && positions[ahead - 1] == queue.getPosition()) {
+                        ahead--;
+                    }
+                }
+                waitTimes.put(queue.getQueueId(), consultationTimeEstimator.estimateWaitMinutes(doctor.getKey(), ahead));
+            }
+        }
+        return waitTimes;
+    }
+
+    // From the engine when the doctor's queue is already in memory; a list never loads every doctor's queue
+    private int[] activePositions(String doctorId) {
+        int[] cached = queueEngine.cachedActivePositions(doctorId);
+        if (cached != null) {
+            return cached;
+        }
+        return queueRepository.findPositionsByDoctorIdAndStatusIn(doctorId, List.of(QueueStatus.WAITING, QueueStatus.IN_PROGRESS))
+                .stream()
+                .map(Queue::getPosition)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .sorted()
+                .toArray();
+    }
+
+    @Override
+    public int nextQueuePosition(String doctorId) {
+        return positionSequencer.nextPosition(doctorId);
+    }
+
+    // One deleteMany on the server; cached doctor queues are dropped and reload on next access
+    @Override
+    public long deleteQueuesByStatus(QueueStatus status) {
+        long deleted = dashboardStatistics.recordWrite(() -> {
+            long removed = mongoTemplate.remove(query(where("status").is(status)), Queue.class).getDeletedCount();
+            dashboardStatistics.onQueuesChanged(status, null, removed);
+            return removed;
+        });
+        if (deleted > 0) {
+            queueEngine.evictAll();
+            // Rows gone without knowing their days: recount the rollups in the background
+            dailyRollups.requestRebuild();
+        }
+        return deleted;
+    }
+
+    // Every entry of the doctor that is not COMPLETED goes back to WAITING: one updateMany per
+    // source status, so the dashboard counters move by exact amounts. Holds the doctor's
+    // lease so no next-patient call on any instance starts a patient halfway through
+    @Override
+    public long resetQueuesToWaiting(String doctorId) {
+        synchronized (nextPatientLocks.computeIfAbsent(doctorId, id -> new Object())) {
+            QueueTurn turn = doctorTurnLease.acquire(doctorId);
+            try {
+                return resetToWaiting(turn);
+            } finally {
+                doctorTurnLease.release(turn);
+            }
+        }
+    }
+
+    private long resetToWaiting(QueueTurn turn) {
+        String doctorId = turn.getDoctorId();
+        // An interrupted advance would otherwise be replayed after the reset
+        if (turn.isAdvancing()) {
+            doctorTurnLease.clearAdvance(turn);
+        }
+        long changed = 0;
+        for (QueueStatus status : QueueStatus.values()) {
+            if (status == QueueStatus.COMPLETED || status == QueueStatus.WAITING) {
+                continue;
+            }
+            long modified = dashboardStatistics.recordWrite(() -> {
+                long updated = mongoTemplate.updateMulti(
+                        query(where("doctorId").is(doctorId).and("status").is(status)),
+                        new Update().set("status", QueueStatus.WAITING).unset("startedAt"),
+                        Queue.class).getModifiedCount();
+                dashboardStatistics.onQueuesChanged(status, QueueStatus.WAITING, updated);
+                return updated;
+            });
+            changed += modified;
+        }
+        if (changed > 0) {
+            queueEngine.evict(doctorId);
+            dailyRollups.requestRebuild();
+            queueEventBroadcaster.publishResync(doctorId);
+        }
+        // Reported like before: every entry that is not COMPLETED, including those already WAITING
+        return mongoTemplate.count(query(where("doctorId").is(doctorId).and("status").is(QueueStatus.WAITING)), Queue.class);
+    }
+
+    // Keep the engine, dashboard counters, report rollups, wait estimates and live streams in step with a write
+    private void afterWrite(Queue previous, Queue saved) {
+        queueEngine.put(saved);
+        dashboardStatistics.onQueueChanged(previous, saved);
+        dailyRollups.onQueueChanged(previous, saved);
+        consultationTimeEstimator.onQueueChanged(previous, saved);
+        queueEventBroadcaster.publish(previous, saved);
+    }
+
+    // Stored state before a write, from memory when the doctor's queue is loaded
+    private Queue findPrevious(String queueId) {
+        Queue previous = queueEngine.find(queueId);
+        return previous != null ? previous : queueRepository.findById(queueId).orElse(null);
+    }
 }
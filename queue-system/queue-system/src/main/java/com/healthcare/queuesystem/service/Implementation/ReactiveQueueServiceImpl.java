@@ -0,0 +1,192 @@
+package com.healthcare.queuesystem.service.Implementation;
+
+import com.healthcare.queuesystem.config.CacheConfig;
+import com.healthcare.queuesystem.engine.ConsultationTimeEstimator;
+import com.healthcare.queuesystem.engine.DailyRollups;
+import com.healthcare.queuesystem.engine.DashboardStatistics;
+import com.healthcare.queuesystem.engine.QueueEngine;
+import com.healthcare.queuesystem.engine.QueueEventBroadcaster;
+import com.healthcare.queuesystem.model.Doctor;
+import com.healthcare.queuesystem.model.Patient;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.enums.QueueStatus;
+import com.healthcare.queuesystem.repository.reactive.ReactiveDoctorRepository;
+import com.healthcare.queuesystem.repository.reactive.ReactivePatientRepository;
+import com.healthcare.queuesystem.repository.reactive.ReactiveQueueRepository;
+import com.healthcare.queuesystem.service.ReactiveQueueService;
+import com.healthcare.queuesystem.util.EntityCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Non-blocking queue reads and status changes for the reactive profile.
+ * Writes go to MongoDB reactively; the in-memory queue engine, dashboard counters and
+ * live event streams are then updated on a worker thread, exactly as QueueServiceImpl does.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveQueueServiceImpl implements ReactiveQueueService {
+
+    private static final List<QueueStatus> ACTIVE_STATUSES = List.of(QueueStatus.WAITING, QueueStatus.IN_PROGRESS);
+
+    @Autowired
+    private ReactiveQueueRepository reactiveQueueRepository;
+
+    @Autowired
+    private ReactiveDoctorRepository reactiveDoctorRepository;
+
+    @Autowired
+    private ReactivePatientRepository reactivePatientRepository;
+
+    @Autowired
+    private QueueEngine queueEngine;
+
+    @Autowired
+    private DashboardStatistics dashboardStatistics;
+
+    @Autowired
+    private DailyRollups dailyRollups;
+
+    @Autowired
+    private QueueEventBroadcaster queueEventBroadcaster;
+
+    @Autowired
+    private ConsultationTimeEstimator consultationTimeEstimator;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<Queue> getQueueById(String queueId) {
+        return reactiveQueueRepository.findById(queueId);
+    }
+
+    @Override
+    public Flux<Queue> getQueuesByDoctor(String doctorId) {
+        return reactiveQueueRepository.findByDoctorIdOrderByPositionAsc(doctorId);
+    }
+
+    @Override
+    public Flux<Queue> getActiveQueuesByDoctor(String doctorId) {
+        return reactiveQueueRepository.findByDoctorIdAndStatusInOrderByPositionAsc(doctorId, ACTIVE_STATUSES);
+    }
+
+    @Override
+    public Mono<List<Integer>> getActivePositions(String doctorId) {
+        return reactiveQueueRepository.findPositionsByDoctorIdAndStatusIn(doctorId, ACTIVE_STATUSES)
+                .map(Queue::getPosition)
+                .filter(Objects::nonNull)
+                .collectList();
+    }
+
+    // Empty when the entry does not exist or is not in the required status (null = any).
+    // One findAndModify checks and changes the status, so two concurrent calls cannot both apply it
+    @Override
+    public Mono<Queue> updateQueueStatus(String queueId, QueueStatus status, QueueStatus requiredStatus) {
+        // Entries already in the target status are left alone and returned as they are
+        Mono<Queue> unchanged = Mono.defer(() -> reactiveQueueRepository.findById(queueId)
+                .filter(queue -> queue.getStatus() == status));
+        if (requiredStatus == status) {
+            return unchanged;
+        }
+        Criteria criteria = where("_id").is(queueId).and("status");
+        criteria = requiredStatus != null ? criteria.is(requiredStatus) : criteria.ne(status);
+        // Truncated to what MongoDB stores, so the in-memory copies match the documents
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Update update = new Update().set("status", status);
+        if (status == QueueStatus.IN_PROGRESS) {
+            update.set("startedAt", now).unset("completedAt");
+        } else if (status == QueueStatus.COMPLETED) {
+            update.set("completedAt", now);
+        }
+        Query match = query(criteria);
+        // The write and its counter update form one step a dashboard rebuild cannot split
+        Mono<Boolean> writeStarted = Mono.fromCallable(() -> {
+                    dashboardStatistics.beginWrite();
+                    return true;
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+        return Mono.usingWhen(writeStarted,
+                        started -> reactiveMongoTemplate.findAndModify(match, update, Queue.class)
+                                .flatMap(previous -> {
+                                    Queue saved = QueueEngine.copyOf(previous);
+                                    saved.setStatus(status);
+                                    if (status == QueueStatus.IN_PROGRESS) {
+                                        saved.setStartedAt(now);
+                                        saved.setCompletedAt(null);
+                                    } else if (status == QueueStatus.COMPLETED) {
+                                        saved.setCompletedAt(now);
+                                    }
+                                    return afterWrite(previous, saved);
+                                }),
+                        started -> Mono.fromRunnable(dashboardStatistics::endWrite))
+                .switchIfEmpty(requiredStatus == null ? unchanged : Mono.empty());
+    }
+
+    @Override
+    public Mono<Map<String, String>> getDoctorNames(Collection<String> doctorIds) {
+        return Mono.defer(() -> {
+            Map<String, String> names = new HashMap<>();
+            Cache cache = cacheManager.getCache(CacheConfig.DOCTORS);
+            List<String> missing = EntityCache.peekNames(cache, doctorIds, Doctor.class, Doctor::getName, names);
+            if (missing.isEmpty()) {
+                return Mono.just(names);
+            }
+            return reactiveDoctorRepository.findAllById(missing)
+                    .doOnNext(doctor -> EntityCache.putLoaded(cache, doctor, Doctor::getDoctorId, Doctor::getName, names))
+                    .then(Mono.just(names));
+        });
+    }
+
+    @Override
+    public Mono<Map<String, String>> getPatientNames(Collection<String> patientIds) {
+        return Mono.defer(() -> {
+            Map<String, String> names = new HashMap<>();
+            Cache cache = cacheManager.getCache(CacheConfig.PATIENTS);
+            List<String> missing = EntityCache.peekNames(cache, patientIds, Patient.class, Patient::getName, names);
+            if (missing.isEmpty()) {
+                return Mono.just(names);
+            }
+            return reactivePatientRepository.findAllById(missing)
+                    .doOnNext(patient -> EntityCache.putLoaded(cache, patient, Patient::getPatientId, Patient::getName, names))
+                    .then(Mono.just(names));
+        });
+    }
+
+    // The engine may load a doctor's queue from MongoDB on first touch, so keep it off the event loop
+    private Mono<Queue> afterWrite(Queue previous, Queue saved) {
+        return Mono.fromCallable(() -> {
+                    queueEngine.put(saved);
+                    dashboardStatistics.onQueueChanged(previous, saved);
+                    dailyRollups.onQueueChanged(previous, saved);
+                    consultationTimeEstimator.onQueueChanged(previous, saved);
+                    queueEventBroadcaster.publish(previous, saved);
+                    return saved;
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
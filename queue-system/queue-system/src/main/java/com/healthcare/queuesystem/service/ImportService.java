@@ -0,0 +1,16 @@
+package com.healthcare.queuesystem.service;
+
+import com.healthcare.queuesystem.dto.ImportResultDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface ImportService {
+    String CSV = "csv";
+    String NDJSON = "ndjson";
+
+    ImportResultDto importPatients(InputStream in, String format, boolean ordered) throws IOException;
+    ImportResultDto importDoctors(InputStream in, String format, boolean ordered) throws IOException;
+    <T> ImportResultDto insertAll(List<T> documents, Class<T> type, boolean ordered);
+}
@@ -1,11 +1,16 @@
 package com.healthcare.queuesystem.service;
 
 import com.healthcare.queuesystem.model.Patient;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface PatientService {
     Patient savePatient(Patient patient);
     void deletePatient(String patientId);
     Patient getPatientById(String patientId);
     List<Patient> getAllPatients();
+    List<Patient> getPatientsPage(int page, int size);
+    List<Patient> getPatientsAfter(String patientId, int size);
+    Map<String, String> getPatientNames(Collection<String> patientIds);
 }
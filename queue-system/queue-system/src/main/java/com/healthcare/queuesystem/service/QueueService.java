@@ -1,11 +1,31 @@
 package com.healthcare.queuesystem.service;
 
 import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.enums.QueueStatus;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface QueueService {
     Queue saveQueue(Queue queue);
     void deleteQueue(String queueId);
     Queue getQueueById(String queueId);
+    Queue getQueueOrArchived(String queueId);
     List<Queue> getAllQueues();
+    List<Queue> getQueuesPage(int page, int size);
+    List<Queue> getQueuesAfter(String queueId, int size);
+    List<Queue> getQueuesByDoctor(String doctorId);
+    List<Queue> getActiveQueuesByDoctor(String doctorId);
+    List<Queue> getQueuesByPatient(String patientId);
+    List<Queue> getQueuesCreatedBetween(LocalDateTime start, LocalDateTime end, String doctorId);
+    Queue getNextWaitingQueue(String doctorId);
+    Queue moveToNextPatient(String doctorId, String idempotencyKey);
+    int countActiveQueuesByDoctor(String doctorId);
+    int countActiveQueuesAhead(String doctorId, Integer position);
+    int estimateWaitMinutes(String doctorId, Integer position);
+    Map<String, Integer> estimateWaitTimes(List<Queue> queues);
+    int nextQueuePosition(String doctorId);
+    long deleteQueuesByStatus(QueueStatus status);
+    long resetQueuesToWaiting(String doctorId);
 }
@@ -0,0 +1,20 @@
+package com.healthcare.queuesystem.service;
+
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.enums.QueueStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ReactiveQueueService {
+    Mono<Queue> getQueueById(String queueId);
+    Flux<Queue> getQueuesByDoctor(String doctorId);
+    Flux<Queue> getActiveQueuesByDoctor(String doctorId);
+    Mono<List<Integer>> getActivePositions(String doctorId);
+    Mono<Queue> updateQueueStatus(String queueId, QueueStatus status, QueueStatus requiredStatus);
+    Mono<Map<String, String>> getDoctorNames(Collection<String> doctorIds);
+    Mono<Map<String, String>> getPatientNames(Collection<String> patientIds);
+}
@@ -0,0 +1,81 @@
+package com.healthcare.queuesystem.util;
+
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lookups over the doctor and patient caches, shared by the blocking and reactive services.
+ * Cached entities never leave this class: single lookups hand out a copy and
+ * name lookups only read the name. The cache may be null, which just means every lookup loads.
+ */
+public final class EntityCache {
+
+    private EntityCache() {
+    }
+
+    // Cached entity or, on a miss, the loaded one (cached when found); either way the caller gets a copy
+    public static <T> T get(Cache cache, String id, Class<T> type,
+                            Function<String, Optional<T>> load, UnaryOperator<T> copy) {
+        T cached = cache != null ? cache.get(id, type) : null;
+        if (cached == null) {
+            cached = load.apply(id).orElse(null);
+            if (cached == null) {
+                return null;
+            }
+            if (cache != null) {
+                cache.put(id, cached);
+            }
+        }
+        return copy.apply(cached);
+    }
+
+    // Names for the given ids: cached ones first, the rest loaded in one query and cached
+    public static <T> Map<String, String> names(Cache cache, Collection<String> ids, Class<T> type,
+                                                Function<T, String> idOf, Function<T, String> nameOf,
+                                                Function<List<String>, Iterable<T>> loadAll) {
+        Map<String, String> names = new HashMap<>();
+        if (ids.isEmpty()) {
+            return names;
+        }
+        List<String> missing = peekNames(cache, ids, type, nameOf, names);
+        if (!missing.isEmpty()) {
+            for (T entity : loadAll.apply(missing)) {
+                putLoaded(cache, entity, idOf, nameOf, names);
+            }
+        }
+        return names;
+    }
+
+    // Fills names from the cache and returns the ids it did not hold
+    public static <T> List<String> peekNames(Cache cache, Collection<String> ids, Class<T> type,
+                                             Function<T, String> nameOf, Map<String, String> names) {
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            T cached = cache != null ? cache.get(id, type) : null;
+            if (cached != null) {
+                names.put(id, nameOf.apply(cached));
+            } else {
+                missing.add(id);
+            }
+        }
+        return missing;
+    }
+
+    // Records a freshly loaded entity's name and caches the entity for later lookups
+    public static <T> void putLoaded(Cache cache, T entity, Function<T, String> idOf,
+                                     Function<T, String> nameOf, Map<String, String> names) {
+        String id = idOf.apply(entity);
+        names.put(id, nameOf.apply(entity));
+        if (cache != null) {
+            cache.put(id, entity);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.healthcare.queuesystem.util;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+public final class KeysetPaging {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Smallest possible ObjectId; every generated id sorts after it
+    private static final String MIN_OBJECT_ID = "000000000000000000000000";
+
+    private KeysetPaging() {
+    }
+
+    public static int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    public static Pageable firstPage(String idProperty, int size) {
+        return PageRequest.of(0, size, Sort.by(idProperty));
+    }
+
+    // Next page of documents whose _id sorts after afterId, in _id order
+    public static <T> List<T> pageAfter(String afterId, int size, String idProperty,
+                                        Function<Pageable, List<T>> firstPage,
+                                        BiFunction<String, Pageable, List<T>> idGreaterThan) {
+        if (afterId == null || afterId.isEmpty()) {
+            return firstPage.apply(firstPage(idProperty, size));
+        }
+        List<T> page = new ArrayList<>(idGreaterThan.apply(afterId, firstPage(idProperty, size)));
+
+        // String ids (seeded data) sort before generated ObjectIds and $gt never crosses types,
+        // so once the string ids run out carry on from the first ObjectId
+        if (page.size() < size && !ObjectId.isValid(afterId)) {
+            page.addAll(idGreaterThan.apply(MIN_OBJECT_ID, firstPage(idProperty, size - page.size())));
+        }
+        return page;
+    }
+
+    // X-Next-Cursor header when the page came back full, i.e. there may be more
+    public static HttpHeaders headers(List<String> pageIds, int size) {
+        HttpHeaders headers = new HttpHeaders();
+        if (!pageIds.isEmpty() && pageIds.size() == size) {
+            headers.add(NEXT_CURSOR_HEADER, pageIds.get(pageIds.size() - 1));
+        }
+        return headers;
+    }
+}
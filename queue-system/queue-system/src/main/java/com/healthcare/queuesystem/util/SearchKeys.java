@@ -0,0 +1,40 @@
+package com.healthcare.queuesystem.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalised forms of names and phone numbers used for indexed lookup and type-ahead search:
+ * "  José  O'Brien-Smith " becomes "jose o brien smith", "+91-98765 43210" becomes "9876543210".
+ */
+public final class SearchKeys {
+
+    // Local part of a phone number; longer numbers carry a country or trunk prefix
+    public static final int PHONE_DIGITS = 10;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+
+    private SearchKeys() {
+    }
+
+    // Lower case, accents dropped, punctuation and repeated spaces collapsed to one space; null stays null
+    public static String name(String text) {
+        if (text == null) {
+            return null;
+        }
+        String plain = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(plain.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    // Last PHONE_DIGITS digits of a number, or all of them when shorter; "" when there are none
+    public static String phone(String text) {
+        if (text == null) {
+            return "";
+        }
+        String digits = NON_DIGITS.matcher(text).replaceAll("");
+        return digits.length() > PHONE_DIGITS ? digits.substring(digits.length() - PHONE_DIGITS) : digits;
+    }
+}
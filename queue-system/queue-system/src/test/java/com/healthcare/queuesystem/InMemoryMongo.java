@@ -0,0 +1,50 @@
+package com.healthcare.queuesystem;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.ServerVersion;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.net.InetSocketAddress;
+
+/**
+ * In-process MongoDB stand-in for unit tests: one server and template per test class,
+ * with repositories created the way Spring Data would. Close it in @AfterAll / @AfterEach.
+ */
+public final class InMemoryMongo implements AutoCloseable {
+
+    private final MongoServer server;
+    private final MongoClient client;
+    private final MongoTemplate mongoTemplate;
+    private final MongoRepositoryFactory repositories;
+
+    public InMemoryMongo() {
+        server = new MongoServer(new MemoryBackend().version(ServerVersion.MONGO_5_0));
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "tests");
+        repositories = new MongoRepositoryFactory(mongoTemplate);
+    }
+
+    public MongoTemplate template() {
+        return mongoTemplate;
+    }
+
+    public <T> T repository(Class<T> repositoryInterface) {
+        return repositories.getRepository(repositoryInterface);
+    }
+
+    // Drop every collection between tests
+    public void clear() {
+        mongoTemplate.getDb().drop();
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        server.shutdown();
+    }
+}
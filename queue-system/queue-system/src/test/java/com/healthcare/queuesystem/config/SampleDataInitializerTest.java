@@ -0,0 +1,127 @@
+package com.healthcare.queuesystem.config;
+
+import com.healthcare.queuesystem.InMemoryMongo;
+import com.healthcare.queuesystem.engine.AppointmentCalendar;
+import com.healthcare.queuesystem.engine.DailyRollups;
+import com.healthcare.queuesystem.engine.DashboardStatistics;
+import com.healthcare.queuesystem.engine.QueuePositionSequencer;
+import com.healthcare.queuesystem.engine.SearchIndex;
+import com.healthcare.queuesystem.engine.SlotEngine;
+import com.healthcare.queuesystem.model.Doctor;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.repository.AppointmentRepository;
+import com.healthcare.queuesystem.repository.QueueRepository;
+import com.healthcare.queuesystem.service.Implementation.ImportServiceImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SampleDataInitializerTest {
+
+    private static final InMemoryMongo mongo = new InMemoryMongo();
+
+    private SampleDataInitializer initializer;
+    private BufferingApplicationStartup startup;
+    private DashboardStatistics dashboardStatistics;
+
+    @AfterAll
+    static void stopMongo() {
+        mongo.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongo.clear();
+        dashboardStatistics = new DashboardStatistics();
+        ReflectionTestUtils.setField(dashboardStatistics, "mongoTemplate", mongo.template());
+        DailyRollups dailyRollups = new DailyRollups();
+        ReflectionTestUtils.setField(dailyRollups, "mongoTemplate", mongo.template());
+        SearchIndex searchIndex = new SearchIndex();
+        ReflectionTestUtils.setField(searchIndex, "mongoTemplate", mongo.template());
+        ReflectionTestUtils.setField(searchIndex, "maxCandidates", 1000);
+        QueuePositionSequencer positionSequencer = new QueuePositionSequencer();
+        ReflectionTestUtils.setField(positionSequencer, "mongoTemplate", mongo.template());
+        ReflectionTestUtils.setField(positionSequencer, "queueRepository", mongo.repository(QueueRepository.class));
+        ReflectionTestUtils.setField(positionSequencer, "blockSize", 1);
+        AppointmentCalendar appointmentCalendar = new AppointmentCalendar();
+        ReflectionTestUtils.setField(appointmentCalendar, "appointmentRepository", mongo.repository(AppointmentRepository.class));
+
+        ImportServiceImpl importService = new ImportServiceImpl();
+        ReflectionTestUtils.setField(importService, "mongoTemplate", mongo.template());
+        ReflectionTestUtils.setField(importService, "dashboardStatistics", dashboardStatistics);
+        ReflectionTestUtils.setField(importService, "dailyRollups", dailyRollups);
+        ReflectionTestUtils.setField(importService, "searchIndex", searchIndex);
+        ReflectionTestUtils.setField(importService, "positionSequencer", positionSequencer);
+
+        initializer = new SampleDataInitializer();
+        ReflectionTestUtils.setField(initializer, "importService", importService);
+        ReflectionTestUtils.setField(initializer, "mongoTemplate", mongo.template());
+        ReflectionTestUtils.setField(initializer, "dashboardStatistics", dashboardStatistics);
+        ReflectionTestUtils.setField(initializer, "appointmentCalendar", appointmentCalendar);
+        ReflectionTestUtils.setField(initializer, "dailyRollups", dailyRollups);
+        ReflectionTestUtils.setField(initializer, "searchIndex", searchIndex);
+        ReflectionTestUtils.setField(initializer, "slotEngine", new SlotEngine());
+        startup = new BufferingApplicationStartup(16);
+        initializer.setApplicationStartup(startup);
+    }
+
+    // "seeded" tag of each recorded sample-data step, in order
+    private List<String> seededTags() {
+        List<String> tags = new ArrayList<>();
+        for (StartupTimeline.TimelineEvent event : startup.getBufferedTimeline().getEvents()) {
+            if (event.getStartupStep().getName().equals("healthcare.startup.sample-data")) {
+                for (StartupStep.Tag tag : event.getStartupStep().getTags()) {
+                    if (tag.getKey().equals("seeded")) {
+                        tags.add(tag.getValue());
+                    }
+                }
+            }
+        }
+        return tags;
+    }
+
+    @Test
+    void seedsAnEmptyDatabaseAndRefreshesTheCounters() {
+        ReflectionTestUtils.invokeMethod(initializer, "initializeSampleData");
+
+        assertTrue(mongo.template().estimatedCount(Doctor.class) > 0);
+        assertTrue(mongo.template().estimatedCount(Queue.class) > 0);
+        assertTrue(dashboardStatistics.isReady());
+        assertEquals(mongo.template().estimatedCount(Doctor.class), dashboardStatistics.snapshot().get("totalDoctors"));
+        assertEquals(List.of("true"), seededTags());
+    }
+
+    @Test
+    void leavesExistingDataAlone() {
+        Doctor doctor = new Doctor();
+        doctor.setDoctorId("D1");
+        mongo.template().save(doctor);
+
+        ReflectionTestUtils.invokeMethod(initializer, "initializeSampleData");
+
+        assertEquals(1, mongo.template().estimatedCount(Doctor.class));
+        assertEquals(0, mongo.template().estimatedCount(Queue.class));
+        assertEquals(List.of("false"), seededTags());
+    }
+
+    @Test
+    void nothingRunsWhenBothStepsAreOff() {
+        ReflectionTestUtils.setField(initializer, "sampleData", false);
+        ReflectionTestUtils.setField(initializer, "printStats", false);
+
+        initializer.initializeOnStartup();
+
+        assertEquals(0, mongo.template().estimatedCount(Doctor.class));
+        assertEquals(List.of(), seededTags());
+    }
+}
@@ -0,0 +1,71 @@
+package com.healthcare.queuesystem.engine;
+
+import com.healthcare.queuesystem.InMemoryMongo;
+import com.healthcare.queuesystem.model.ConsultationStats;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConsultationTimeEstimatorTest {
+
+    private static final InMemoryMongo mongo = new InMemoryMongo();
+
+    private ConsultationTimeEstimator estimator;
+
+    @AfterAll
+    static void stopMongo() {
+        mongo.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongo.clear();
+        estimator = new ConsultationTimeEstimator();
+        ReflectionTestUtils.setField(estimator, "mongoTemplate", mongo.template());
+        ReflectionTestUtils.setField(estimator, "alpha", 0.2);
+        ReflectionTestUtils.setField(estimator, "minSamples", 1);
+        ReflectionTestUtils.setField(estimator, "defaultMinutes", 15.0);
+    }
+
+    private static void saved(String statsId, double averageMinutes, long samples) {
+        ConsultationStats stats = new ConsultationStats();
+        stats.setStatsId(statsId);
+        stats.setAverageMinutes(averageMinutes);
+        stats.setSamples(samples);
+        mongo.template().save(stats);
+    }
+
+    @Test
+    void loadRestoresSavedAverages() {
+        saved("all", 12, 40);
+
+        estimator.load();
+
+        assertEquals(12, estimator.minutesPerPatient("D1"), 1e-9);
+    }
+
+    @Test
+    void samplesRecordedBeforeTheLoadAreAppliedOnTopOfTheSavedHistory() {
+        saved("all", 10, 20);
+        estimator.record(null, 20);
+        estimator.record(null, 30);
+
+        estimator.load();
+
+        // 10 → 10 + 0.2 * (20 - 10) = 12 → 12 + 0.2 * (30 - 12) = 15.6
+        assertEquals(15.6, estimator.minutesPerPatient("D1"), 1e-9);
+    }
+
+    @Test
+    void samplesRecordedAfterTheLoadContinueFromTheSavedAverage() {
+        saved("all", 10, 20);
+
+        estimator.load();
+        estimator.record(null, 20);
+
+        assertEquals(12, estimator.minutesPerPatient("D1"), 1e-9);
+    }
+}
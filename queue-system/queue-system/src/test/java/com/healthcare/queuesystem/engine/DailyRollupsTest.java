@@ -0,0 +1,160 @@
+package com.healthcare.queuesystem.engine;
+
+import com.healthcare.queuesystem.InMemoryMongo;
+import com.healthcare.queuesystem.model.DailyStats;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.enums.QueueStatus;
+import com.healthcare.queuesystem.service.ArchiveService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DailyRollupsTest {
+
+    private static final InMemoryMongo mongo = new InMemoryMongo();
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private DailyRollups rollups;
+
+    @AfterAll
+    static void stopMongo() {
+        mongo.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongo.clear();
+        rollups = rollups();
+    }
+
+    private static DailyRollups rollups() {
+        DailyRollups rollups = new DailyRollups();
+        ReflectionTestUtils.setField(rollups, "mongoTemplate", mongo.template());
+        return rollups;
+    }
+
+    private static Queue entry(String queueId, LocalDate day, QueueStatus status) {
+        Queue queue = new Queue();
+        queue.setQueueId(queueId);
+        queue.setDoctorId("D1");
+        queue.setPatientId("P" + queueId);
+        queue.setStatus(status);
+        queue.setCreatedAt(day.atTime(10, 0));
+        return queue;
+    }
+
+    // Stored and reported like a service write: the document first, then the change
+    private Queue added(Queue queue) {
+        mongo.template().insert(queue);
+        rollups.onQueueChanged(null, queue);
+        return queue;
+    }
+
+    private Map<String, Long> counts(LocalDate day) {
+        return rollups.statusCounts(DailyRollups.QUEUE, day, day, null);
+    }
+
+    @Test
+    void changesRecordedBeforeARebuildAreNotCountedTwice() {
+        added(entry("Q1", DAY, QueueStatus.WAITING));
+        added(entry("Q2", DAY, QueueStatus.WAITING));
+
+        rollups.rebuild();
+
+        assertEquals(Map.of("WAITING", 2L), counts(DAY));
+    }
+
+    @Test
+    void changesAfterARebuildAreAddedToIt() {
+        Queue first = added(entry("Q1", DAY, QueueStatus.WAITING));
+        rollups.rebuild();
+
+        added(entry("Q2", DAY, QueueStatus.WAITING));
+        Queue completed = entry("Q1", DAY, QueueStatus.COMPLETED);
+        mongo.template().save(completed);
+        rollups.onQueueChanged(first, completed);
+
+        assertEquals(Map.of("WAITING", 1L, "COMPLETED", 1L), counts(DAY));
+    }
+
+    @Test
+    void rebuildCountsTheArchiveAndDropsDaysWithNothingLeft() {
+        LocalDate emptied = DAY.minusDays(1);
+        // Flushed earlier for an entry that has since been removed without going through the services
+        rollups.onQueueChanged(null, entry("Q0", emptied, QueueStatus.WAITING));
+        rollups.flush();
+        added(entry("Q1", DAY, QueueStatus.WAITING));
+        mongo.template().insert(entry("Q2", DAY, QueueStatus.COMPLETED), ArchiveService.QUEUE_ARCHIVE);
+
+        rollups.rebuild();
+
+        assertEquals(Map.of(), counts(emptied));
+        assertEquals(Map.of("WAITING", 1L, "COMPLETED", 1L), counts(DAY));
+    }
+
+    @Test
+    void changeReportedAfterTheRebuildCountedItsWriteIsNotCountedTwice() {
+        Queue queue = entry("Q1", DAY, QueueStatus.WAITING);
+        mongo.template().insert(queue);
+        rollups.rebuild();
+
+        // The service reports the write only now
+        rollups.onQueueChanged(null, queue);
+
+        assertEquals(Map.of("WAITING", 1L), counts(DAY));
+    }
+
+    @Test
+    void changesStillWaitingOnAnotherInstanceAreNotCountedTwice() {
+        DailyRollups other = rollups();
+        Queue queue = entry("Q1", DAY, QueueStatus.WAITING);
+        mongo.template().insert(queue);
+        other.onQueueChanged(null, queue);
+
+        rollups.rebuild();
+        other.flush();
+
+        assertEquals(Map.of("WAITING", 1L), counts(DAY));
+    }
+
+    @Test
+    void countThatStartedEarlierNeverReplacesALaterOne() {
+        added(entry("Q1", DAY, QueueStatus.WAITING));
+        added(entry("Q2", DAY, QueueStatus.WAITING));
+        rollups.flush();
+        // A slow rebuild elsewhere read the day before Q2 was added and writes last
+        DailyStats stale = new DailyStats();
+        stale.setStatsId("queue|" + DAY + "|D1");
+        stale.setKind(DailyRollups.QUEUE);
+        stale.setDay(DAY);
+        stale.setDoctorId("D1");
+        stale.setCounts(new HashMap<>(Map.of("WAITING", 1L)));
+        ReflectionTestUtils.invokeMethod(rollups, "write", List.of(stale), LocalDateTime.now().minusMinutes(1));
+
+        assertEquals(Map.of("WAITING", 2L), counts(DAY));
+    }
+
+    @Test
+    void failedRecountKeepsTheChangedDays() {
+        added(entry("Q1", DAY, QueueStatus.WAITING));
+        rollups.flush();
+        added(entry("Q2", DAY, QueueStatus.WAITING));
+        // The recount fails before anything is rewritten
+        ReflectionTestUtils.setField(rollups, "mongoTemplate", null);
+        assertThrows(NullPointerException.class, rollups::flush);
+        ReflectionTestUtils.setField(rollups, "mongoTemplate", mongo.template());
+
+        assertEquals(Map.of("WAITING", 2L), counts(DAY));
+    }
+}
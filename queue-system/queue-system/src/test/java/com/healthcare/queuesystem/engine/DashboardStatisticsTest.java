@@ -0,0 +1,113 @@
+package com.healthcare.queuesystem.engine;
+
+import com.healthcare.queuesystem.InMemoryMongo;
+import com.healthcare.queuesystem.model.Appointment;
+import com.healthcare.queuesystem.model.Patient;
+import com.healthcare.queuesystem.model.enums.AppointmentStatus;
+import com.healthcare.queuesystem.service.Implementation.DashboardServiceImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class DashboardStatisticsTest {
+
+    private static final InMemoryMongo mongo = new InMemoryMongo();
+
+    private DashboardStatistics statistics;
+
+    @AfterAll
+    static void stopMongo() {
+        mongo.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongo.clear();
+        statistics = new DashboardStatistics();
+        ReflectionTestUtils.setField(statistics, "mongoTemplate", mongo.template());
+    }
+
+    private static Patient patient(String patientId) {
+        Patient patient = new Patient();
+        patient.setPatientId(patientId);
+        patient.setName("Patient " + patientId);
+        return patient;
+    }
+
+    @Test
+    void writeStoredBeforeARebuildButReportedAfterItIsCountedOnce() throws Exception {
+        CountDownLatch stored = new CountDownLatch(1);
+        CountDownLatch rebuildCalled = new CountDownLatch(1);
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() -> statistics.recordWrite(() -> {
+            mongo.template().save(patient("P1"));
+            stored.countDown();
+            try {
+                rebuildCalled.await(5, TimeUnit.SECONDS);
+                // Give the rebuild time to count, if it were not held back
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            statistics.onPatientSaved(patient("P1"), true);
+            return null;
+        }));
+        stored.await(5, TimeUnit.SECONDS);
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(() -> {
+            rebuildCalled.countDown();
+            statistics.rebuild();
+        });
+        write.get(5, TimeUnit.SECONDS);
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1L, statistics.snapshot().get("totalPatients"));
+    }
+
+    @Test
+    void writesStartedDuringARebuildWaitForItsReset() throws Exception {
+        statistics.beginWrite();
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(statistics::rebuild);
+        // The rebuild waits for the write in flight
+        Thread.sleep(200);
+        assertFalse(rebuild.isDone());
+
+        mongo.template().save(patient("P1"));
+        statistics.onPatientSaved(patient("P1"), true);
+        statistics.endWrite();
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        statistics.recordWrite(() -> {
+            mongo.template().save(patient("P2"));
+            statistics.onPatientSaved(patient("P2"), true);
+            return null;
+        });
+
+        assertEquals(2L, statistics.snapshot().get("totalPatients"));
+    }
+
+    @Test
+    void todayStartsAtMidnightForTheCountersAndTheFallback() {
+        Appointment midnight = new Appointment();
+        midnight.setAppointmentId("A1");
+        midnight.setAppointmentDate(LocalDate.now().atStartOfDay());
+        midnight.setStatus(AppointmentStatus.SCHEDULED);
+        mongo.template().save(midnight);
+        DashboardServiceImpl dashboardService = new DashboardServiceImpl();
+        ReflectionTestUtils.setField(dashboardService, "mongoTemplate", mongo.template());
+        ReflectionTestUtils.setField(dashboardService, "dashboardStatistics", statistics);
+
+        // Not rebuilt yet: aggregated from the collections
+        assertEquals(1L, ((Number) dashboardService.getDashboardStats().get("todaysAppointments")).longValue());
+        statistics.rebuild();
+        assertEquals(1L, statistics.snapshot().get("todaysAppointments"));
+    }
+}
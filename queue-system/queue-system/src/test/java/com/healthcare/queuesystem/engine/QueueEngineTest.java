@@ -0,0 +1,121 @@
+package com.healthcare.queuesystem.engine;
+
+import com.healthcare.queuesystem.InMemoryMongo;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.enums.QueueStatus;
+import com.healthcare.queuesystem.repository.QueueRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueueEngineTest {
+
+    private static final InMemoryMongo mongo = new InMemoryMongo();
+
+    private QueueEngine engine;
+
+    // Runs once, right after the next doctor-queue query has read its entries
+    private Runnable duringLoad;
+
+    @AfterAll
+    static void stopMongo() {
+        mongo.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongo.clear();
+        duringLoad = null;
+        QueueRepository repository = mongo.repository(QueueRepository.class);
+        QueueRepository racing = (QueueRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{QueueRepository.class}, (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(repository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (method.getName().equals("findByDoctorIdOrderByPositionAsc") && duringLoad != null) {
+                        Runnable hook = duringLoad;
+                        duringLoad = null;
+                        hook.run();
+                    }
+                    return result;
+                });
+        engine = new QueueEngine();
+        ReflectionTestUtils.setField(engine, "queueRepository", racing);
+    }
+
+    private static Queue stored(String queueId, int position, QueueStatus status) {
+        Queue queue = new Queue();
+        queue.setQueueId(queueId);
+        queue.setDoctorId("D1");
+        queue.setPatientId("P" + queueId);
+        queue.setPosition(position);
+        queue.setStatus(status);
+        return mongo.template().save(queue);
+    }
+
+    private List<String> active() {
+        return engine.getActiveQueue("D1").stream().map(Queue::getQueueId).collect(Collectors.toList());
+    }
+
+    @Test
+    void entryDeletedWhileTheQueueLoadsIsNotPublished() {
+        stored("Q1", 1, QueueStatus.WAITING);
+        stored("Q2", 2, QueueStatus.WAITING);
+        duringLoad = () -> {
+            mongo.template().remove(mongo.template().findById("Q1", Queue.class));
+            engine.remove("Q1");
+        };
+
+        assertEquals(List.of("Q2"), active());
+        assertEquals(List.of("Q2"), active());
+    }
+
+    @Test
+    void entrySavedAgainAfterItsDeleteStaysInTheQueue() {
+        stored("Q1", 1, QueueStatus.WAITING);
+        duringLoad = () -> {
+            engine.remove("Q1");
+            engine.put(stored("Q1", 1, QueueStatus.WAITING));
+        };
+
+        assertEquals(List.of("Q1"), active());
+    }
+
+    @Test
+    void evictionWhileTheQueueLoadsMakesTheNextAccessReload() {
+        stored("Q1", 1, QueueStatus.IN_PROGRESS);
+        duringLoad = () -> {
+            stored("Q1", 1, QueueStatus.WAITING);
+            engine.evict("D1");
+        };
+
+        engine.getActiveQueue("D1");
+
+        assertEquals("Q1", engine.peekNextWaiting("D1").getQueueId());
+    }
+
+    @Test
+    void writesFromAnotherInstanceShowOnceTheLoadedQueueIsOlderThanTheMaxAge() throws Exception {
+        stored("Q1", 1, QueueStatus.WAITING);
+        assertEquals(List.of("Q1"), active());
+        // Another instance completes Q1
+        stored("Q1", 1, QueueStatus.COMPLETED);
+        assertEquals(List.of("Q1"), active());
+
+        ReflectionTestUtils.setField(engine, "maxAgeSeconds", 1L);
+        Thread.sleep(1100);
+
+        assertEquals(List.of(), active());
+    }
+}
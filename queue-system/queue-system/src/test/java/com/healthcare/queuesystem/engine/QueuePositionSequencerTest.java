@@ -0,0 +1,120 @@
+package com.healthcare.queuesystem.engine;
+
+import com.healthcare.queuesystem.InMemoryMongo;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.repository.QueueRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueuePositionSequencerTest {
+
+    private static final InMemoryMongo mongo = new InMemoryMongo();
+
+    private QueuePositionSequencer sequencer;
+
+    @AfterAll
+    static void stopMongo() {
+        mongo.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongo.clear();
+        sequencer = sequencer(1);
+    }
+
+    private static QueuePositionSequencer sequencer(int blockSize) {
+        QueuePositionSequencer sequencer = new QueuePositionSequencer();
+        ReflectionTestUtils.setField(sequencer, "mongoTemplate", mongo.template());
+        ReflectionTestUtils.setField(sequencer, "queueRepository", mongo.repository(QueueRepository.class));
+        ReflectionTestUtils.setField(sequencer, "blockSize", blockSize);
+        return sequencer;
+    }
+
+    private static Queue entry(String queueId, String doctorId, int position) {
+        Queue queue = new Queue();
+        queue.setQueueId(queueId);
+        queue.setDoctorId(doctorId);
+        queue.setPosition(position);
+        return queue;
+    }
+
+    @Test
+    void positionsIncreasePerDoctor() {
+        assertEquals(1, sequencer.nextPosition("D1"));
+        assertEquals(2, sequencer.nextPosition("D1"));
+        assertEquals(1, sequencer.nextPosition("D2"));
+        assertEquals(3, sequencer.nextPosition("D1"));
+    }
+
+    @Test
+    void seedsFromPositionsWrittenBeforeTheCounterExisted() {
+        mongo.template().insert(List.of(entry("Q1", "D1", 7), entry("Q2", "D1", 4)), Queue.class);
+
+        assertEquals(8, sequencer.nextPosition("D1"));
+    }
+
+    @Test
+    void bulkInsertAfterSeedingMovesTheCounterPast() {
+        assertEquals(1, sequencer.nextPosition("D1"));
+        List<Queue> imported = List.of(entry("Q2", "D1", 2), entry("Q3", "D1", 9), entry("Q4", "D2", 3));
+        mongo.template().insert(imported, Queue.class);
+
+        sequencer.advancePast(imported);
+
+        assertEquals(10, sequencer.nextPosition("D1"));
+        assertEquals(4, sequencer.nextPosition("D2"));
+    }
+
+    @Test
+    void bulkInsertNeverMovesTheCounterBack() {
+        for (int i = 0; i < 5; i++) {
+            sequencer.nextPosition("D1");
+        }
+        sequencer.advancePast(List.of(entry("Q1", "D1", 2)));
+
+        assertEquals(6, sequencer.nextPosition("D1"));
+    }
+
+    @Test
+    void reservedBlocksAreDroppedAfterABulkInsert() {
+        QueuePositionSequencer blocks = sequencer(10);
+        assertEquals(1, blocks.nextPosition("D1"));   // reserves 1..10
+        blocks.advancePast(List.of(entry("Q5", "D1", 5)));
+
+        assertEquals(11, blocks.nextPosition("D1"));
+    }
+
+    @Test
+    void concurrentCallersNeverShareAPosition() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        Set<Integer> handedOut = ConcurrentHashMap.newKeySet();
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                calls.add(pool.submit(() -> handedOut.add(sequencer.nextPosition("D1"))));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(200, handedOut.size());
+        assertTrue(new HashSet<>(handedOut).containsAll(Set.of(1, 200)));
+    }
+}
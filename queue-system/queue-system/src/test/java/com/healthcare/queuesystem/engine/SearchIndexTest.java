@@ -0,0 +1,159 @@
+package com.healthcare.queuesystem.engine;
+
+import com.healthcare.queuesystem.InMemoryMongo;
+import com.healthcare.queuesystem.dto.SearchResultDto;
+import com.healthcare.queuesystem.model.Doctor;
+import com.healthcare.queuesystem.model.Patient;
+import com.healthcare.queuesystem.repository.DoctorRepository;
+import com.healthcare.queuesystem.repository.PatientRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchIndexTest {
+
+    private static final InMemoryMongo mongo = new InMemoryMongo();
+
+    private SearchIndex index;
+
+    @AfterAll
+    static void stopMongo() {
+        mongo.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongo.clear();
+        index = index(mongo.template());
+    }
+
+    private static SearchIndex index(MongoTemplate mongoTemplate) {
+        SearchIndex index = new SearchIndex();
+        ReflectionTestUtils.setField(index, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(index, "patientRepository", mongo.repository(PatientRepository.class));
+        ReflectionTestUtils.setField(index, "doctorRepository", mongo.repository(DoctorRepository.class));
+        ReflectionTestUtils.setField(index, "maxCandidates", 1000);
+        return index;
+    }
+
+    private static Patient patient(String patientId, String name, String phone) {
+        Patient patient = new Patient();
+        patient.setPatientId(patientId);
+        patient.setName(name);
+        patient.setPhone(phone);
+        return patient;
+    }
+
+    private static Patient stored(String patientId, String name, String phone) {
+        return mongo.template().save(patient(patientId, name, phone));
+    }
+
+    private List<String> names(String text) {
+        return index.search(text, null, 10).stream().map(SearchResultDto::getName).collect(Collectors.toList());
+    }
+
+    @Test
+    void namePrefixesRankExactThenWholeNamePrefixThenWholeWords() {
+        stored("P1", "Rahul Sharma", null);
+        stored("P2", "Rahul", null);
+        stored("P3", "Rahulan Das", null);
+        stored("P4", "Arun Rahul", null);
+        stored("P5", "Sharma Rahul K", null);
+        stored("P6", "Priya Nair", null);
+        index.reload();
+
+        assertEquals(List.of("Rahul", "Rahulan Das", "Rahul Sharma", "Arun Rahul", "Sharma Rahul K"), names("rahul"));
+    }
+
+    @Test
+    void everyQueryWordMustStartANameWord() {
+        stored("P1", "Rahul Sharma", null);
+        stored("P2", "Sharma Rahul K", null);
+        stored("P3", "Rahul Verma", null);
+        stored("P4", "José O'Brien", null);
+        index.reload();
+
+        assertEquals(List.of("Rahul Sharma", "Sharma Rahul K"), names("ra sh"));
+        assertEquals(List.of("José O'Brien"), names("jose o bri"));
+        assertEquals(List.of(), names("rahul x"));
+    }
+
+    @Test
+    void phoneDigitsFindExactNumbersFirstThenPrefixesAndLastFourDigits() {
+        stored("P1", "Anna", "98765 11111");
+        stored("P2", "Bela", "+91 98765-43210");
+        stored("P3", "Chris", "(022) 2345 3210");
+        Doctor doctor = new Doctor();
+        doctor.setDoctorId("D1");
+        doctor.setName("Dr Dev");
+        doctor.setPhone("9876543210");
+        doctor.setSpecialization("Cardiology");
+        mongo.template().save(doctor);
+        index.reload();
+
+        assertEquals(List.of("Bela", "Dr Dev"), names("98765 43210"));
+        assertEquals(List.of("Anna", "Bela", "Dr Dev"), names("98765"));
+        assertEquals(List.of("Bela", "Chris", "Dr Dev"), names("3210"));
+        assertEquals(List.of("Dr Dev"), index.search("3210", SearchIndex.DOCTOR, 10).stream()
+                .map(SearchResultDto::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    void beforeTheFirstLoadNamesComeFromTheDatabase() {
+        stored("P1", "Rahul Sharma", "9876543210");
+        stored("P2", "Arun Rahul", null);
+
+        // Only whole-name prefixes can use the nameKey index; phone search waits for the load
+        assertEquals(List.of("Rahul Sharma"), names("rah"));
+        assertEquals(List.of(), names("98765"));
+    }
+
+    @Test
+    void serviceChangesKeepTheIndexCurrent() {
+        stored("P1", "Rahul Sharma", "9876543210");
+        index.reload();
+
+        index.onPatientSaved(patient("P1", "Rahul Verma", "9876543210"));
+        index.onPatientSaved(patient("P2", "Meera Iyer", null));
+
+        assertEquals(List.of(), names("sharma"));
+        assertEquals(List.of("Rahul Verma"), names("verma"));
+        assertEquals(List.of("Meera Iyer"), names("mee"));
+
+        index.onPatientDeleted("P1");
+        assertEquals(List.of(), names("rahul"));
+        assertEquals(List.of(), names("98765"));
+    }
+
+    @Test
+    void changesMadeWhileAReloadScansAreReplayedOntoTheNewIndex() {
+        stored("P1", "Rahul Sharma", null);
+        stored("P2", "Old Name", null);
+        // Runs the service hooks between the patient scan and the doctor scan
+        MongoTemplate template = new MongoTemplate(mongo.template().getMongoDatabaseFactory(), mongo.template().getConverter()) {
+            @Override
+            public String getCollectionName(Class<?> entityClass) {
+                if (entityClass == Doctor.class) {
+                    index.onPatientSaved(patient("P3", "Meera Iyer", null));
+                    index.onPatientDeleted("P1");
+                    index.onPatientSaved(patient("P2", "New Name", null));
+                }
+                return super.getCollectionName(entityClass);
+            }
+        };
+        index = index(template);
+
+        index.reload();
+
+        assertEquals(List.of("Meera Iyer"), names("meera"));
+        assertEquals(List.of(), names("rahul"));
+        assertEquals(List.of("New Name"), names("name"));
+    }
+}
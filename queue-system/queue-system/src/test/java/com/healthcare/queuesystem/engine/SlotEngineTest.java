@@ -0,0 +1,171 @@
+package com.healthcare.queuesystem.engine;
+
+import com.healthcare.queuesystem.InMemoryMongo;
+import com.healthcare.queuesystem.config.MongoIndexConfig;
+import com.healthcare.queuesystem.exception.GlobalExceptionHandler.SlotConflictException;
+import com.healthcare.queuesystem.model.Appointment;
+import com.healthcare.queuesystem.model.Doctor;
+import com.healthcare.queuesystem.model.enums.AppointmentStatus;
+import com.healthcare.queuesystem.repository.AppointmentRepository;
+import com.healthcare.queuesystem.repository.DoctorRepository;
+import com.healthcare.queuesystem.service.Implementation.DoctorServiceImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotEngineTest {
+
+    private static final InMemoryMongo mongo = new InMemoryMongo();
+
+    // A Monday far enough ahead that every slot on it is still in the future
+    private static final LocalDate DAY = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+    private SlotEngine slots;
+    private DoctorServiceImpl doctorService;
+
+    @AfterAll
+    static void stopMongo() {
+        mongo.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongo.clear();
+        Doctor doctor = new Doctor();
+        doctor.setDoctorId("D1");
+        doctor.setAvailability("Mon-Fri 9AM-12PM");
+        mongo.template().save(doctor);
+
+        doctorService = new DoctorServiceImpl();
+        ReflectionTestUtils.setField(doctorService, "doctorRepository", mongo.repository(DoctorRepository.class));
+        ReflectionTestUtils.setField(doctorService, "cacheManager", new ConcurrentMapCacheManager());
+
+        slots = slotEngine();
+    }
+
+    private SlotEngine slotEngine() {
+        SlotEngine engine = new SlotEngine();
+        ReflectionTestUtils.setField(engine, "appointmentRepository", mongo.repository(AppointmentRepository.class));
+        ReflectionTestUtils.setField(engine, "doctorService", doctorService);
+        ReflectionTestUtils.setField(engine, "slotMinutes", 15);
+        ReflectionTestUtils.setField(engine, "enforceWorkingHours", true);
+        ReflectionTestUtils.setField(engine, "suggestionCount", 3);
+        ReflectionTestUtils.setField(engine, "searchDays", 14);
+        return engine;
+    }
+
+    private static Appointment appointment(String appointmentId, LocalDateTime at) {
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentId(appointmentId);
+        appointment.setDoctorId("D1");
+        appointment.setAppointmentDate(at);
+        appointment.setStatus(AppointmentStatus.SCHEDULED);
+        return appointment;
+    }
+
+    private void book(String appointmentId, int hour, int minute) {
+        slots.reserve(null, appointment(appointmentId, DAY.atTime(hour, minute)));
+    }
+
+    @Test
+    void overlappingNeighboursConflictAndAdjacentSlotsDoNot() {
+        book("A1", 9, 30);
+
+        SlotConflictException before = assertThrows(SlotConflictException.class, () -> book("A2", 9, 20));
+        assertEquals("A1", before.getConflictingAppointmentId());
+        assertThrows(SlotConflictException.class, () -> book("A3", 9, 30));
+        assertThrows(SlotConflictException.class, () -> book("A4", 9, 40));
+        assertDoesNotThrow(() -> book("A5", 9, 15));
+        assertDoesNotThrow(() -> book("A6", 9, 45));
+    }
+
+    @Test
+    void bookingsLoadedFromTheDatabaseAreTakenIntoAccount() {
+        mongo.template().save(appointment("A1", DAY.atTime(10, 0)));
+
+        assertThrows(SlotConflictException.class, () -> book("A2", 10, 5));
+    }
+
+    @Test
+    void movingAnAppointmentNeverConflictsWithItself() {
+        book("A1", 9, 30);
+
+        Appointment stored = appointment("A1", DAY.atTime(9, 30));
+        assertDoesNotThrow(() -> slots.reserve(stored, appointment("A1", DAY.atTime(9, 40))));
+        // Its old slot is free again, the new one is taken
+        assertDoesNotThrow(() -> book("A2", 9, 15));
+        assertThrows(SlotConflictException.class, () -> book("A3", 9, 50));
+    }
+
+    @Test
+    void cancelledAppointmentsDoNotHoldTheirSlot() {
+        book("A1", 9, 30);
+        Appointment cancelled = appointment("A1", DAY.atTime(9, 30));
+        cancelled.setStatus(AppointmentStatus.CANCELLED);
+
+        slots.reserve(appointment("A1", DAY.atTime(9, 30)), cancelled);
+
+        assertDoesNotThrow(() -> book("A2", 9, 30));
+    }
+
+    @Test
+    void theDatabaseRejectsASlotAnotherInstanceBookedFirst() {
+        MongoIndexConfig indexes = new MongoIndexConfig();
+        ReflectionTestUtils.setField(indexes, "mongoTemplate", mongo.template());
+        indexes.initIndexes();
+        SlotEngine otherInstance = slotEngine();
+        // Both instances have loaded the doctor's (empty) schedule
+        otherInstance.nextFreeSlot("D1", DAY.atTime(9, 0));
+        slots.nextFreeSlot("D1", DAY.atTime(9, 0));
+
+        otherInstance.reserve(null, appointment("A1", DAY.atTime(10, 0)));
+        mongo.template().save(appointment("A1", DAY.atTime(10, 0)));
+        Appointment second = appointment("A2", DAY.atTime(10, 0));
+        slots.reserve(null, second);
+        assertThrows(DuplicateKeyException.class, () -> mongo.repository(AppointmentRepository.class).save(second));
+
+        SlotConflictException conflict = slots.takenInDatabase(null, second);
+        assertEquals("A1", conflict.getConflictingAppointmentId());
+        assertEquals(DAY.atTime(10, 15), conflict.getSuggestedSlots().get(0));
+        // This instance now knows the other booking
+        assertThrows(SlotConflictException.class, () -> book("A3", 10, 5));
+    }
+
+    @Test
+    void outsideWorkingHoursIsRejectedWithSuggestions() {
+        SlotConflictException rejected = assertThrows(SlotConflictException.class, () -> book("A1", 12, 0));
+
+        // Tuesday is the next working day after Monday noon
+        assertEquals(List.of(DAY.plusDays(1).atTime(9, 0), DAY.plusDays(1).atTime(9, 15), DAY.plusDays(1).atTime(9, 30)),
+                rejected.getSuggestedSlots());
+    }
+
+    @Test
+    void freeSlotSearchSkipsPastBookingsOnAndOffTheGrid() {
+        book("A1", 9, 0);
+        book("A2", 9, 15);
+        // Off the grid: blocks both 9:30 and 9:45
+        book("A3", 9, 40);
+
+        assertEquals(DAY.atTime(10, 0), slots.nextFreeSlot("D1", DAY.atTime(9, 0)));
+        List<LocalDateTime> free = slots.freeSlotsOn("D1", DAY);
+        assertEquals(8, free.size());
+        assertEquals(DAY.atTime(10, 0), free.get(0));
+        assertEquals(DAY.atTime(11, 45), free.get(free.size() - 1));
+        assertTrue(slots.freeSlotsOn("D1", DAY.plusDays(5)).isEmpty());
+    }
+}
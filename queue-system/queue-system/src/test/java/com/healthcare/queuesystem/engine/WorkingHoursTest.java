@@ -0,0 +1,84 @@
+package com.healthcare.queuesystem.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkingHoursTest {
+
+    // A Monday
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 10);
+
+    private static List<String> on(WorkingHours hours, DayOfWeek day) {
+        return hours.on(day).stream()
+                .map(interval -> interval.getStart() + "-" + interval.getEnd())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void parsesDayListsSplitShiftsAndSeveralSegments() {
+        WorkingHours hours = WorkingHours.parse("Mon, Wed, Fri 9:30AM-1PM, 2PM-6PM; Sat 10AM-12PM");
+
+        assertTrue(hours.isRestricted());
+        assertEquals(List.of("09:30-13:00", "14:00-18:00"), on(hours, DayOfWeek.MONDAY));
+        assertEquals(List.of("09:30-13:00", "14:00-18:00"), on(hours, DayOfWeek.FRIDAY));
+        assertEquals(List.of(), on(hours, DayOfWeek.TUESDAY));
+        assertEquals(List.of("10:00-12:00"), on(hours, DayOfWeek.SATURDAY));
+    }
+
+    @Test
+    void dayRangesIncludeBothEndsAndMayWrapAroundTheWeek() {
+        WorkingHours weekdays = WorkingHours.parse("Mon-Fri 9AM-5PM");
+        assertEquals(List.of("09:00-17:00"), on(weekdays, DayOfWeek.WEDNESDAY));
+        assertEquals(List.of(), on(weekdays, DayOfWeek.SATURDAY));
+
+        WorkingHours weekend = WorkingHours.parse("Sat-Mon 10am-2pm");
+        assertEquals(List.of("10:00-14:00"), on(weekend, DayOfWeek.SUNDAY));
+        assertEquals(List.of("10:00-14:00"), on(weekend, DayOfWeek.MONDAY));
+        assertEquals(List.of(), on(weekend, DayOfWeek.TUESDAY));
+    }
+
+    @Test
+    void startWithoutMeridiemBorrowsTheEndsWhenItFits() {
+        assertEquals(List.of("09:00-17:00"), on(WorkingHours.parse("Mon 9-5pm"), DayOfWeek.MONDAY));
+        assertEquals(List.of("13:00-17:00"), on(WorkingHours.parse("Mon 1-5pm"), DayOfWeek.MONDAY));
+        assertEquals(List.of("08:00-20:00"), on(WorkingHours.parse("Daily 08:00-20:00"), DayOfWeek.SUNDAY));
+    }
+
+    @Test
+    void unreadableTextPlacesNoRestriction() {
+        WorkingHours hours = WorkingHours.parse("by appointment only");
+
+        assertFalse(hours.isRestricted());
+        assertTrue(hours.covers(MONDAY.atTime(3, 0), MONDAY.atTime(3, 15)));
+        assertFalse(WorkingHours.parse(null).isRestricted());
+    }
+
+    @Test
+    void coversOnlySlotsInsideOneInterval() {
+        WorkingHours hours = WorkingHours.parse("Mon 9AM-12PM, 1PM-5PM");
+
+        assertTrue(hours.covers(MONDAY.atTime(9, 0), MONDAY.atTime(9, 15)));
+        assertTrue(hours.covers(MONDAY.atTime(11, 45), MONDAY.atTime(12, 0)));
+        assertFalse(hours.covers(MONDAY.atTime(11, 50), MONDAY.atTime(12, 5)));
+        assertFalse(hours.covers(MONDAY.atTime(8, 50), MONDAY.atTime(9, 5)));
+        assertFalse(hours.covers(MONDAY.plusDays(1).atTime(10, 0), MONDAY.plusDays(1).atTime(10, 15)));
+    }
+
+    @Test
+    void shiftEndingAtMidnightCoversTheLastSlotOfTheDay() {
+        WorkingHours hours = WorkingHours.parse("Daily 6pm-12am");
+
+        assertEquals(LocalTime.MAX, hours.on(DayOfWeek.MONDAY).get(0).getEnd());
+        assertTrue(hours.covers(MONDAY.atTime(23, 45), MONDAY.plusDays(1).atStartOfDay()));
+        assertFalse(hours.covers(MONDAY.atTime(23, 50), MONDAY.plusDays(1).atTime(0, 5)));
+    }
+}
@@ -0,0 +1,93 @@
+package com.healthcare.queuesystem.loadtest;
+
+import com.healthcare.queuesystem.model.Doctor;
+import com.healthcare.queuesystem.model.Patient;
+import com.healthcare.queuesystem.model.enums.BloodGroup;
+import com.healthcare.queuesystem.model.enums.ConsultationOption;
+import com.healthcare.queuesystem.model.enums.Gender;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Doctors and patients in the shape of createSampleDoctors / createSamplePatients,
+ * generated in any quantity from a fixed seed so runs are reproducible.
+ */
+class ClinicDataGenerator {
+
+    private static final String[] SPECIALIZATIONS = {
+            "Cardiology", "Pediatrics", "Orthopedics", "Dermatology", "Neurology", "General Medicine"};
+    private static final String[] AVAILABILITY = {
+            "Mon-Fri 9AM-5PM", "Mon-Sat 10AM-6PM", "Mon-Fri 8AM-4PM", "Tue-Sat 9AM-3PM"};
+    private static final String[] FIRST_NAMES = {
+            "Rajesh", "Priya", "Amit", "Sunita", "Arjun", "Meera", "Rohit", "Ananya", "Aarav", "Kavya", "Vikram", "Isha"};
+    private static final String[] LAST_NAMES = {
+            "Sharma", "Patel", "Kumar", "Reddy", "Singh", "Verma", "Gupta", "Iyer", "Nair", "Das", "Mehta", "Joshi"};
+    private static final String[] CITIES = {"Chandigarh", "Mumbai", "Delhi", "Pune", "Bengaluru"};
+    private static final String[] HISTORY = {
+            "No major medical history", "Allergic to penicillin", "Hypertension", "Type 2 diabetes", "Asthma"};
+
+    private final Random random;
+
+    ClinicDataGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    List<Doctor> doctors(int count) {
+        List<Doctor> doctors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            Doctor doctor = new Doctor();
+            doctor.setDoctorId("DOC-" + id());
+            doctor.setName("Dr. " + first + " " + last);
+            doctor.setSpecialization(SPECIALIZATIONS[i % SPECIALIZATIONS.length]);
+            doctor.setPhone(phone());
+            doctor.setEmail(first.toLowerCase() + "." + last.toLowerCase() + i + "@healthcare.com");
+            doctor.setDepartment(doctor.getSpecialization());
+            doctor.setExperienceYears(2 + random.nextInt(30));
+            doctor.setAvailability(AVAILABILITY[random.nextInt(AVAILABILITY.length)]);
+            doctor.setGender(random.nextBoolean() ? Gender.MALE : Gender.FEMALE);
+            doctor.setConsultationOption(ConsultationOption.values()[random.nextInt(ConsultationOption.values().length)]);
+            doctor.setAppointmentIds(new ArrayList<>());
+            doctor.setQueueEntryIds(new ArrayList<>());
+            doctors.add(doctor);
+        }
+        return doctors;
+    }
+
+    List<Patient> patients(int count) {
+        List<Patient> patients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            int age = 1 + random.nextInt(90);
+            Patient patient = new Patient();
+            patient.setPatientId("PAT-" + id());
+            patient.setName(first + " " + last);
+            patient.setAge(age);
+            patient.setGender(random.nextBoolean() ? Gender.MALE : Gender.FEMALE);
+            patient.setDateOfBirth(LocalDate.now().minusYears(age).minusDays(random.nextInt(365)));
+            patient.setAddress((1 + random.nextInt(999)) + " MG Road, " + CITIES[random.nextInt(CITIES.length)]);
+            patient.setPhone(phone());
+            patient.setEmail(first.toLowerCase() + "." + last.toLowerCase() + i + "@email.com");
+            patient.setBloodGroup(BloodGroup.values()[random.nextInt(BloodGroup.values().length)]);
+            patient.setMedicalHistory(HISTORY[random.nextInt(HISTORY.length)]);
+            patient.setAppointmentIds(new ArrayList<>());
+            patient.setQueueEntryIds(new ArrayList<>());
+            patients.add(patient);
+        }
+        return patients;
+    }
+
+    // Same format as the sample data ids (8 upper-case hex characters), but seeded
+    private String id() {
+        return String.format("%08X", random.nextInt()) + String.format("%04X", random.nextInt(0x10000));
+    }
+
+    private String phone() {
+        return "+91-9" + String.format("%09d", random.nextInt(1_000_000_000));
+    }
+}
@@ -0,0 +1,214 @@
+package com.healthcare.queuesystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.queuesystem.HealthcareQueueSystemApplication;
+import com.healthcare.queuesystem.model.Doctor;
+import com.healthcare.queuesystem.model.Patient;
+import com.healthcare.queuesystem.service.DashboardService;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.ServerVersion;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load-test harness: starts the application against an in-process MongoDB stand-in (never Atlas),
+ * seeds a clinic of generated doctors and patients, replays a mixed front-desk / doctor / display
+ * workload over HTTP and prints p50/p99 latency and throughput per endpoint.
+ *
+ * Run with: ./mvnw -Ploadtest test-compile exec:java
+ * Tune with -Dloadtest.doctors=50 -Dloadtest.patients=20000 -Dloadtest.users=64 -Dloadtest.duration=60
+ * -Dloadtest.warmup=10 -Dloadtest.seed=42 and -Dloadtest.profiles=virtual-threads (or reactive, ...).
+ * The in-process server is far slower than a real mongod, so compare runs with each other, not with production.
+ */
+public class ClinicLoadHarness {
+
+    // Workload mix in percent: check-ins, doctors calling/finishing patients, waiting-room displays, admin polling
+    private static final String[] OPERATIONS = {
+            "POST /api/queue (check-in)",
+            "POST /api/queue/doctor/{id}/next",
+            "POST /api/queue/complete/{id}",
+            "GET /api/queue/doctor/{id}/active",
+            "GET /api/admin/dashboard/stats",
+            "GET /api/admin/reports/queue",
+            "GET /api/admin/reports/doctor-utilization"};
+    private static final int[] WEIGHTS = {25, 20, 20, 20, 10, 3, 2};
+
+    private final int doctorCount = Integer.getInteger("loadtest.doctors", 50);
+    private final int patientCount = Integer.getInteger("loadtest.patients", 20000);
+    private final int users = Integer.getInteger("loadtest.users", 64);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration", 60);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup", 10);
+    private final long seed = Long.getLong("loadtest.seed", 42L);
+    private final String profiles = System.getProperty("loadtest.profiles", "");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final ConcurrentLinkedQueue<String> inProgress = new ConcurrentLinkedQueue<>();
+    private ExecutorService httpExecutor;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private List<Doctor> doctors;
+    private List<Patient> patients;
+
+    public static void main(String[] args) throws Exception {
+        new ClinicLoadHarness().run();
+    }
+
+    private void run() throws Exception {
+        MongoServer mongoServer = new MongoServer(new MemoryBackend().version(ServerVersion.MONGO_5_0));
+        InetSocketAddress address = mongoServer.bind();
+        String mongoUri = "mongodb://" + address.getHostString() + ":" + address.getPort() + "/loadtest";
+        System.out.println("🧪 In-process MongoDB at " + mongoUri);
+
+        List<String> appArgs = new ArrayList<>(List.of(
+                "--spring.data.mongodb.uri=" + mongoUri,
+                "--server.port=0",
+                "--spring.devtools.restart.enabled=false",
+                "--app.startup.sample-data=false"));
+        if (!profiles.isBlank()) {
+            appArgs.add("--spring.profiles.active=" + profiles);
+        }
+        ConfigurableApplicationContext context = SpringApplication.run(
+                HealthcareQueueSystemApplication.class, appArgs.toArray(new String[0]));
+        try {
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            httpExecutor = Executors.newFixedThreadPool(Math.max(4, users / 4));
+            httpClient = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(httpExecutor)
+                    .build();
+
+            seed(context);
+
+            System.out.println("🔥 Warm-up: " + warmupSeconds + " s with " + users + " users");
+            drive(warmupSeconds);
+            recorder.reset();
+
+            System.out.println("🚀 Measuring: " + durationSeconds + " s with " + users + " users"
+                    + (profiles.isBlank() ? "" : " (profiles: " + profiles + ")"));
+            long started = System.nanoTime();
+            drive(durationSeconds);
+            recorder.print((System.nanoTime() - started) / 1e9);
+        } finally {
+            if (httpExecutor != null) {
+                httpExecutor.shutdownNow();
+            }
+            context.close();
+            mongoServer.shutdown();
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        long started = System.nanoTime();
+        ClinicDataGenerator generator = new ClinicDataGenerator(seed);
+        doctors = generator.doctors(doctorCount);
+        patients = generator.patients(patientCount);
+
+        MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+        mongoTemplate.insert(doctors, Doctor.class);
+        for (int from = 0; from < patients.size(); from += 1000) {
+            mongoTemplate.insert(patients.subList(from, Math.min(patients.size(), from + 1000)), Patient.class);
+        }
+        context.getBean(DashboardService.class).rebuildDashboardStats();
+        System.out.printf("🌱 Seeded %d doctors and %d patients in %d ms%n",
+                doctorCount, patientCount, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void drive(int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService workers = Executors.newFixedThreadPool(users);
+        for (int i = 0; i < users; i++) {
+            long userSeed = seed * 31 + i;
+            workers.execute(() -> {
+                Random random = new Random(userSeed);
+                while (System.nanoTime() < deadline) {
+                    step(random);
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+    }
+
+    private void step(Random random) {
+        int roll = random.nextInt(100);
+        int operation = 0;
+        while (roll >= WEIGHTS[operation]) {
+            roll -= WEIGHTS[operation];
+            operation++;
+        }
+        String doctorId = doctors.get(random.nextInt(doctors.size())).getDoctorId();
+
+        switch (operation) {
+            case 0 -> {
+                String patientId = patients.get(random.nextInt(patients.size())).getPatientId();
+                send(OPERATIONS[0], "POST", "/api/queue",
+                        "{\"doctorId\":\"" + doctorId + "\",\"patientId\":\"" + patientId + "\"}");
+            }
+            case 1 -> callNext(doctorId);
+            case 2 -> {
+                String queueId = inProgress.poll();
+                if (queueId != null) {
+                    send(OPERATIONS[2], "POST", "/api/queue/complete/" + queueId, null);
+                } else {
+                    callNext(doctorId);
+                }
+            }
+            case 3 -> send(OPERATIONS[3], "GET", "/api/queue/doctor/" + doctorId + "/active", null);
+            case 4 -> send(OPERATIONS[4], "GET", "/api/admin/dashboard/stats", null);
+            case 5 -> send(OPERATIONS[5], "GET", "/api/admin/reports/queue?date=" + LocalDate.now(), null);
+            default -> send(OPERATIONS[6], "GET", "/api/admin/reports/doctor-utilization", null);
+        }
+    }
+
+    // Doctor calls the next patient; the entry is completed by a later step
+    private void callNext(String doctorId) {
+        String body = send(OPERATIONS[1], "POST", "/api/queue/doctor/" + doctorId + "/next", null);
+        if (body != null && !body.isEmpty()) {
+            try {
+                JsonNode entry = objectMapper.readTree(body);
+                if (entry.hasNonNull("queueId")) {
+                    inProgress.add(entry.get("queueId").asText());
+                }
+            } catch (Exception e) {
+                // Response was not an entry (nobody waiting)
+            }
+        }
+    }
+
+    // Returns the response body, or null on failure; 404 (nobody waiting / already completed) is not an error
+    private String send(String operation, String method, String path, String json) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(method, json != null ? HttpRequest.BodyPublishers.ofString(json) : HttpRequest.BodyPublishers.noBody());
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            boolean error = response.statusCode() >= 400 && response.statusCode() != 404;
+            recorder.record(operation, System.nanoTime() - started, error);
+            return response.statusCode() < 300 ? response.body() : null;
+        } catch (Exception e) {
+            recorder.record(operation, System.nanoTime() - started, true);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.healthcare.queuesystem.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-endpoint latency samples. Each worker thread records into its own buffers;
+ * buffers are merged only when the report is printed.
+ */
+class LatencyRecorder {
+
+    private final ConcurrentMap<Thread, Map<String, Samples>> perThread = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean error) {
+        perThread.computeIfAbsent(Thread.currentThread(), thread -> new TreeMap<>())
+                .computeIfAbsent(endpoint, name -> new Samples())
+                .add(nanos, error);
+    }
+
+    void reset() {
+        perThread.clear();
+    }
+
+    void print(double seconds) {
+        Map<String, Samples> merged = new TreeMap<>();
+        for (Map<String, Samples> samples : perThread.values()) {
+            samples.forEach((endpoint, s) -> merged.computeIfAbsent(endpoint, name -> new Samples()).addAll(s));
+        }
+
+        System.out.printf("%n%-42s %9s %7s %10s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        long total = 0;
+        long errors = 0;
+        for (Map.Entry<String, Samples> entry : merged.entrySet()) {
+            Samples s = entry.getValue();
+            long[] sorted = Arrays.copyOf(s.nanos, s.count);
+            Arrays.sort(sorted);
+            System.out.printf("%-42s %9d %7d %10.1f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), s.count, s.errors, s.count / seconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0));
+            total += s.count;
+            errors += s.errors;
+        }
+        System.out.printf("%-42s %9d %7d %10.1f%n", "total", total, errors, total / seconds);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static class Samples {
+        private long[] nanos = new long[1024];
+        private int count;
+        private long errors;
+
+        void add(long value, boolean error) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+            if (error) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.nanos[i], false);
+            }
+            errors += other.errors;
+        }
+    }
+}
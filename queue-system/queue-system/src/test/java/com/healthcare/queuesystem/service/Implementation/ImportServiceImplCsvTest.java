@@ -0,0 +1,68 @@
+package com.healthcare.queuesystem.service.Implementation;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ImportServiceImplCsvTest {
+
+    private static BufferedReader csv(String text) {
+        return new BufferedReader(new StringReader(text));
+    }
+
+    @Test
+    void splitsPlainFieldsAndKeepsEmptyOnes() throws IOException {
+        BufferedReader reader = csv("name,phone,email\nAnna,,\n");
+
+        assertEquals(List.of("name", "phone", "email"), ImportServiceImpl.readCsvRecord(reader));
+        assertEquals(List.of("Anna", "", ""), ImportServiceImpl.readCsvRecord(reader));
+        assertNull(ImportServiceImpl.readCsvRecord(reader));
+    }
+
+    @Test
+    void quotedFieldsKeepCommasAndDoubledQuotes() throws IOException {
+        BufferedReader reader = csv("\"Smith, John\",\"say \"\"hi\"\"\",\"\"\n");
+
+        assertEquals(List.of("Smith, John", "say \"hi\"", ""), ImportServiceImpl.readCsvRecord(reader));
+    }
+
+    @Test
+    void quotedFieldsMaySpanLines() throws IOException {
+        BufferedReader reader = csv("P1,\"12 Main St\nFlat 3\",x\nP2,y,z\n");
+
+        assertEquals(List.of("P1", "12 Main St\nFlat 3", "x"), ImportServiceImpl.readCsvRecord(reader));
+        assertEquals(List.of("P2", "y", "z"), ImportServiceImpl.readCsvRecord(reader));
+    }
+
+    @Test
+    void windowsLineEndingsAndAMissingFinalNewline() throws IOException {
+        BufferedReader reader = csv("a,b\r\n\"c\r\nd\",e");
+
+        assertEquals(List.of("a", "b"), ImportServiceImpl.readCsvRecord(reader));
+        // Inside quotes the whole line break is data
+        assertEquals(List.of("c\r\nd", "e"), ImportServiceImpl.readCsvRecord(reader));
+        assertNull(ImportServiceImpl.readCsvRecord(reader));
+    }
+
+    @Test
+    void quoteClosingRightBeforeTheEndOfInput() throws IOException {
+        BufferedReader reader = csv("a,\"b\"");
+
+        assertEquals(List.of("a", "b"), ImportServiceImpl.readCsvRecord(reader));
+        assertNull(ImportServiceImpl.readCsvRecord(reader));
+    }
+
+    @Test
+    void blankLineIsOneEmptyField() throws IOException {
+        BufferedReader reader = csv("\nx\n");
+
+        assertEquals(List.of(""), ImportServiceImpl.readCsvRecord(reader));
+        assertEquals(List.of("x"), ImportServiceImpl.readCsvRecord(reader));
+    }
+}
@@ -0,0 +1,187 @@
+package com.healthcare.queuesystem.service.Implementation;
+
+import com.healthcare.queuesystem.InMemoryMongo;
+import com.healthcare.queuesystem.engine.ConsultationTimeEstimator;
+import com.healthcare.queuesystem.engine.DailyRollups;
+import com.healthcare.queuesystem.engine.DashboardStatistics;
+import com.healthcare.queuesystem.engine.DoctorTurnLease;
+import com.healthcare.queuesystem.engine.QueueEngine;
+import com.healthcare.queuesystem.engine.QueueEventBroadcaster;
+import com.healthcare.queuesystem.model.Queue;
+import com.healthcare.queuesystem.model.QueueTurn;
+import com.healthcare.queuesystem.model.enums.QueueStatus;
+import com.healthcare.queuesystem.repository.QueueRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class QueueServiceImplNextPatientTest {
+
+    private static final InMemoryMongo mongo = new InMemoryMongo();
+
+    // Two services with nothing shared but the database, like two application instances
+    private QueueServiceImpl first;
+    private QueueServiceImpl second;
+
+    @AfterAll
+    static void stopMongo() {
+        mongo.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongo.clear();
+        first = service();
+        second = service();
+    }
+
+    private static QueueServiceImpl service() {
+        QueueRepository queueRepository = mongo.repository(QueueRepository.class);
+
+        QueueEngine queueEngine = new QueueEngine();
+        ReflectionTestUtils.setField(queueEngine, "queueRepository", queueRepository);
+        DashboardStatistics dashboardStatistics = new DashboardStatistics();
+        ReflectionTestUtils.setField(dashboardStatistics, "mongoTemplate", mongo.template());
+        DailyRollups dailyRollups = new DailyRollups();
+        ReflectionTestUtils.setField(dailyRollups, "mongoTemplate", mongo.template());
+        ConsultationTimeEstimator estimator = new ConsultationTimeEstimator();
+        ReflectionTestUtils.setField(estimator, "mongoTemplate", mongo.template());
+        ReflectionTestUtils.setField(estimator, "alpha", 0.2);
+        ReflectionTestUtils.setField(estimator, "maxSampleMinutes", 180.0);
+        QueueEventBroadcaster broadcaster = new QueueEventBroadcaster();
+        ReflectionTestUtils.setField(broadcaster, "bufferSize", 16);
+        DoctorTurnLease lease = new DoctorTurnLease();
+        ReflectionTestUtils.setField(lease, "mongoTemplate", mongo.template());
+        ReflectionTestUtils.setField(lease, "leaseSeconds", 30L);
+        ReflectionTestUtils.setField(lease, "waitSeconds", 10L);
+
+        QueueServiceImpl service = new QueueServiceImpl();
+        ReflectionTestUtils.setField(service, "queueRepository", queueRepository);
+        ReflectionTestUtils.setField(service, "queueEngine", queueEngine);
+        ReflectionTestUtils.setField(service, "dashboardStatistics", dashboardStatistics);
+        ReflectionTestUtils.setField(service, "dailyRollups", dailyRollups);
+        ReflectionTestUtils.setField(service, "queueEventBroadcaster", broadcaster);
+        ReflectionTestUtils.setField(service, "consultationTimeEstimator", estimator);
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongo.template());
+        ReflectionTestUtils.setField(service, "doctorTurnLease", lease);
+        return service;
+    }
+
+    private static void waiting(int count) {
+        List<Queue> entries = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Queue queue = new Queue();
+            queue.setQueueId("Q" + i);
+            queue.setDoctorId("D1");
+            queue.setPatientId("P" + i);
+            queue.setPosition(i);
+            queue.setStatus(QueueStatus.WAITING);
+            queue.setCreatedAt(LocalDateTime.now());
+            entries.add(queue);
+        }
+        mongo.template().insert(entries, Queue.class);
+    }
+
+    private static QueueStatus status(String queueId) {
+        return mongo.template().findById(queueId, Queue.class).getStatus();
+    }
+
+    private static long count(QueueStatus status) {
+        return mongo.template().findAll(Queue.class).stream().filter(q -> q.getStatus() == status).count();
+    }
+
+    @Test
+    void startsPatientsInPositionOrder() {
+        waiting(2);
+
+        assertEquals("Q1", first.moveToNextPatient("D1", null).getQueueId());
+        assertEquals("Q2", second.moveToNextPatient("D1", null).getQueueId());
+        assertEquals(QueueStatus.COMPLETED, status("Q1"));
+        assertEquals(QueueStatus.IN_PROGRESS, status("Q2"));
+
+        // Nobody left: the current patient is completed and nothing starts
+        assertNull(first.moveToNextPatient("D1", null));
+        assertEquals(QueueStatus.COMPLETED, status("Q2"));
+    }
+
+    @Test
+    void repeatedKeyReturnsTheSameEntryOnAnyInstance() {
+        waiting(3);
+
+        assertEquals("Q1", first.moveToNextPatient("D1", "k1").getQueueId());
+        assertEquals("Q1", second.moveToNextPatient("D1", "k1").getQueueId());
+        assertEquals("Q1", first.moveToNextPatient("D1", "k1").getQueueId());
+
+        assertEquals(QueueStatus.IN_PROGRESS, status("Q1"));
+        assertEquals(QueueStatus.WAITING, status("Q2"));
+    }
+
+    @Test
+    void lateRetryAfterAnotherAdvanceDoesNotAdvanceAgain() {
+        waiting(3);
+        first.moveToNextPatient("D1", "k1");
+        second.moveToNextPatient("D1", "k2");
+
+        Queue retried = first.moveToNextPatient("D1", "k1");
+
+        assertEquals("Q1", retried.getQueueId());
+        assertEquals(QueueStatus.COMPLETED, retried.getStatus());
+        assertEquals(QueueStatus.IN_PROGRESS, status("Q2"));
+        assertEquals(QueueStatus.WAITING, status("Q3"));
+    }
+
+    @Test
+    void concurrentCallsOnTwoInstancesStartOnePatientEach() throws Exception {
+        waiting(10);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Queue>> calls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            QueueServiceImpl service = i % 2 == 0 ? first : second;
+            calls.add(pool.submit(() -> service.moveToNextPatient("D1", null)));
+        }
+        Set<String> started = new HashSet<>();
+        for (Future<Queue> call : calls) {
+            started.add(call.get().getQueueId());
+        }
+        pool.shutdown();
+
+        assertEquals(8, started.size());
+        assertEquals(1, count(QueueStatus.IN_PROGRESS));
+        assertEquals(7, count(QueueStatus.COMPLETED));
+        assertEquals(2, count(QueueStatus.WAITING));
+    }
+
+    @Test
+    void advanceLeftHalfwayByACrashedInstanceIsFinishedFirst() {
+        waiting(3);
+        first.moveToNextPatient("D1", "k1");
+        // An instance recorded that it would start Q2 for k2, then died with the lease held
+        QueueTurn turn = new QueueTurn();
+        turn.setDoctorId("D1");
+        turn.setOwner("dead");
+        turn.setLeaseUntil(LocalDateTime.now().minusSeconds(1));
+        turn.setAdvancing(true);
+        turn.setStartingQueueId("Q2");
+        turn.setRequestId("k2");
+        mongo.template().save(turn);
+
+        // The client retries k2 on the other instance and gets the patient the dead call picked
+        assertEquals("Q2", second.moveToNextPatient("D1", "k2").getQueueId());
+        assertEquals(QueueStatus.COMPLETED, status("Q1"));
+        assertEquals(QueueStatus.WAITING, status("Q3"));
+        assertEquals(1, count(QueueStatus.IN_PROGRESS));
+    }
+}